@@ -0,0 +1,63 @@
+package com.badatro;
+
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Work the game does that can hold up a frame. Code marks an activity when it starts one, and
+ * the FrameMonitor reads and clears the marks once per frame, so a slow frame can be tagged with
+ * what happened during it. The marks are bits in one atomic int, so marking is cheap and can be
+ * done from any thread; nothing reads them unless the monitor is running.
+ */
+public enum Activity {
+    EVALUATE("evaluate"),
+    SCREEN_SWITCH("screen switch"),
+    UI_UPDATE("ui update"),
+    WEATHER_REFRESH("weather refresh"),
+    IMAGE_DECODE("image decode");
+
+    private static final AtomicInteger marks = new AtomicInteger();
+
+    private final String label;
+
+    Activity(String label) {
+        this.label = label;
+    }
+
+    private int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Records that this activity happened in the current frame.
+     */
+    public void mark() {
+        int bit = bit();
+        if ((marks.get() & bit) == 0) {
+            marks.getAndUpdate(m -> m | bit);
+        }
+    }
+
+    /**
+     * Takes the activities marked since the last call.
+     * @return One bit per activity, by ordinal.
+     */
+    public static int drain() {
+        return marks.getAndSet(0);
+    }
+
+    /**
+     * Names the activities in a set of marks.
+     * @param marks One bit per activity, as returned by drain.
+     * @return The labels joined with "+", or "-" if nothing was marked.
+     */
+    public static String describe(int marks) {
+        StringJoiner joiner = new StringJoiner("+");
+        for (Activity activity : values()) {
+            if ((marks & activity.bit()) != 0) {
+                joiner.add(activity.label);
+            }
+        }
+        return marks == 0 ? "-" : joiner.toString();
+    }
+}
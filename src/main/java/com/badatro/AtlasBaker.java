@@ -0,0 +1,96 @@
+package com.badatro;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Build step that scales the card and joker images down to one atlas cell each and packs them
+ * into the atlas image and index that CardAtlas loads, so the game decodes one small image
+ * instead of every full-size JPEG. Maven runs it after compiling (see pom.xml) as
+ * {@code AtlasBaker <resources dir> <output dir>}. It only uses java.awt, so it runs without
+ * a JavaFX toolkit.
+ */
+public class AtlasBaker {
+    private static final String[] FOLDERS = {"com/badatro/Deck", "com/badatro/Jokers"};
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: AtlasBaker <resources dir> <output dir>");
+            System.exit(1);
+        }
+        Path resources = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+
+        // Every JPEG in the image folders, in a fixed order so builds are repeatable
+        List<String> paths = new ArrayList<>();
+        for (String folder : FOLDERS) {
+            try (Stream<Path> files = Files.list(resources.resolve(folder))) {
+                files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".jpg"))
+                    .sorted()
+                    .forEach(name -> paths.add("/" + folder + "/" + name));
+            }
+        }
+        if (paths.size() > CardAtlas.COLUMNS * CardAtlas.ROWS) {
+            throw new IOException("Too many images for the atlas: " + paths.size());
+        }
+
+        BufferedImage atlas = new BufferedImage(CardAtlas.COLUMNS * CardAtlas.CELL_WIDTH,
+            CardAtlas.ROWS * CardAtlas.CELL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = atlas.createGraphics();
+        StringBuilder index = new StringBuilder("# Atlas cell of each image, written by AtlasBaker\n");
+        for (int cell = 0; cell < paths.size(); cell++) {
+            String path = paths.get(cell);
+            BufferedImage source = ImageIO.read(resources.resolve(path.substring(1)).toFile());
+            if (source == null) {
+                throw new IOException("Not a readable image: " + path);
+            }
+            int x = (cell % CardAtlas.COLUMNS) * CardAtlas.CELL_WIDTH;
+            int y = (cell / CardAtlas.COLUMNS) * CardAtlas.CELL_HEIGHT;
+            g.drawImage(scale(source, CardAtlas.CELL_WIDTH, CardAtlas.CELL_HEIGHT), x, y, null);
+            index.append(path).append('=').append(cell).append('\n');
+        }
+        g.dispose();
+
+        Path image = output.resolve(CardAtlas.ATLAS_IMAGE.substring(1));
+        Path indexFile = output.resolve(CardAtlas.ATLAS_INDEX.substring(1));
+        Files.createDirectories(image.getParent());
+        ImageIO.write(atlas, "png", image.toFile());
+        try (Writer writer = Files.newBufferedWriter(indexFile, StandardCharsets.ISO_8859_1)) {
+            writer.write(index.toString());
+        }
+        System.out.println("Baked " + paths.size() + " images into " + image);
+    }
+
+    /**
+     * Scales an image down by halving it until it's close to the target size, then scaling the
+     * rest of the way. Each step only averages neighbouring pixels, so a single large step would
+     * skip most of the source and look grainy.
+     */
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage step = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, w, h, null);
+            g.dispose();
+            image = step;
+        } while (w != width || h != height);
+        return image;
+    }
+}
@@ -0,0 +1,56 @@
+package com.badatro;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs one kind of slow analysis, such as discard advice, on a background thread so the FX thread
+ * never waits for it. The work must only read snapshots like GameState, never the live engine.
+ *
+ * Only the latest request matters: a request that hasn't started when a newer one arrives is
+ * skipped, and a result that arrives after a newer request is dropped. Every analysis shares one
+ * daemon thread, so they never compete with each other for cores.
+ */
+public class BackgroundAnalysis {
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "analysis");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong latest = new AtomicLong();  // Number of the newest request
+
+    /**
+     * Runs work in the background and hands its result to the FX thread, unless a newer request
+     * is made or the analysis is cancelled first.
+     * @param work The analysis; runs on the background thread.
+     * @param onResult Receives the result on the FX thread.
+     * @param <T> The type of the result.
+     */
+    public <T> void submit(Supplier<T> work, Consumer<T> onResult) {
+        long request = latest.incrementAndGet();
+        EXECUTOR.execute(() -> {
+            if (latest.get() != request) {
+                return;  // Replaced before it started
+            }
+            T result = work.get();
+            Platform.runLater(() -> {
+                if (latest.get() == request) {
+                    onResult.accept(result);
+                }
+            });
+        });
+    }
+
+    /**
+     * Drops any request in flight, so its result is never delivered.
+     */
+    public void cancel() {
+        latest.incrementAndGet();
+    }
+}
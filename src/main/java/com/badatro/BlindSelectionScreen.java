@@ -2,34 +2,57 @@ package com.badatro;
 
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
-import javafx.stage.Stage;
 
 /**
  * Handles the UI for selecting a blind before starting the game.
  */
 public class BlindSelectionScreen {
     private final GameManager gameManager;
-    private final Stage stage;
+    private VBox root;
+    private Button smallBlind;
+    private Button bigBlind;
+    private Button bossBlind;
+    private Text bossRules;
     
     /**
-     * Constructs a BlindSelectionScreen with the given GameManager and Stage.
+     * Constructs a BlindSelectionScreen with the given GameManager.
      * @param gameManager The GameManager instance.
-     * @param stage The primary stage.
      */
-    public BlindSelectionScreen(GameManager gameManager, Stage stage) {
+    public BlindSelectionScreen(GameManager gameManager) {
         this.gameManager = gameManager;
-        this.stage = stage;
     }
     
     /**
-     * Shows the blind selection screen UI.
+     * Shows the blind selection screen UI, building it the first time and refreshing the
+     * buttons and boss rules after that.
      */
     public void show() {
-        VBox root = new VBox(20);
+        if (root == null) {
+            buildRoot();
+        }
+        
+        // Refresh for the current run
+        updateButtonState(smallBlind, GameEngine.BlindType.SMALL);
+        updateButtonState(bigBlind, GameEngine.BlindType.BIG);
+        Blind boss = gameManager.getEngine().getBlind(GameEngine.BlindType.BOSS);
+        bossBlind.setText("Boss Blind: " + boss.getName());
+        updateButtonState(bossBlind, GameEngine.BlindType.BOSS);
+        bossRules.setText(boss.getDescription());
+        
+        // Show info panel
+        gameManager.showInfoPanel();
+        
+        gameManager.getRouter().setRoot(root);
+    }
+    
+    /**
+     * Builds the screen's scene graph.
+     */
+    private void buildRoot() {
+        root = new VBox(20);
         root.setAlignment(Pos.CENTER);
         root.setPadding(new Insets(20));
         root.setStyle("-fx-background-color: #2C3E50;");
@@ -41,27 +64,20 @@ public class BlindSelectionScreen {
         blindButtons.setAlignment(Pos.CENTER);
         
         // Small Blind Button
-        Button smallBlind = createBlindButton("Small Blind", GameManager.BlindType.SMALL);
-        updateButtonState(smallBlind, GameManager.BlindType.SMALL);
+        smallBlind = createBlindButton("Small Blind", GameEngine.BlindType.SMALL);
         
         // Big Blind Button
-        Button bigBlind = createBlindButton("Big Blind", GameManager.BlindType.BIG);
-        updateButtonState(bigBlind, GameManager.BlindType.BIG);
+        bigBlind = createBlindButton("Big Blind", GameEngine.BlindType.BIG);
         
-        // Boss Blind Button
-        Button bossBlind = createBlindButton("Boss Blind", GameManager.BlindType.BOSS);
-        updateButtonState(bossBlind, GameManager.BlindType.BOSS);
+        // Boss Blind Button, with the boss's rules underneath
+        bossBlind = createBlindButton("Boss Blind", GameEngine.BlindType.BOSS);
         
-        blindButtons.getChildren().addAll(smallBlind, bigBlind, bossBlind);
+        bossRules = new Text();
+        bossRules.setStyle("-fx-fill: #e74c3c; -fx-font-size: 14px;");
         
-        root.getChildren().addAll(title, blindButtons);
+        blindButtons.getChildren().addAll(smallBlind, bigBlind, bossBlind, bossRules);
         
-        // Show info panel
-        gameManager.showInfoPanel();
-        
-        Scene scene = new Scene(root, 400, 300);
-        scene.getStylesheets().add(getClass().getResource("/com/badatro/styles.css").toExternalForm());
-        stage.setScene(scene);
+        root.getChildren().addAll(title, blindButtons);
     }
     
     /**
@@ -69,8 +85,8 @@ public class BlindSelectionScreen {
      * @param button The button to update.
      * @param blindType The blind type associated with the button.
      */
-    private void updateButtonState(Button button, GameManager.BlindType blindType) {
-        boolean canSelect = gameManager.canSelectBlind(blindType);
+    private void updateButtonState(Button button, GameEngine.BlindType blindType) {
+        boolean canSelect = gameManager.getEngine().canSelectBlind(blindType);
         button.setDisable(!canSelect);
         
         if (canSelect) {
@@ -86,13 +102,12 @@ public class BlindSelectionScreen {
      * @param blindType The blind type for the button.
      * @return The created Button.
      */
-    private Button createBlindButton(String text, GameManager.BlindType blindType) {
+    private Button createBlindButton(String text, GameEngine.BlindType blindType) {
         Button button = new Button(text);
         button.setStyle("-fx-background-color: #3498db; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20; -fx-min-width: 200px;");
         
         button.setOnAction(e -> {
-            if (gameManager.canSelectBlind(blindType)) {
-                gameManager.startNewBlind(blindType);
+            if (gameManager.getEngine().startNewBlind(blindType)) {
                 startGame();
             }
         });
@@ -104,7 +119,6 @@ public class BlindSelectionScreen {
      * Starts the game by showing the GameScreen.
      */
     private void startGame() {
-        GameScreen gameScreen = new GameScreen(gameManager, stage);
-        gameScreen.show();
+        gameManager.getRouter().showGame();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.badatro;
+
+import java.util.Random;
+
+/**
+ * The boss blinds that can appear at the end of an ante. Each boss compiles its rules into a
+ * BossEffect once, when the enum is loaded.
+ */
+public enum BossBlind {
+    THE_HEAD("The Head", "All Heart cards are debuffed",
+        BossEffect.debuff(PackedCard.suitMask(0))),
+    THE_WINDOW("The Window", "All Diamond cards are debuffed",
+        BossEffect.debuff(PackedCard.suitMask(1))),
+    THE_CLUB("The Club", "All Club cards are debuffed",
+        BossEffect.debuff(PackedCard.suitMask(2))),
+    THE_GOAT("The Goat", "All Spade cards are debuffed",
+        BossEffect.debuff(PackedCard.suitMask(3))),
+    THE_PLANT("The Plant", "All face cards are debuffed",
+        BossEffect.debuff(PackedCard.rankMask(11) | PackedCard.rankMask(12) | PackedCard.rankMask(13))),
+    THE_PSYCHIC("The Psychic", "Must play 5 cards",
+        BossEffect.requirePlaySize(5)),
+    THE_FLINT("The Flint", "Base chips and mult are halved",
+        BossEffect.divideBase(2)),
+    THE_NEEDLE("The Needle", "Play only 1 hand",
+        BossEffect.hands(1)),
+    THE_WATER("The Water", "Start with 0 discards",
+        BossEffect.discards(0)),
+    THE_MANACLE("The Manacle", "-1 hand size",
+        BossEffect.handSize(-1));
+
+    private final String displayName;
+    private final String description;
+    private final BossEffect effect;
+
+    BossBlind(String displayName, String description, BossEffect effect) {
+        this.displayName = displayName;
+        this.description = description;
+        this.effect = effect;
+    }
+
+    /**
+     * Gets the name shown to the player.
+     * @return The boss name.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Gets the description of the boss's rules.
+     * @return The description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the compiled rules of this boss.
+     * @return The boss effect.
+     */
+    public BossEffect getEffect() {
+        return effect;
+    }
+
+    /**
+     * Picks a random boss.
+     * @param random The random number generator to use.
+     * @return The chosen boss.
+     */
+    public static BossBlind random(Random random) {
+        BossBlind[] bosses = values();
+        return bosses[random.nextInt(bosses.length)];
+    }
+}
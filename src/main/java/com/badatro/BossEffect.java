@@ -0,0 +1,189 @@
+package com.badatro;
+
+/**
+ * The compiled rules of a boss blind. Every rule is reduced to a card mask or a few numbers when
+ * the boss is defined, so applying it while playing costs a handful of bit operations no matter
+ * how many bosses exist. Non-boss blinds use {@link #NONE}, which changes nothing.
+ */
+public final class BossEffect {
+    /** An effect with no rules. */
+    public static final BossEffect NONE = new BossEffect(0L, 0, 1, 0, -1, -1);
+
+    private final long debuffMask;       // Cards (by PackedCard.index) that don't score
+    private final int requiredPlaySize;  // Exact number of cards every hand must have, 0 for any
+    private final int baseDivisor;       // Divides the hand type's base chips and mult
+    private final int handSizeDelta;     // Added to the hand size while drawing
+    private final int handsOverride;     // Hands for the blind, -1 to keep the default
+    private final int discardsOverride;  // Discards for the blind, -1 to keep the default
+
+    private BossEffect(long debuffMask, int requiredPlaySize, int baseDivisor,
+                       int handSizeDelta, int handsOverride, int discardsOverride) {
+        this.debuffMask = debuffMask;
+        this.requiredPlaySize = requiredPlaySize;
+        this.baseDivisor = baseDivisor;
+        this.handSizeDelta = handSizeDelta;
+        this.handsOverride = handsOverride;
+        this.discardsOverride = discardsOverride;
+    }
+
+    /**
+     * Creates an effect that debuffs every card in the mask.
+     * @param cardMask The card mask of debuffed cards.
+     * @return The effect.
+     */
+    public static BossEffect debuff(long cardMask) {
+        return new BossEffect(cardMask, 0, 1, 0, -1, -1);
+    }
+
+    /**
+     * Creates an effect that only allows hands of exactly the given size.
+     * @param cards The number of cards every hand must have.
+     * @return The effect.
+     */
+    public static BossEffect requirePlaySize(int cards) {
+        return new BossEffect(0L, cards, 1, 0, -1, -1);
+    }
+
+    /**
+     * Creates an effect that divides the hand type's base chips and mult.
+     * @param divisor The divisor.
+     * @return The effect.
+     */
+    public static BossEffect divideBase(int divisor) {
+        return new BossEffect(0L, 0, divisor, 0, -1, -1);
+    }
+
+    /**
+     * Creates an effect that changes the hand size.
+     * @param delta The change in hand size.
+     * @return The effect.
+     */
+    public static BossEffect handSize(int delta) {
+        return new BossEffect(0L, 0, 1, delta, -1, -1);
+    }
+
+    /**
+     * Creates an effect that sets the number of hands for the blind.
+     * @param hands The number of hands.
+     * @return The effect.
+     */
+    public static BossEffect hands(int hands) {
+        return new BossEffect(0L, 0, 1, 0, hands, -1);
+    }
+
+    /**
+     * Creates an effect that sets the number of discards for the blind.
+     * @param discards The number of discards.
+     * @return The effect.
+     */
+    public static BossEffect discards(int discards) {
+        return new BossEffect(0L, 0, 1, 0, -1, discards);
+    }
+
+    /**
+     * Combines this effect with another into a single compiled effect.
+     * @param other The other effect.
+     * @return An effect applying the rules of both.
+     */
+    public BossEffect and(BossEffect other) {
+        return new BossEffect(
+            debuffMask | other.debuffMask,
+            other.requiredPlaySize != 0 ? other.requiredPlaySize : requiredPlaySize,
+            baseDivisor * other.baseDivisor,
+            handSizeDelta + other.handSizeDelta,
+            other.handsOverride >= 0 ? other.handsOverride : handsOverride,
+            other.discardsOverride >= 0 ? other.discardsOverride : discardsOverride
+        );
+    }
+
+    /**
+     * Checks whether a packed card is debuffed and so does not score.
+     * @param card The packed card.
+     * @return True if the card is debuffed.
+     */
+    public boolean isDebuffed(int card) {
+        return (debuffMask & PackedCard.bit(card)) != 0;
+    }
+
+    public long getDebuffMask() {
+        return debuffMask;
+    }
+
+    /**
+     * Checks whether a hand of the given size may be played.
+     * @param cards The number of cards in the hand.
+     * @return True if the hand is allowed.
+     */
+    public boolean allowsPlay(int cards) {
+        return requiredPlaySize == 0 || cards == requiredPlaySize;
+    }
+
+    public int getRequiredPlaySize() {
+        return requiredPlaySize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BossEffect)) return false;
+        BossEffect other = (BossEffect) o;
+        return debuffMask == other.debuffMask && requiredPlaySize == other.requiredPlaySize
+            && baseDivisor == other.baseDivisor && handSizeDelta == other.handSizeDelta
+            && handsOverride == other.handsOverride && discardsOverride == other.discardsOverride;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Long.hashCode(debuffMask);
+        hash = 31 * hash + requiredPlaySize;
+        hash = 31 * hash + baseDivisor;
+        hash = 31 * hash + handSizeDelta;
+        hash = 31 * hash + handsOverride;
+        return 31 * hash + discardsOverride;
+    }
+
+    /**
+     * Applies the base divisor to the hand type's base chips, rounding half up.
+     * @param chips The base chips.
+     * @return The adjusted base chips.
+     */
+    public int adjustBaseChips(int chips) {
+        return (chips + baseDivisor / 2) / baseDivisor;
+    }
+
+    /**
+     * Applies the base divisor to the hand type's base mult, rounding half up and keeping at least 1.
+     * @param mult The base mult.
+     * @return The adjusted base mult.
+     */
+    public int adjustBaseMult(int mult) {
+        return Math.max(1, (mult + baseDivisor / 2) / baseDivisor);
+    }
+
+    /**
+     * Applies the hand size change to a hand size.
+     * @param handSize The normal hand size.
+     * @return The hand size for this blind, at least 1.
+     */
+    public int adjustHandSize(int handSize) {
+        return Math.max(1, handSize + handSizeDelta);
+    }
+
+    /**
+     * Applies the hands override to the normal number of hands.
+     * @param hands The normal number of hands.
+     * @return The number of hands for this blind.
+     */
+    public int adjustHands(int hands) {
+        return handsOverride >= 0 ? handsOverride : hands;
+    }
+
+    /**
+     * Applies the discards override to the normal number of discards.
+     * @param discards The normal number of discards.
+     * @return The number of discards for this blind.
+     */
+    public int adjustDiscards(int discards) {
+        return discardsOverride >= 0 ? discardsOverride : discards;
+    }
+}
@@ -1,20 +1,22 @@
 package com.badatro;
 
-import javafx.scene.image.Image;
+import javafx.scene.control.Tooltip;
 import javafx.scene.image.ImageView;
 
 /**
- * Represents a playing card, including rank, suit, image, and selection state.
+ * The view of a playing card in the UI: its image and selection state. Hands, decks and scoring
+ * keep cards as packed ints (see PackedCard); the screens map those to Card views.
+ * Rank, suit and modifiers live in a single packed int (see PackedCard).
  */
 public class Card {
     // Basic card attributes
-    private final int rank;  // 2-14 (where 14 is Ace)
-    private final int suit;  // Hearts, Diamonds, Clubs, Spades
+    private int bits;  // Rank (2-14, where 14 is Ace), suit and modifiers, packed by PackedCard
     private final boolean isJoker;  // Whether this card is a joker
     
-    private final ImageView imageView;
+    private ImageView imageView;  // Loaded on first use, so cards can exist without JavaFX
+    private Tooltip tooltip;      // Lists the modifiers; null when there are none
     private boolean isSelected;
-    private static final double SELECTED_OFFSET = -20.0; // Pixels to move up when selected
+    public static final double SELECTED_OFFSET = -20.0; // Pixels to move up when selected
     
     /**
      * Constructs a regular card with the given rank and suit.
@@ -29,60 +31,29 @@ public class Card {
             throw new IllegalArgumentException("Invalid suit");
         }
         
-        this.rank = rank;
-        this.suit = suit;
+        this.bits = PackedCard.of(rank, suit);
         this.isJoker = false;
         this.isSelected = false;
-        
-        // Load card image
-        int imageRank;
-        if (rank == 14) {         // Ace
-            imageRank = 0;
-        } else if (rank == 11) {  // Jack
-            imageRank = 10;
-        } else if (rank == 12) {  // Queen
-            imageRank = 11;
-        } else if (rank == 13) {  // King
-            imageRank = 12;
-        } else {
-            imageRank = rank;
-        }
-        String imagePath = String.format("/com/badatro/Deck/%d-%d.jpg", imageRank, suit);
-        try {
-            Image image = new Image(getClass().getResourceAsStream(imagePath));
-            if (image.isError()) {
-                throw new RuntimeException("Failed to load image: " + imagePath);
-            }
-            this.imageView = new ImageView(image);
-            this.imageView.setFitWidth(100);  // Adjust size as needed
-            this.imageView.setPreserveRatio(true);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load card image: " + imagePath, e);
-        }
+    }
+    
+    /**
+     * Creates the view of a packed card, modifiers included.
+     * @param packed The packed card.
+     * @return The card.
+     */
+    public static Card fromPacked(int packed) {
+        Card card = new Card(PackedCard.rank(packed), PackedCard.suit(packed));
+        card.setPacked(packed);
+        return card;
     }
     
     /**
      * Constructs a joker card.
      */
     public Card() {
-        this.rank = 0;
-        this.suit = 0;
+        this.bits = PackedCard.of(0, 0);
         this.isJoker = true;
         this.isSelected = false;
-        
-        // Load joker image
-        String imagePath = "/com/badatro/Deck/0-0.jpg";
-        try {
-            Image image = new Image(getClass().getResourceAsStream(imagePath));
-            if (image.isError()) {
-                throw new RuntimeException("Failed to load joker image: " + imagePath);
-            }
-            this.imageView = new ImageView(image);
-            this.imageView.setFitWidth(100);  // Adjust size as needed
-            this.imageView.setPreserveRatio(true);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load joker image: " + imagePath, e);
-        }
     }
     
     /**
@@ -90,7 +61,7 @@ public class Card {
      * @return The rank of the card.
      */
     public int getRank() {
-        return rank;
+        return PackedCard.rank(bits);
     }
     
     /**
@@ -98,7 +69,75 @@ public class Card {
      * @return The suit of the card.
      */
     public int getSuit() {
-        return suit;
+        return PackedCard.suit(bits);
+    }
+    
+    /**
+     * Gets the packed representation of this card, including its modifiers.
+     * @return The packed card.
+     */
+    public int getPacked() {
+        return bits;
+    }
+    
+    /**
+     * Changes this card's modifiers to those of a packed card of the same rank and suit.
+     * @param packed The packed card.
+     */
+    public void setPacked(int packed) {
+        if (PackedCard.index(packed) != PackedCard.index(bits)) {
+            throw new IllegalArgumentException("Card " + PackedCard.toString(packed) + " isn't " + this);
+        }
+        bits = packed;
+        updateTooltip();
+    }
+    
+    /**
+     * Gets the enhancement of this card.
+     * @return One of the PackedCard.ENHANCEMENT_* values.
+     */
+    public int getEnhancement() {
+        return PackedCard.enhancement(bits);
+    }
+    
+    /**
+     * Sets the enhancement of this card.
+     * @param enhancement One of the PackedCard.ENHANCEMENT_* values.
+     */
+    public void setEnhancement(int enhancement) {
+        setPacked(PackedCard.withEnhancement(bits, enhancement));
+    }
+    
+    /**
+     * Gets the edition of this card.
+     * @return One of the PackedCard.EDITION_* values.
+     */
+    public int getEdition() {
+        return PackedCard.edition(bits);
+    }
+    
+    /**
+     * Sets the edition of this card.
+     * @param edition One of the PackedCard.EDITION_* values.
+     */
+    public void setEdition(int edition) {
+        setPacked(PackedCard.withEdition(bits, edition));
+    }
+    
+    /**
+     * Gets the seal of this card.
+     * @return One of the PackedCard.SEAL_* values.
+     */
+    public int getSeal() {
+        return PackedCard.seal(bits);
+    }
+    
+    /**
+     * Sets the seal of this card.
+     * @param seal One of the PackedCard.SEAL_* values.
+     */
+    public void setSeal(int seal) {
+        setPacked(PackedCard.withSeal(bits, seal));
     }
     
     /**
@@ -114,15 +153,90 @@ public class Card {
      * @return The ImageView representing the card.
      */
     public ImageView getImageView() {
+        if (imageView == null) {
+            imageView = loadImageView();
+            imageView.setTranslateY(isSelected ? SELECTED_OFFSET : 0);
+            updateTooltip();
+        }
         return imageView;
     }
     
+    /**
+     * Lists the card's modifiers in a tooltip on its view, since the card images don't show them.
+     */
+    private void updateTooltip() {
+        if (imageView == null) {
+            return;  // Applied when the image is loaded
+        }
+        String modifiers = PackedCard.describeModifiers(bits);
+        if (modifiers.isEmpty()) {
+            if (tooltip != null) {
+                Tooltip.uninstall(imageView, tooltip);
+                tooltip = null;
+            }
+        } else if (tooltip == null) {
+            tooltip = new Tooltip(modifiers);
+            Tooltip.install(imageView, tooltip);
+        } else {
+            tooltip.setText(modifiers);
+        }
+    }
+    
+    /**
+     * Gets the resource path of the card's image.
+     * @return The path to the card's image.
+     */
+    public String getImagePath() {
+        if (isJoker) {
+            return "/com/badatro/Deck/0-0.jpg";
+        }
+        return imagePath(bits);
+    }
+    
+    /**
+     * Gets the resource path of a packed card's image; modifiers don't change the image.
+     * @param packed The packed card.
+     * @return The path to the card's image.
+     */
+    public static String imagePath(int packed) {
+        int rank = PackedCard.rank(packed);
+        int imageRank;
+        if (rank == 14) {         // Ace
+            imageRank = 0;
+        } else if (rank == 11) {  // Jack
+            imageRank = 10;
+        } else if (rank == 12) {  // Queen
+            imageRank = 11;
+        } else if (rank == 13) {  // King
+            imageRank = 12;
+        } else {
+            imageRank = rank;
+        }
+        return String.format("/com/badatro/Deck/%d-%d.jpg", imageRank, PackedCard.suit(packed));
+    }
+    
+    /**
+     * Loads the card's image.
+     * @return An ImageView showing the card.
+     */
+    private ImageView loadImageView() {
+        String imagePath = getImagePath();
+        CardAtlas atlas = CardAtlas.getDefault();
+        if (atlas.getCell(imagePath) < 0) {
+            throw new RuntimeException("Failed to load card image: " + imagePath);
+        }
+        ImageView view = atlas.createView(imagePath);
+        view.setFitWidth(100);  // Adjust size as needed
+        view.setPreserveRatio(true);
+        return view;
+    }
+    
     /**
      * Gets the base chip value for this card.
      * @return The base chip value.
      */
     public int getBaseChips() {
-        return rank;  // Base chips equal to rank
+        return getRank();  // Base chips equal to rank
     }
     
     /**
@@ -139,6 +253,9 @@ public class Card {
      */
     public void setSelected(boolean selected) {
         isSelected = selected;
+        if (imageView == null) {
+            return;  // Applied when the image is loaded
+        }
         if (selected) {
             imageView.setTranslateY(SELECTED_OFFSET);
         } else {
@@ -162,25 +279,6 @@ public class Card {
         if (isJoker) {
             return "Joker";
         }
-        
-        String rankStr;
-        switch (rank) {
-            case 11: rankStr = "J"; break;
-            case 12: rankStr = "Q"; break;
-            case 13: rankStr = "K"; break;
-            case 14: rankStr = "A"; break;
-            default: rankStr = String.valueOf(rank);
-        }
-        
-        String suitStr;
-        switch (suit) {
-            case 0: suitStr = "♥"; break;
-            case 1: suitStr = "♦"; break;
-            case 2: suitStr = "♣"; break;
-            case 3: suitStr = "♠"; break;
-            default: suitStr = "?";
-        }
-        
-        return rankStr + suitStr;
+        return PackedCard.toString(bits);
     }
 } 
\ No newline at end of file
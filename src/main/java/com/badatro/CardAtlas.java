@@ -0,0 +1,250 @@
+package com.badatro;
+
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Packs card and joker images into one image, so every card and joker is drawn from a single
+ * small texture instead of its own full-size JPEG.
+ *
+ * The build bakes the atlas ahead of time (see AtlasBaker). If the baked atlas is missing, as
+ * when running straight from the sources, or doesn't hold an image, the image is scaled to one
+ * cell and copied into a free cell the first time it's asked for.
+ *
+ * Images missing from the baked atlas can be decoded ahead of time on a background thread (see
+ * preloadInBackground). Only the decoding happens there: the pixels are copied into the atlas on
+ * the JavaFX thread, since views may already be showing the atlas image.
+ */
+public class CardAtlas {
+    public static final int CELL_WIDTH = 100;
+    public static final int CELL_HEIGHT = 130;
+    static final int COLUMNS = 13;
+    static final int ROWS = 6;  // Room for the 52 cards and 26 jokers
+
+    // Resources written by AtlasBaker
+    static final String ATLAS_IMAGE = "/com/badatro/atlas.png";
+    static final String ATLAS_INDEX = "/com/badatro/atlas.properties";
+
+    private static CardAtlas shared;
+
+    private Image image;  // Only copied into a WritableImage when an image has to be added
+    private final Map<String, Integer> cells;  // Cell by image path; -1 if the image failed to load
+    private int used;
+
+    /**
+     * Creates an atlas holding the baked images, if the build made them.
+     */
+    public CardAtlas() {
+        this.cells = new HashMap<>();
+        this.image = loadBaked();
+    }
+
+    /**
+     * Gets the atlas shared by the game's card and joker views.
+     * @return The shared atlas.
+     */
+    public static synchronized CardAtlas getDefault() {
+        if (shared == null) {
+            shared = new CardAtlas();
+        }
+        return shared;
+    }
+
+    /**
+     * Loads the shared atlas on a background thread, and decodes there every card and joker image
+     * it doesn't hold yet, so the first screen that shows cards doesn't wait for the images. The
+     * decoded images are added to the atlas on the JavaFX thread.
+     */
+    public static void preloadInBackground() {
+        Thread thread = new Thread(() -> {
+            CardAtlas atlas = getDefault();
+            List<String> imagePaths = new ArrayList<>();
+            for (int suit = 0; suit < 4; suit++) {
+                for (int rank = 2; rank <= 14; rank++) {
+                    imagePaths.add(Card.imagePath(PackedCard.of(rank, suit)));
+                }
+            }
+            imagePaths.addAll(Shop.getJokerImagePaths());
+            for (String imagePath : imagePaths) {
+                if (!atlas.contains(imagePath)) {
+                    Image source = decode(imagePath);
+                    Platform.runLater(() -> atlas.add(imagePath, source));
+                }
+            }
+        }, "atlas-preload");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Loads the baked atlas image and its index.
+     * @return The atlas image, or null if there's no usable baked atlas.
+     */
+    private Image loadBaked() {
+        try (InputStream imageIn = getClass().getResourceAsStream(ATLAS_IMAGE);
+             InputStream indexIn = getClass().getResourceAsStream(ATLAS_INDEX)) {
+            if (imageIn == null || indexIn == null) {
+                return null;
+            }
+            Activity.IMAGE_DECODE.mark();
+            Image baked = new Image(imageIn);
+            if (baked.isError() || baked.getWidth() != COLUMNS * CELL_WIDTH
+                    || baked.getHeight() != ROWS * CELL_HEIGHT) {
+                System.err.println("Ignoring card atlas that doesn't match the cell layout");
+                return null;
+            }
+            Properties index = new Properties();
+            index.load(indexIn);
+            for (String path : index.stringPropertyNames()) {
+                int cell = Integer.parseInt(index.getProperty(path).trim());
+                cells.put(path, cell);
+                used = Math.max(used, cell + 1);
+            }
+            return baked;
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Failed to load card atlas: " + e.getMessage());
+            cells.clear();
+            used = 0;
+            return null;
+        }
+    }
+
+    /**
+     * Gets the atlas image that cells are drawn from.
+     * @return The atlas image.
+     */
+    public synchronized Image getImage() {
+        if (image == null) {
+            image = new WritableImage(COLUMNS * CELL_WIDTH, ROWS * CELL_HEIGHT);
+        }
+        return image;
+    }
+
+    /**
+     * Creates a view showing one image from the atlas.
+     * @param imagePath The resource path of the image.
+     * @return The view, which is empty if the image couldn't be loaded.
+     */
+    public synchronized ImageView createView(String imagePath) {
+        int cell = getCell(imagePath);
+        if (cell < 0) {
+            return new ImageView();
+        }
+        ImageView view = new ImageView(getImage());
+        view.setViewport(new Rectangle2D(getX(cell), getY(cell), CELL_WIDTH, CELL_HEIGHT));
+        return view;
+    }
+
+    /**
+     * Checks whether the atlas already has a cell for an image, or knows it can't be loaded.
+     * @param imagePath The resource path of the image.
+     * @return True if getCell won't need to load the image.
+     */
+    public synchronized boolean contains(String imagePath) {
+        return cells.containsKey(imagePath);
+    }
+
+    /**
+     * Adds an image decoded ahead of time, unless it was loaded in the meantime. Must be called
+     * on the JavaFX thread.
+     * @param imagePath The resource path of the image.
+     * @param source The image scaled to one cell, or null if it couldn't be decoded.
+     */
+    synchronized void add(String imagePath, Image source) {
+        if (!cells.containsKey(imagePath)) {
+            cells.put(imagePath, place(imagePath, source));
+        }
+    }
+
+    /**
+     * Gets the cell holding an image, loading it into the next free cell on first use.
+     * @param imagePath The resource path of the image, as returned by Card.getImagePath or
+     *                  Item.getImagePath.
+     * @return The cell index, or -1 if the image couldn't be loaded or the atlas is full.
+     */
+    public synchronized int getCell(String imagePath) {
+        Integer cell = cells.get(imagePath);
+        if (cell == null) {
+            cell = place(imagePath, decode(imagePath));
+            cells.put(imagePath, cell);
+        }
+        return cell;
+    }
+
+    /**
+     * Decodes an image scaled to one cell. Safe to call on any thread.
+     * @return The image, or null if it couldn't be loaded.
+     */
+    private static Image decode(String imagePath) {
+        try (InputStream in = CardAtlas.class.getResourceAsStream(imagePath)) {
+            if (in == null) {
+                System.err.println("Failed to load image: " + imagePath);
+                return null;
+            }
+            Activity.IMAGE_DECODE.mark();
+            Image source = new Image(in, CELL_WIDTH, CELL_HEIGHT, false, true);
+            if (source.isError()) {
+                System.err.println("Failed to load image: " + imagePath);
+                return null;
+            }
+            return source;
+        } catch (IOException e) {
+            System.err.println("Failed to load image " + imagePath + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Copies a decoded image into the next free cell.
+     * @return The cell index, or -1 if there's no image or the atlas is full.
+     */
+    private int place(String imagePath, Image source) {
+        if (source == null) {
+            return -1;
+        }
+        if (used == COLUMNS * ROWS) {
+            System.err.println("Card atlas is full, can't add " + imagePath);
+            return -1;
+        }
+        if (!(getImage() instanceof WritableImage)) {
+            // Views made so far keep the baked image, whose cells don't change
+            image = new WritableImage(image.getPixelReader(), 0, 0, COLUMNS * CELL_WIDTH, ROWS * CELL_HEIGHT);
+        }
+        int cell = used++;
+        int width = Math.min(CELL_WIDTH, (int) source.getWidth());
+        int height = Math.min(CELL_HEIGHT, (int) source.getHeight());
+        ((WritableImage) image).getPixelWriter().setPixels(
+            (int) getX(cell), (int) getY(cell), width, height, source.getPixelReader(), 0, 0);
+        return cell;
+    }
+
+    /**
+     * Gets the left edge of a cell in the atlas image.
+     * @param cell The cell index.
+     * @return The x coordinate in pixels.
+     */
+    public double getX(int cell) {
+        return (cell % COLUMNS) * CELL_WIDTH;
+    }
+
+    /**
+     * Gets the top edge of a cell in the atlas image.
+     * @param cell The cell index.
+     * @return The y coordinate in pixels.
+     */
+    public double getY(int cell) {
+        return (cell / COLUMNS) * CELL_HEIGHT;
+    }
+}
@@ -0,0 +1,373 @@
+package com.badatro;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Draws the active jokers and the hand onto one Canvas, as a lighter alternative to a node per
+ * card. Every image is drawn from a CardAtlas, hovering and clicks are hit-tested against the
+ * card rectangles here, and a change only redraws the rectangles it touched.
+ *
+ * A row that doesn't fit the width overlaps its cards, so hands bigger than Hand.MAX_HAND_SIZE
+ * still fit; the card drawn last (the rightmost) is the one under the mouse.
+ */
+public class CardTable {
+    public static final double WIDTH = 760;
+    public static final double HEIGHT = 320;
+
+    private static final double CARD_WIDTH = 80;
+    private static final double CARD_HEIGHT = 104;
+    private static final double JOKER_WIDTH = 100;
+    private static final double JOKER_HEIGHT = 130;
+    private static final double GAP = 10;
+    private static final double EDGE = 20;  // Space kept clear at each side of a row
+    private static final double JOKER_ROW_Y = 10;
+    private static final double HAND_ROW_Y = 190;
+    private static final double HOVER_SCALE = 1.1;
+    private static final double GLOW = 6;   // Width of the highlight drawn around a card
+    private static final Color BACKGROUND = Color.web("#2C3E50");
+    private static final Color HIGHLIGHT = Color.web("#ffd700");
+
+    private final CardAtlas atlas;
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final List<Slot> jokerSlots;
+    private final List<Slot> handSlots;
+    private final List<double[]> dirty;  // Rectangles to redraw, as x, y, width, height
+    private Slot hovered;
+    private IntConsumer onCardClicked = index -> { };
+    private Consumer<Joker> onJokerClicked = joker -> { };
+
+    /**
+     * Creates an empty table.
+     * @param atlas The atlas card and joker images are drawn from.
+     */
+    public CardTable(CardAtlas atlas) {
+        this.atlas = atlas;
+        this.canvas = new Canvas(WIDTH, HEIGHT);
+        this.gc = canvas.getGraphicsContext2D();
+        this.jokerSlots = new ArrayList<>();
+        this.handSlots = new ArrayList<>();
+        this.dirty = new ArrayList<>();
+
+        canvas.setOnMouseMoved(e -> hover(slotAt(e.getX(), e.getY())));
+        canvas.setOnMouseExited(e -> hover(null));
+        canvas.setOnMouseClicked(this::click);
+
+        dirty.add(new double[] {0, 0, WIDTH, HEIGHT});
+        repaint();
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Sets what happens when a card in the hand is clicked with the primary button.
+     * @param handler Called with the index of the card in the hand.
+     */
+    public void setOnCardClicked(IntConsumer handler) {
+        onCardClicked = handler;
+    }
+
+    /**
+     * Sets what happens when a joker is clicked.
+     * @param handler Called with the joker.
+     */
+    public void setOnJokerClicked(Consumer<Joker> handler) {
+        onJokerClicked = handler;
+    }
+
+    /**
+     * Shows the cards of a hand and their selection, redrawing only the slots that changed.
+     * @param hand The hand.
+     * @param selectedMask The selected cards, as a bit mask of hand positions.
+     */
+    public void setHand(Hand hand, int selectedMask) {
+        int size = hand.getSize();
+        double step = step(size, CARD_WIDTH);
+        double left = (WIDTH - (size - 1) * step - CARD_WIDTH) / 2;
+        for (int i = 0; i < size; i++) {
+            int card = hand.getCard(i);
+            boolean selected = (selectedMask & (1 << i)) != 0;
+            double x = left + i * step;
+            if (i == handSlots.size()) {
+                handSlots.add(new Slot(true));
+            }
+            Slot slot = handSlots.get(i);
+            if (slot.card == card && slot.x == x && slot.selected == selected) {
+                continue;
+            }
+            invalidate(slot);
+            slot.card = card;
+            slot.place(Card.imagePath(card), x, HAND_ROW_Y, CARD_WIDTH, CARD_HEIGHT);
+            slot.selected = selected;
+            invalidate(slot);
+        }
+        removeSlots(handSlots, size);
+        repaint();
+    }
+
+    /**
+     * Shows a change to one card's selection.
+     * @param index The card's position in the hand.
+     * @param selected True if the card is selected.
+     */
+    public void setSelected(int index, boolean selected) {
+        if (index < 0 || index >= handSlots.size()) {
+            return;
+        }
+        Slot slot = handSlots.get(index);
+        if (slot.selected != selected) {
+            invalidate(slot);
+            slot.selected = selected;
+            invalidate(slot);
+            repaint();
+        }
+    }
+
+    /**
+     * Shows the active jokers, redrawing only the slots that changed.
+     * @param jokers The jokers.
+     */
+    public void setJokers(List<Joker> jokers) {
+        int size = jokers.size();
+        double step = step(size, JOKER_WIDTH);
+        double left = (WIDTH - (size - 1) * step - JOKER_WIDTH) / 2;
+        for (int i = 0; i < size; i++) {
+            Joker joker = jokers.get(i);
+            double x = left + i * step;
+            if (i == jokerSlots.size()) {
+                jokerSlots.add(new Slot(false));
+            }
+            Slot slot = jokerSlots.get(i);
+            if (slot.joker == joker && slot.x == x) {
+                continue;
+            }
+            invalidate(slot);
+            slot.joker = joker;
+            slot.place(joker.getImagePath(), x, JOKER_ROW_Y, JOKER_WIDTH, JOKER_HEIGHT);
+            invalidate(slot);
+        }
+        removeSlots(jokerSlots, size);
+        repaint();
+    }
+
+    /**
+     * Gets the distance between the left edges of neighbouring cards in a row, overlapping the
+     * cards when the row is wider than the table.
+     */
+    private static double step(int count, double width) {
+        if (count < 2) {
+            return 0;
+        }
+        return Math.min(width + GAP, (WIDTH - 2 * EDGE - width) / (count - 1));
+    }
+
+    private void removeSlots(List<Slot> slots, int size) {
+        while (slots.size() > size) {
+            Slot slot = slots.remove(slots.size() - 1);
+            invalidate(slot);
+            if (slot == hovered) {
+                hovered = null;
+            }
+        }
+    }
+
+    /**
+     * Finds the slot drawn on top at a point.
+     * @return The slot, or null if the point isn't on a card.
+     */
+    private Slot slotAt(double x, double y) {
+        for (int i = handSlots.size() - 1; i >= 0; i--) {
+            if (handSlots.get(i).contains(x, y)) {
+                return handSlots.get(i);
+            }
+        }
+        for (int i = jokerSlots.size() - 1; i >= 0; i--) {
+            if (jokerSlots.get(i).contains(x, y)) {
+                return jokerSlots.get(i);
+            }
+        }
+        return null;
+    }
+
+    private void hover(Slot slot) {
+        if (slot == hovered) {
+            return;
+        }
+        if (hovered != null) {
+            invalidate(hovered);
+            hovered.hovered = false;
+            invalidate(hovered);
+        }
+        hovered = slot;
+        if (slot != null) {
+            invalidate(slot);
+            slot.hovered = true;
+            invalidate(slot);
+        }
+        repaint();
+    }
+
+    private void click(MouseEvent e) {
+        Slot slot = slotAt(e.getX(), e.getY());
+        if (slot == null) {
+            return;
+        }
+        if (!slot.isCard) {
+            onJokerClicked.accept(slot.joker);
+        } else if (e.getButton() == MouseButton.PRIMARY) {
+            onCardClicked.accept(handSlots.indexOf(slot));
+        }
+    }
+
+    /**
+     * Marks the area a slot covers, highlight included, to be redrawn. Overlapping areas are
+     * merged, so each pixel is redrawn once.
+     */
+    private void invalidate(Slot slot) {
+        if (slot.imagePath == null) {
+            return;  // Not placed yet
+        }
+        double[] rect = {
+            Math.floor(slot.drawX() - GLOW), Math.floor(slot.drawY() - GLOW),
+            Math.ceil(slot.drawWidth() + 2 * GLOW) + 1, Math.ceil(slot.drawHeight() + 2 * GLOW) + 1
+        };
+        for (int i = 0; i < dirty.size(); ) {
+            double[] other = dirty.get(i);
+            if (intersects(rect, other)) {
+                double x = Math.min(rect[0], other[0]);
+                double y = Math.min(rect[1], other[1]);
+                rect = new double[] {
+                    x, y,
+                    Math.max(rect[0] + rect[2], other[0] + other[2]) - x,
+                    Math.max(rect[1] + rect[3], other[1] + other[3]) - y
+                };
+                dirty.remove(i);
+                i = 0;  // The grown rectangle may now reach ones already passed
+            } else {
+                i++;
+            }
+        }
+        dirty.add(rect);
+    }
+
+    private static boolean intersects(double[] a, double[] b) {
+        return a[0] < b[0] + b[2] && b[0] < a[0] + a[2] && a[1] < b[1] + b[3] && b[1] < a[1] + a[3];
+    }
+
+    /**
+     * Redraws the dirty rectangles: clears each one and draws, in order, every slot reaching into it.
+     */
+    private void repaint() {
+        for (double[] rect : dirty) {
+            gc.save();
+            gc.beginPath();
+            gc.rect(rect[0], rect[1], rect[2], rect[3]);
+            gc.clip();
+            gc.setFill(BACKGROUND);
+            gc.fillRect(rect[0], rect[1], rect[2], rect[3]);
+            for (Slot slot : jokerSlots) {
+                draw(slot, rect);
+            }
+            for (Slot slot : handSlots) {
+                draw(slot, rect);
+            }
+            gc.restore();
+        }
+        dirty.clear();
+    }
+
+    private void draw(Slot slot, double[] rect) {
+        double x = slot.drawX();
+        double y = slot.drawY();
+        double width = slot.drawWidth();
+        double height = slot.drawHeight();
+        if (!intersects(new double[] {x - GLOW, y - GLOW, width + 2 * GLOW, height + 2 * GLOW}, rect)) {
+            return;
+        }
+
+        // Selected cards and hovered jokers get a fading gold outline
+        if (slot.isCard ? slot.selected : slot.hovered) {
+            gc.setStroke(HIGHLIGHT);
+            gc.setLineWidth(2);
+            for (int ring = 1; ring <= 3; ring++) {
+                double inset = 2 * ring - 1;
+                gc.setGlobalAlpha(0.75 / ring);
+                gc.strokeRect(x - inset, y - inset, width + 2 * inset, height + 2 * inset);
+            }
+            gc.setGlobalAlpha(1);
+        }
+
+        int cell = atlas.getCell(slot.imagePath);
+        if (cell < 0) {
+            gc.setFill(Color.LIGHTGRAY);
+            gc.fillRect(x, y, width, height);
+        } else {
+            gc.drawImage(atlas.getImage(), atlas.getX(cell), atlas.getY(cell),
+                CardAtlas.CELL_WIDTH, CardAtlas.CELL_HEIGHT, x, y, width, height);
+        }
+    }
+
+    /**
+     * A card or joker position on the table.
+     */
+    private static final class Slot {
+        final boolean isCard;
+        int card = PackedCard.NONE;  // The packed card shown, in a hand slot
+        Joker joker;                 // The joker shown, in a joker slot
+        String imagePath;
+        double x;     // Layout position, before hovering and selection
+        double y;
+        double width;
+        double height;
+        boolean selected;
+        boolean hovered;
+
+        Slot(boolean isCard) {
+            this.isCard = isCard;
+        }
+
+        void place(String imagePath, double x, double y, double width, double height) {
+            this.imagePath = imagePath;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        // Cards grow when hovered or selected, and selected cards are raised, like GameScreen's views
+        double scale() {
+            return isCard && (selected || hovered) ? HOVER_SCALE : 1.0;
+        }
+
+        double drawWidth() {
+            return width * scale();
+        }
+
+        double drawHeight() {
+            return height * scale();
+        }
+
+        double drawX() {
+            return x - (drawWidth() - width) / 2;
+        }
+
+        double drawY() {
+            return y + (selected ? Card.SELECTED_OFFSET : 0) - (drawHeight() - height) / 2;
+        }
+
+        boolean contains(double px, double py) {
+            return px >= drawX() && px < drawX() + drawWidth() && py >= drawY() && py < drawY() + drawHeight();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.badatro;
+
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A shop item that gives random cards of the deck an enhancement, edition or seal for the rest
+ * of the run. Upgrades are bought between blinds, so the changed cards show up from the next
+ * blind on.
+ */
+public class CardUpgrade implements ShopItem {
+    private final String name;
+    private final String description;
+    private final int cost;
+    private final String imagePath;
+    private final int count;                 // Cards changed per purchase
+    private final IntUnaryOperator modifier; // Maps a packed card to the upgraded card
+
+    /**
+     * Constructs a card upgrade.
+     * @param name The name of the upgrade.
+     * @param description The description of the upgrade's effect.
+     * @param cost The cost to buy the upgrade.
+     * @param image The packed card whose image stands for the upgrade.
+     * @param count The number of cards changed.
+     * @param modifier Maps a packed card to the upgraded card.
+     */
+    private CardUpgrade(String name, String description, int cost, int image, int count, IntUnaryOperator modifier) {
+        this.name = name;
+        this.description = description;
+        this.cost = cost;
+        this.imagePath = Card.imagePath(image);
+        this.count = count;
+        this.modifier = modifier;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public String getImagePath() {
+        return imagePath;
+    }
+
+    /**
+     * Upgrades random cards of the engine's deck that don't already have the upgrade.
+     * @param engine The game engine.
+     * @return The number of cards upgraded.
+     */
+    public int applyTo(GameEngine engine) {
+        return engine.getDeck().modifyRandomCards(count, modifier);
+    }
+
+    /**
+     * Creates every upgrade the shop can offer.
+     * @return The upgrades.
+     */
+    public static List<CardUpgrade> createAll() {
+        return List.of(
+            new CardUpgrade("Bonus Cards", "2 random cards become Bonus cards (+30 chips)", 3, PackedCard.of(2, 0), 2,
+                card -> PackedCard.withEnhancement(card, PackedCard.ENHANCEMENT_BONUS)),
+            new CardUpgrade("Mult Cards", "2 random cards become Mult cards (+4 mult)", 3, PackedCard.of(3, 1), 2,
+                card -> PackedCard.withEnhancement(card, PackedCard.ENHANCEMENT_MULT)),
+            new CardUpgrade("Glass Card", "A random card becomes a Glass card (x2 mult)", 4, PackedCard.of(4, 2), 1,
+                card -> PackedCard.withEnhancement(card, PackedCard.ENHANCEMENT_GLASS)),
+            new CardUpgrade("Foil", "A random card becomes Foil (+50 chips)", 4, PackedCard.of(5, 3), 1,
+                card -> PackedCard.withEdition(card, PackedCard.EDITION_FOIL)),
+            new CardUpgrade("Holographic", "A random card becomes Holographic (+10 mult)", 5, PackedCard.of(6, 0), 1,
+                card -> PackedCard.withEdition(card, PackedCard.EDITION_HOLOGRAPHIC)),
+            new CardUpgrade("Polychrome", "A random card becomes Polychrome (x1.5 mult)", 6, PackedCard.of(7, 1), 1,
+                card -> PackedCard.withEdition(card, PackedCard.EDITION_POLYCHROME)),
+            new CardUpgrade("Gold Seal", "A random card gets a Gold seal ($3 when scored)", 4, PackedCard.of(8, 2), 1,
+                card -> PackedCard.withSeal(card, PackedCard.SEAL_GOLD)),
+            new CardUpgrade("Red Seal", "A random card gets a Red seal (scores twice)", 5, PackedCard.of(9, 3), 1,
+                card -> PackedCard.withSeal(card, PackedCard.SEAL_RED))
+        );
+    }
+}
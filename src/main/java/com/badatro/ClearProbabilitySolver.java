@@ -0,0 +1,484 @@
+package com.badatro;
+
+import java.util.Arrays;
+
+/**
+ * Computes the exact probability of clearing the current blind under optimal play.
+ *
+ * The unseen deck is treated as shuffled, so a state is the set of cards in hand, the set of cards
+ * left in the deck, the score and the hands and discards left; hand and deck are 52-bit card masks
+ * (see PackedCard.index). The search is an expectimax: the player picks the play or discard with
+ * the best chance, and every refill of the hand is equally likely. A blind already won is worth 1,
+ * one with no hands left is worth 0, a hand that can be cleared right now is worth 1 without
+ * looking further, and the refills of an action stop being enumerated once the action can no
+ * longer beat the best one found.
+ *
+ * Refills are enumerated by composition rather than card by card. Cards with the same rank,
+ * modifiers and debuff can stand in for each other, and so can their suits when the suit can't
+ * matter: fewer than five cards of it are left in hand and deck, so it can't make a flush, and no
+ * joker counts it. Drawing t cards of a class of n is then one outcome weighted by C(n, t), drawn
+ * as the class's lowest cards so equivalent refills reach the same table entries.
+ *
+ * Results are memoized in a transposition table of fixed size. Each bucket holds two entries;
+ * when both are taken, the entry that took less work to compute is evicted. A solve can be given a
+ * node and time budget, and can be cancelled from another thread; a stopped solve returns NaN and
+ * keeps what it had finished in the table. Scratch arrays are kept per search depth, so the search
+ * doesn't allocate once it has reached its deepest point.
+ */
+public class ClearProbabilitySolver {
+    /** The default memory for the transposition table. */
+    public static final long DEFAULT_MEMORY_BYTES = 64L << 20;
+
+    private static final int ENTRY_BYTES = 8 + 8 + 8 + 4 + 8 + 4;  // Hand, deck, score, counters, value, work
+    private static final int EMPTY = -1;
+    private static final int CHECK_INTERVAL = 1024;  // Nodes between clock checks; a power of two
+    private static final SearchStopped STOPPED = new SearchStopped();
+
+    // Transposition table, one array per field
+    private final long[] handKeys;
+    private final long[] deckKeys;
+    private final long[] scoreKeys;
+    private final int[] counterKeys;   // Hands << 16 | discards, EMPTY for a free slot
+    private final double[] values;
+    private final int[] work;          // Nodes searched to compute the value
+    private final int tableMask;
+
+    // Rules of the states in the table
+    private GameState rules;
+    private final int[] cardAt = new int[52];      // Packed card for each card index
+    private final long[] classOf = new long[52];   // Cards that can stand in for each card, by card index
+    private long target;
+
+    // Budget of the solve in progress
+    private long nodeLimit;
+    private long startNanos;
+    private long timeLimitNanos;
+    private volatile boolean cancelled;
+
+    private Frame[] frames = new Frame[0];  // Scratch arrays, by search depth
+    private int depth;
+
+    private long nodes;
+    private long evictions;
+
+    /**
+     * Creates a solver with the default table size.
+     */
+    public ClearProbabilitySolver() {
+        this(DEFAULT_MEMORY_BYTES);
+    }
+
+    /**
+     * Creates a solver whose transposition table fits in the given memory.
+     * @param maxMemoryBytes The most memory the table may use.
+     */
+    public ClearProbabilitySolver(long maxMemoryBytes) {
+        long entries = Math.max(2, maxMemoryBytes / ENTRY_BYTES);
+        int size = (int) Long.highestOneBit(Math.min(entries, 1L << 30));
+        this.handKeys = new long[size];
+        this.deckKeys = new long[size];
+        this.scoreKeys = new long[size];
+        this.counterKeys = new int[size];
+        this.values = new double[size];
+        this.work = new int[size];
+        this.tableMask = size - 1;
+        Arrays.fill(counterKeys, EMPTY);
+    }
+
+    /**
+     * Computes the probability of clearing the blind from a state, however long it takes.
+     * @param state The state.
+     * @return The probability, from 0 to 1, of clearing the blind with optimal play, or NaN if
+     *         the solve was cancelled.
+     * @throws IllegalArgumentException If two cards in the hand and deck share a card index.
+     */
+    public double solve(GameState state) {
+        return solve(state, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Computes the probability of clearing the blind from a state within a budget. The table is
+     * kept between calls for states with the same rules, so solving successive states of one blind
+     * gets cheaper, and a solve that ran out of budget can be continued by solving again.
+     * @param state The state.
+     * @param maxNodes The most states to search.
+     * @param maxMillis The most time to search for.
+     * @return The probability, from 0 to 1, of clearing the blind with optimal play, or NaN if
+     *         the budget ran out or the solve was cancelled first.
+     * @throws IllegalArgumentException If two cards in the hand and deck share a card index.
+     */
+    public double solve(GameState state, long maxNodes, long maxMillis) {
+        long hand = 0;
+        long deck = 0;
+        int[] cards = new int[52];
+        for (int i = 0; i < state.getHandSize(); i++) {
+            hand = addCard(hand | deck, hand, state.getCard(i), cards);
+        }
+        for (int i = 0; i < state.getDeckRemaining(); i++) {
+            deck = addCard(hand | deck, deck, state.getDeckCard(i), cards);
+        }
+
+        // Entries are only valid for the rules and cards they were computed with
+        if (rules == null || !rules.hasSameRules(state) || !sameCards(cards, hand | deck)) {
+            clear();
+        }
+        rules = state;
+        target = state.getTarget();
+        for (long bits = hand | deck; bits != 0; bits &= bits - 1) {
+            int index = Long.numberOfTrailingZeros(bits);
+            cardAt[index] = cards[index];
+        }
+        classify(hand | deck, state);
+
+        nodeLimit = maxNodes == Long.MAX_VALUE ? Long.MAX_VALUE : nodes + maxNodes;
+        startNanos = System.nanoTime();
+        timeLimitNanos = maxMillis >= Long.MAX_VALUE / 1_000_000L ? Long.MAX_VALUE : maxMillis * 1_000_000L;
+        cancelled = false;
+        depth = 0;
+        try {
+            return value(hand, deck, state.getScore(), state.getHands(), state.getDiscards());
+        } catch (SearchStopped stopped) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Stops the solve running on another thread, which then returns NaN. Has no effect on solves
+     * started afterwards.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private static long addCard(long seen, long set, int card, int[] cards) {
+        long bit = PackedCard.bit(card);
+        if ((seen & bit) != 0) {
+            throw new IllegalArgumentException("Duplicate card index " + PackedCard.index(card));
+        }
+        cards[PackedCard.index(card)] = card;
+        return set | bit;
+    }
+
+    private boolean sameCards(int[] cards, long present) {
+        for (long bits = present; bits != 0; bits &= bits - 1) {
+            int index = Long.numberOfTrailingZeros(bits);
+            if (cardAt[index] != 0 && cardAt[index] != cards[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Groups the cards into classes of cards that can stand in for each other. A suit that can't
+     * make a flush and isn't counted by a joker stays unable to for the rest of the blind, since
+     * cards only ever leave the hand and deck, so the classes hold for every state below this one.
+     */
+    private void classify(long present, GameState state) {
+        Joker[] jokers = state.getJokers();
+        boolean[] deadSuit = new boolean[4];
+        for (int suit = 0; suit < 4; suit++) {
+            deadSuit[suit] = Long.bitCount(present & PackedCard.suitMask(suit)) < 5;
+            for (Joker joker : jokers) {
+                deadSuit[suit] &= !(joker.isActive() && joker.dependsOnSuit(suit));
+            }
+        }
+        BossEffect bossEffect = state.getBossEffect();
+        Arrays.fill(classOf, 0);
+        for (long bits = present; bits != 0; bits &= bits - 1) {
+            int index = Long.numberOfTrailingZeros(bits);
+            if (classOf[index] != 0) {
+                continue;
+            }
+            int key = classKey(cardAt[index], deadSuit, bossEffect);
+            long members = 0;
+            for (long rest = bits; rest != 0; rest &= rest - 1) {
+                int other = Long.numberOfTrailingZeros(rest);
+                if (classKey(cardAt[other], deadSuit, bossEffect) == key) {
+                    members |= 1L << other;
+                }
+            }
+            for (long rest = members; rest != 0; rest &= rest - 1) {
+                classOf[Long.numberOfTrailingZeros(rest)] = members;
+            }
+        }
+    }
+
+    /**
+     * Gets what decides how a card scores: rank, modifiers, debuff, and suit unless it's dead.
+     */
+    private static int classKey(int card, boolean[] deadSuit, BossEffect bossEffect) {
+        int suit = PackedCard.suit(card);
+        int key = PackedCard.rank(card) | (deadSuit[suit] ? 4 : suit) << 4;
+        key |= (bossEffect.isDebuffed(card) ? 1 : 0) << 7;
+        return key | (PackedCard.enhancement(card) << 8) | (PackedCard.edition(card) << 10)
+            | (PackedCard.seal(card) << 12);
+    }
+
+    /**
+     * Empties the transposition table.
+     */
+    public void clear() {
+        Arrays.fill(counterKeys, EMPTY);
+        Arrays.fill(cardAt, 0);
+        rules = null;
+    }
+
+    /**
+     * Gets the number of states searched since the solver was created.
+     * @return The node count.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the number of table entries evicted to make room for new ones.
+     * @return The eviction count.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public int getTableCapacity() {
+        return tableMask + 1;
+    }
+
+    /**
+     * Computes the probability of clearing the blind from a decision point.
+     */
+    private double value(long hand, long deck, long score, int hands, int discards) {
+        if (score >= target) return 1;
+        if (hands <= 0) return 0;
+
+        int counters = (hands << 16) | discards;
+        int slot = (int) mix(hand, deck, score, counters) & tableMask & ~1;
+        for (int i = slot; i < slot + 2; i++) {
+            if (counterKeys[i] == counters && handKeys[i] == hand && deckKeys[i] == deck && scoreKeys[i] == score) {
+                return values[i];
+            }
+        }
+        if (nodes >= nodeLimit || cancelled
+                || ((nodes & (CHECK_INTERVAL - 1)) == 0 && System.nanoTime() - startNanos > timeLimitNanos)) {
+            throw STOPPED;
+        }
+        long startNodes = nodes++;
+
+        Frame frame = frame(depth++, Long.bitCount(hand));
+        double best = decide(frame, hand, deck, score, hands, discards);
+        depth--;
+        return store(slot, hand, deck, score, counters, best, startNodes);
+    }
+
+    /**
+     * Finds the best play or discard from a decision point, with the scratch arrays of its depth.
+     */
+    private double decide(Frame frame, long hand, long deck, long score, int hands, int discards) {
+        int[] cards = frame.cards;
+        long[] bits = frame.bits;
+        long[] playScores = frame.playScores;
+        int n = 0;
+        for (long rest = hand; rest != 0; rest &= rest - 1) {
+            bits[n] = Long.lowestOneBit(rest);
+            cards[n++] = cardAt[Long.numberOfTrailingZeros(rest)];
+        }
+
+        // A play that clears the blind now can't be beaten
+        BossEffect bossEffect = rules.getBossEffect();
+        for (int mask = 1; mask < (1 << n); mask++) {
+            int count = Integer.bitCount(mask);
+            if (count <= GameState.MAX_PLAY_SIZE && bossEffect.allowsPlay(count)) {
+                playScores[mask] = ScoreMath.add(score, rules.scoreCards(cards, mask, discards));
+                if (playScores[mask] >= target) {
+                    return 1;
+                }
+            }
+        }
+
+        double best = 0;
+        if (hands > 1) {
+            for (int mask = 1; mask < (1 << n) && best < 1; mask++) {
+                int count = Integer.bitCount(mask);
+                if (count <= GameState.MAX_PLAY_SIZE && bossEffect.allowsPlay(count)) {
+                    long played = select(bits, mask);
+                    best = Math.max(best, refill(frame, hand & ~played, deck, count,
+                        playScores[mask], hands - 1, discards, best));
+                }
+            }
+        }
+        if (discards > 0) {
+            for (int mask = 1; mask < (1 << n) && best < 1; mask++) {
+                if (Integer.bitCount(mask) <= GameState.MAX_PLAY_SIZE) {
+                    long discarded = select(bits, mask);
+                    best = Math.max(best, refill(frame, hand & ~discarded, deck, Integer.bitCount(mask),
+                        score, hands, discards - 1, best));
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Averages the value over every way of drawing cards from the deck into a hand, one outcome
+     * per number of cards drawn from each class. Stops early and returns an upper bound once the
+     * average can no longer exceed the given bound.
+     */
+    private double refill(Frame frame, long kept, long deck, int count, long score, int hands,
+                          int discards, double bound) {
+        int size = Long.bitCount(deck);
+        int draws = Math.min(count, size);
+        if (draws == 0) {
+            return value(kept, deck, score, hands, discards);
+        }
+
+        // The deck's cards of each class, and how many cards the classes from each one on hold
+        int classes = 0;
+        for (long rest = deck; rest != 0; ) {
+            long members = classOf[Long.numberOfTrailingZeros(rest)] & deck;
+            frame.classes[classes++] = members;
+            rest &= ~members;
+        }
+        frame.remaining[classes] = 0;
+        for (int i = classes - 1; i >= 0; i--) {
+            frame.remaining[i] = frame.remaining[i + 1] + Long.bitCount(frame.classes[i]);
+        }
+
+        frame.kept = kept;
+        frame.deck = deck;
+        frame.score = score;
+        frame.hands = hands;
+        frame.discards = discards;
+        frame.outcomes = Combinatorics.combinations(size, draws);
+        frame.sum = 0;
+        frame.left = frame.outcomes;
+        frame.bound = bound;
+        frame.cut = false;
+        compose(frame, 0, draws, 0, 1);
+        return frame.cut ? (frame.sum + frame.left) / frame.outcomes : frame.sum / frame.outcomes;
+    }
+
+    /**
+     * Chooses how many cards to draw from each class from the given one on, adding the value of
+     * each complete draw to the frame's sum, weighted by the number of card draws it stands for.
+     */
+    private void compose(Frame frame, int classIndex, int draws, long drawn, double weight) {
+        if (draws == 0) {
+            frame.sum += weight * value(frame.kept | drawn, frame.deck & ~drawn, frame.score,
+                frame.hands, frame.discards);
+            frame.left -= weight;
+            if ((frame.sum + frame.left) / frame.outcomes <= frame.bound) {
+                frame.cut = true;  // Even winning every remaining refill isn't enough
+            }
+            return;
+        }
+        long members = frame.classes[classIndex];
+        int n = Long.bitCount(members);
+        int min = Math.max(0, draws - frame.remaining[classIndex + 1]);
+        int max = Math.min(n, draws);
+        long taken = 0;
+        for (int t = 0; t < min; t++) {
+            taken |= Long.lowestOneBit(members & ~taken);
+        }
+        for (int t = min; t <= max && !frame.cut; t++) {
+            compose(frame, classIndex + 1, draws - t, drawn | taken, weight * Combinatorics.combinations(n, t));
+            taken |= Long.lowestOneBit(members & ~taken);
+        }
+    }
+
+    /**
+     * Gets the scratch arrays for a search depth, creating them the first time the depth is reached.
+     */
+    private Frame frame(int depth, int handSize) {
+        if (depth == frames.length) {
+            frames = Arrays.copyOf(frames, depth + 1);
+        }
+        Frame frame = frames[depth];
+        if (frame == null || frame.cards.length < handSize) {
+            frame = new Frame(Math.max(handSize, Hand.MAX_HAND_SIZE));
+            frames[depth] = frame;
+        }
+        return frame;
+    }
+
+    private static long select(long[] bits, int mask) {
+        long selected = 0;
+        for (int rest = mask; rest != 0; rest &= rest - 1) {
+            selected |= bits[Integer.numberOfTrailingZeros(rest)];
+        }
+        return selected;
+    }
+
+    /**
+     * Stores a value in a bucket, evicting the entry that took less work if both slots are taken.
+     */
+    private double store(int slot, long hand, long deck, long score, int counters, double value, long startNodes) {
+        int nodeWork = (int) Math.min(Integer.MAX_VALUE, nodes - startNodes);
+        int i;
+        if (counterKeys[slot] == EMPTY) {
+            i = slot;
+        } else if (counterKeys[slot + 1] == EMPTY) {
+            i = slot + 1;
+        } else {
+            i = work[slot] <= work[slot + 1] ? slot : slot + 1;
+            if (work[i] > nodeWork) {
+                return value;  // Both entries were more expensive to compute; keep them
+            }
+            evictions++;
+        }
+        handKeys[i] = hand;
+        deckKeys[i] = deck;
+        scoreKeys[i] = score;
+        counterKeys[i] = counters;
+        values[i] = value;
+        work[i] = nodeWork;
+        return value;
+    }
+
+    private static long mix(long hand, long deck, long score, int counters) {
+        long h = hand * 0x9E3779B97F4A7C15L;
+        h = (h ^ deck ^ (h >>> 29)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ score ^ (h >>> 32)) * 0x94D049BB133111EBL;
+        h ^= counters;
+        return h ^ (h >>> 31);
+    }
+
+    /**
+     * The scratch arrays of one search depth: the hand being decided on, and the refill being
+     * enumerated from it.
+     */
+    private static final class Frame {
+        final int[] cards;          // Packed cards in hand
+        final long[] bits;          // Card mask bit of each card in hand
+        final long[] playScores;    // Score after each play, by hand mask
+        final long[] classes = new long[52];    // Deck cards of each class in the deck
+        final int[] remaining = new int[53];    // Deck cards in classes[i] and after
+        long kept;
+        long deck;
+        long score;
+        int hands;
+        int discards;
+        double outcomes;            // Card draws in the refill
+        double sum;                 // Value of the draws enumerated, weighted
+        double left;                // Card draws not enumerated yet
+        double bound;
+        boolean cut;                // The refill can't beat the bound any more
+
+        Frame(int handSize) {
+            this.cards = new int[handSize];
+            this.bits = new long[handSize];
+            this.playScores = new long[1 << handSize];
+        }
+    }
+
+    /**
+     * Unwinds the search when the budget runs out. One instance without a stack trace is reused,
+     * so stopping costs nothing.
+     */
+    private static final class SearchStopped extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        SearchStopped() {
+            super(null, null, false, false);
+        }
+    }
+}
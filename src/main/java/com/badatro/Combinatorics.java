@@ -0,0 +1,41 @@
+package com.badatro;
+
+/**
+ * Counting and enumeration helpers shared by the draw analyses.
+ */
+final class Combinatorics {
+    private Combinatorics() {
+    }
+
+    /**
+     * Counts the ways to choose k of n items, saturating at Long.MAX_VALUE.
+     * @param n The number of items.
+     * @param k The number to choose.
+     * @return The binomial coefficient, or 0 when k is negative or more than n.
+     */
+    static long combinations(int n, int k) {
+        if (k < 0 || k > n) {
+            return 0;
+        }
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            if (result > Long.MAX_VALUE / (n - k + i)) {
+                return Long.MAX_VALUE;
+            }
+            result = result * (n - k + i) / i;  // Exact: the product of i consecutive numbers divides by i!
+        }
+        return result;
+    }
+
+    /**
+     * Gets the next larger number with the same number of set bits (Gosper's hack). Starting from
+     * (1 << k) - 1, this walks every k-element subset of the low bits in increasing order.
+     * @param bits A non-zero bit set.
+     * @return The next bit set of the same size.
+     */
+    static long nextCombination(long bits) {
+        long lowest = bits & -bits;
+        long ripple = bits + lowest;
+        return ripple | (((bits ^ ripple) >>> 2) / lowest);
+    }
+}
@@ -1,27 +1,43 @@
 package com.badatro;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Set;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Represents a deck of playing cards, including shuffling, drawing, and tracking used cards.
+ * Cards are kept as packed ints (see PackedCard), so a card's modifiers stay with it for the run.
+ * The deck keeps every card it holds, drawn or not, so it can be reset in place between blinds.
+ * Counts of the cards left by rank and by suit, and a mask of them, are kept up to date on every
+ * draw and return, so odds calculations can read them without copying the deck.
  */
 public class Deck {
-    private List<Card> cards;
-    private Set<String> usedCards;  // Track used cards by their string representation
-    
+    private int[] cards;             // Packed; drawn cards first, then the cards left to draw
+    private int size;                // Cards in the deck, drawn or not
+    private final Random random;     // The run's random stream
+    private int top;                 // Index of the next card to draw
+    private long usedCards;          // Drawn or added cards, as a card mask (see PackedCard.index)
+    private long remainingCards;     // Cards left to draw, as a card mask
+    private final int[] rankCounts = new int[13];  // Cards left by rank, indexed by rank - 2
+    private final int[] suitCounts = new int[4];   // Cards left by suit
+
     /**
-     * Constructs a new deck and initializes it with cards.
+     * Constructs a new deck with its own random stream.
      */
     public Deck() {
-        cards = new ArrayList<>();
-        usedCards = new HashSet<>();
+        this(new Random());
+    }
+
+    /**
+     * Constructs a new deck that shuffles with the given random stream.
+     * @param random The random stream, usually the run's.
+     */
+    public Deck(Random random) {
+        this.cards = new int[52];
+        this.random = random;
         initializeDeck();
     }
-    
+
     /**
      * Initializes the deck with all standard cards and shuffles them.
      */
@@ -29,89 +45,223 @@ public class Deck {
         // 0: Hearts, 1: Diamonds, 2: Clubs, 3: Spades
         for (int suit = 0; suit < 4; suit++) {
             for (int rank = 2; rank <= 14; rank++) {
-                cards.add(new Card(rank, suit));
+                int card = PackedCard.of(rank, suit);
+                cards[size++] = card;
+                count(card, 1);
             }
         }
-        
+
         shuffle();
     }
-    
+
     /**
-     * Shuffles the deck of cards.
+     * Shuffles the cards left to draw.
      */
     public void shuffle() {
-        Collections.shuffle(cards);
+        // Fisher-Yates over the undrawn part, in place
+        for (int i = size - 1; i > top; i--) {
+            swap(i, top + random.nextInt(i - top + 1));
+        }
+    }
+
+    private void swap(int i, int j) {
+        int card = cards[i];
+        cards[i] = cards[j];
+        cards[j] = card;
     }
-    
+
     /**
      * Draws a card from the top of the deck.
-     * @return The drawn card, or null if the deck is empty.
+     * @return The drawn packed card, or PackedCard.NONE if the deck is empty.
      */
-    public Card drawCard() {
-        if (cards.isEmpty()) {
-            return null;
+    public int drawCard() {
+        if (top >= size) {
+            return PackedCard.NONE;
         }
-        Card card = cards.remove(0);
-        usedCards.add(card.toString());  // Track the drawn card
+        int card = cards[top++];
+        usedCards |= PackedCard.bit(card);  // Track the drawn card
+        count(card, -1);
         return card;
     }
-    
+
+    /**
+     * Adds a card to the bottom of the deck if it hasn't been used yet.
+     * @param card The packed card to add.
+     */
+    public void addCard(int card) {
+        long bit = PackedCard.bit(card);
+        if ((usedCards & bit) == 0) {
+            if (size == cards.length) {
+                cards = Arrays.copyOf(cards, size * 2);
+            }
+            cards[size++] = card;
+            usedCards |= bit;
+            count(card, 1);
+        }
+    }
+
+    /**
+     * Puts a drawn card back on top of the deck, so it's the next card drawn, and removes it from
+     * the used cards. The order of the other cards left to draw doesn't change.
+     * @param card The packed card to return; its modifiers are ignored.
+     */
+    public void returnCard(int card) {
+        int index = PackedCard.index(card);
+        for (int i = 0; i < top; i++) {
+            if (PackedCard.index(cards[i]) == index) {
+                // Swap it with the last drawn card, just above the cards left to draw
+                swap(i, --top);
+                usedCards &= ~PackedCard.bit(card);
+                count(cards[top], 1);
+                return;
+            }
+        }
+    }
+
     /**
-     * Adds a card to the deck if it hasn't been used yet.
-     * @param card The card to add.
+     * Updates the counters for a card entering (1) or leaving (-1) the cards left to draw.
      */
-    public void addCard(Card card) {
-        if (!usedCards.contains(card.toString())) {
-            cards.add(card);
-            usedCards.add(card.toString());
+    private void count(int card, int delta) {
+        rankCounts[PackedCard.rank(card) - 2] += delta;
+        suitCounts[PackedCard.suit(card)] += delta;
+        if (delta > 0) {
+            remainingCards |= PackedCard.bit(card);
+        } else {
+            remainingCards &= ~PackedCard.bit(card);
         }
     }
-    
+
+    /**
+     * Gets the number of cards of a rank left to draw.
+     * @param rank The rank (2-14, where 14 is Ace).
+     * @return The number of cards.
+     */
+    public int getRankCount(int rank) {
+        return rankCounts[rank - 2];
+    }
+
     /**
-     * Returns a card to the deck, removing it from the used cards set.
-     * @param card The card to return.
+     * Gets the number of cards of a suit left to draw.
+     * @param suit The suit (0: Hearts, 1: Diamonds, 2: Clubs, 3: Spades).
+     * @return The number of cards.
      */
-    public void returnCard(Card card) {
-        usedCards.remove(card.toString());  // Remove from used cards when returned
+    public int getSuitCount(int suit) {
+        return suitCounts[suit];
     }
-    
+
+    /**
+     * Gets the cards left to draw.
+     * @return A card mask (see PackedCard.index).
+     */
+    public long getRemainingMask() {
+        return remainingCards;
+    }
+
+    /**
+     * Checks if a card of the given rank and suit is left to draw.
+     * @param rank The rank (2-14, where 14 is Ace).
+     * @param suit The suit.
+     * @return True if the card is still in the deck.
+     */
+    public boolean hasCard(int rank, int suit) {
+        return (remainingCards & (1L << (suit * 13 + rank - 2))) != 0;
+    }
+
     /**
      * Gets the number of remaining cards in the deck.
      * @return The number of remaining cards.
      */
     public int getRemainingCards() {
-        return cards.size();
+        return size - top;
+    }
+
+    /**
+     * Gets the number of cards in the deck, drawn or not.
+     * @return The number of cards.
+     */
+    public int getSize() {
+        return size;
     }
-    
+
     /**
      * Checks if the deck is empty.
      * @return True if the deck is empty, false otherwise.
      */
     public boolean isEmpty() {
-        return cards.isEmpty();
+        return top >= size;
     }
-    
+
     /**
-     * Gets a copy of the list of cards in the deck.
-     * @return A list of cards in the deck.
+     * Gets a card left to draw without copying the deck.
+     * @param index The position from the top of the deck, 0 being the next card drawn.
+     * @return The packed card, or PackedCard.NONE if the index is out of range.
      */
-    public List<Card> getCards() {
-        return new ArrayList<>(cards);  // Return a copy to prevent external modification
+    public int getCard(int index) {
+        if (index >= 0 && index < getRemainingCards()) {
+            return cards[top + index];
+        }
+        return PackedCard.NONE;
     }
-    
+
+    /**
+     * Gets a copy of the cards left to draw.
+     * @return The packed cards, in draw order.
+     */
+    public int[] getCards() {
+        return Arrays.copyOfRange(cards, top, size);
+    }
+
     /**
      * Checks if a card has already been used.
-     * @param card The card to check.
+     * @param card The packed card to check; its modifiers are ignored.
      * @return True if the card is used, false otherwise.
      */
-    public boolean isCardUsed(Card card) {
-        return usedCards.contains(card.toString());
+    public boolean isCardUsed(int card) {
+        return (usedCards & PackedCard.bit(card)) != 0;
     }
-    
+
     /**
-     * Resets the deck by creating a new set of cards and shuffling them.
+     * Changes random cards of the deck, drawn or not, for the rest of the run. Only cards the
+     * change affects are picked; they keep their rank, suit and place in the deck. Meant for
+     * between blinds, since copies of the cards already in a hand don't change.
+     * @param count The number of cards to change.
+     * @param modifier Maps a packed card to the changed card, of the same rank and suit.
+     * @return The number of cards changed, less than count if too few cards could change.
+     */
+    public int modifyRandomCards(int count, IntUnaryOperator modifier) {
+        int[] candidates = new int[size];  // Positions of the cards the change affects
+        int found = 0;
+        for (int i = 0; i < size; i++) {
+            int changed = modifier.applyAsInt(cards[i]);
+            if (PackedCard.index(changed) != PackedCard.index(cards[i])) {
+                throw new IllegalArgumentException("A modifier can't change a card's rank or suit");
+            }
+            if (changed != cards[i]) {
+                candidates[found++] = i;
+            }
+        }
+
+        // Pick without repeats by shuffling the front of the candidates
+        int picked = Math.min(count, found);
+        for (int i = 0; i < picked; i++) {
+            int j = i + random.nextInt(found - i);
+            int position = candidates[j];
+            candidates[j] = candidates[i];
+            cards[position] = modifier.applyAsInt(cards[position]);
+        }
+        return picked;
+    }
+
+    /**
+     * Resets the deck in place: every card comes back and the whole deck is reshuffled with the
+     * deck's random stream. Nothing is allocated.
      */
     public void reset() {
-        // Implementation needed
+        for (int i = 0; i < top; i++) {
+            count(cards[i], 1);
+        }
+        top = 0;
+        usedCards = 0;
+        shuffle();
     }
-} 
\ No newline at end of file
+}
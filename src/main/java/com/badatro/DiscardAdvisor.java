@@ -0,0 +1,230 @@
+package com.badatro;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Suggests which cards to discard. For every possible discard it estimates the expected score of
+ * the best play from the refilled hand, with the same refill rules as GameEngine.discardCards:
+ * kept cards stay, and as many cards as were discarded are drawn from the cards left in the deck.
+ *
+ * When a discard can be refilled in few enough ways every refill is scored; otherwise refills are
+ * sampled in rounds until the time budget runs out. An enumeration that runs past the budget is
+ * dropped and the discard is sampled instead. Candidates are evaluated in parallel. The advisor
+ * only reads a GameState, so it never changes the live game, and it can run off the FX thread.
+ */
+public class DiscardAdvisor {
+    /** The default time budget for one call to advise. */
+    public static final long DEFAULT_BUDGET_MILLIS = 100;
+
+    private static final int DEFAULT_EXACT_LIMIT = 64;     // Enumerate refills when there are at most this many
+    private static final int DEFAULT_MAX_SAMPLES = 4000;   // Stop sampling a candidate after this many refills
+    private static final int MIN_SAMPLES = 16;             // Keep sampling past the deadline until this many
+    private static final int SAMPLE_ROUND = 8;             // Refills added to every candidate per round
+
+    private final long budgetNanos;
+    private final int exactLimit;
+    private final int maxSamples;
+    private final long seed;
+
+    /**
+     * A suggested discard and its expected outcome.
+     */
+    public static class Suggestion {
+        private final int mask;              // Hand positions to discard
+        private final double expectedScore;  // Expected score of the best play after the discard
+        private final int refills;           // Refilled hands that were scored
+        private final boolean exact;         // True if every possible refill was scored
+
+        public Suggestion(int mask, double expectedScore, int refills, boolean exact) {
+            this.mask = mask;
+            this.expectedScore = expectedScore;
+            this.refills = refills;
+            this.exact = exact;
+        }
+
+        public int getMask() { return mask; }
+        public double getExpectedScore() { return expectedScore; }
+        public int getRefills() { return refills; }
+        public boolean isExact() { return exact; }
+
+        @Override
+        public String toString() {
+            return String.format("discard %s: %.1f (%s, %d refills)",
+                Integer.toBinaryString(mask), expectedScore, exact ? "exact" : "sampled", refills);
+        }
+    }
+
+    /**
+     * Creates an advisor with the default time budget.
+     */
+    public DiscardAdvisor() {
+        this(DEFAULT_BUDGET_MILLIS, DEFAULT_EXACT_LIMIT, DEFAULT_MAX_SAMPLES, 0x5EEDL);
+    }
+
+    /**
+     * Creates an advisor.
+     * @param budgetMillis The time budget for one call to advise.
+     * @param exactLimit Discards with at most this many possible refills are enumerated exactly.
+     * @param maxSamples The most refills sampled for one discard.
+     * @param seed The seed for sampling, so the same state always gets the same advice.
+     */
+    public DiscardAdvisor(long budgetMillis, int exactLimit, int maxSamples, long seed) {
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.exactLimit = exactLimit;
+        this.maxSamples = maxSamples;
+        this.seed = seed;
+    }
+
+    /**
+     * Ranks the possible discards of a state.
+     * @param state The state to advise on; it must have a discard left.
+     * @param count The number of suggestions to return.
+     * @return The best discards, highest expected score first.
+     */
+    public List<Suggestion> advise(GameState state, int count) {
+        if (state.getDiscards() <= 0 || state.getHands() <= 0) {
+            return new ArrayList<>();
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+
+        // Every non-empty selection of up to five cards, as the game screen allows
+        int handSize = state.getHandSize();
+        List<Estimate> estimates = new ArrayList<>();
+        for (int mask = 1; mask < (1 << handSize); mask++) {
+            if (Integer.bitCount(mask) <= GameState.MAX_PLAY_SIZE) {
+                estimates.add(new Estimate(state, mask));
+            }
+        }
+
+        // Small discards are enumerated once; the rest are sampled in rounds, so every candidate
+        // gets about the same number of refills however the budget falls
+        estimates.parallelStream().filter(e -> e.exact).forEach(e -> e.enumerate(deadline));
+        List<Estimate> sampled = estimates.stream().filter(e -> !e.exact).collect(Collectors.toList());
+        int target = 0;
+        while (!sampled.isEmpty() && target < maxSamples
+                && (target < MIN_SAMPLES || System.nanoTime() < deadline)) {
+            target = Math.min(maxSamples, target + SAMPLE_ROUND);
+            int roundTarget = target;
+            sampled.parallelStream().forEach(e -> e.sample(roundTarget));
+        }
+
+        return estimates.stream()
+            .map(Estimate::toSuggestion)
+            .sorted((a, b) -> Double.compare(b.getExpectedScore(), a.getExpectedScore()))
+            .limit(count)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * The running estimate for one discard. Each estimate is only touched by one thread at a time.
+     */
+    private class Estimate {
+        private final GameState state;
+        private final int mask;
+        private final int[] pool;          // Cards left in the deck; shuffled in place while sampling
+        private final int[] hand;          // Kept cards first, refills after them, as in GameState.discard
+        private final int kept;
+        private final int draws;
+        private final int discardsLeft;
+        private boolean exact;             // Cleared if enumerating runs out of time
+        private final SplittableRandom random;
+        private double total;
+        private int refills;
+
+        Estimate(GameState state, int mask) {
+            this.state = state;
+            this.mask = mask;
+            this.pool = new int[state.getDeckRemaining()];
+            for (int i = 0; i < pool.length; i++) {
+                pool[i] = state.getDeckCard(i);
+            }
+            int handSize = state.getHandSize();
+            this.kept = handSize - Integer.bitCount(mask);
+            this.draws = Math.min(Integer.bitCount(mask), pool.length);
+            this.hand = new int[kept + draws];
+            int size = 0;
+            for (int i = 0; i < handSize; i++) {
+                if ((mask & (1 << i)) == 0) {
+                    hand[size++] = state.getCard(i);
+                }
+            }
+            this.discardsLeft = state.getDiscards() - 1;
+            this.exact = Combinatorics.combinations(pool.length, draws) <= exactLimit;
+            this.random = new SplittableRandom(seed ^ (mask * 0x9E3779B97F4A7C15L));
+        }
+
+        /**
+         * Scores every possible refill, walking the sets of drawn cards with Gosper's hack. If the
+         * deadline passes first, the partial total is dropped, since the refills walked so far
+         * aren't a fair sample, and the discard is left to be sampled.
+         */
+        void enumerate(long deadline) {
+            long limit = 1L << pool.length;
+            for (long drawn = (1L << draws) - 1; drawn < limit; drawn = Combinatorics.nextCombination(drawn)) {
+                int slot = kept;
+                for (long bits = drawn; bits != 0; bits &= bits - 1) {
+                    hand[slot++] = pool[Long.numberOfTrailingZeros(bits)];
+                }
+                total += ScoreMath.toDouble(bestPlay(state, hand, discardsLeft));
+                refills++;
+                if (draws == 0) break;
+                if (System.nanoTime() > deadline && Combinatorics.nextCombination(drawn) < limit) {
+                    total = 0;
+                    refills = 0;
+                    exact = false;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Samples refills with a partial shuffle of the pool until the given number is reached.
+         */
+        void sample(int target) {
+            while (refills < target) {
+                for (int i = 0; i < draws; i++) {
+                    int j = i + random.nextInt(pool.length - i);
+                    int card = pool[j];
+                    pool[j] = pool[i];
+                    pool[i] = card;
+                    hand[kept + i] = card;
+                }
+                total += ScoreMath.toDouble(bestPlay(state, hand, discardsLeft));
+                refills++;
+            }
+        }
+
+        Suggestion toSuggestion() {
+            return new Suggestion(mask, refills > 0 ? total / refills : 0, refills, exact);
+        }
+    }
+
+    /**
+     * Finds the score of the best play from a hand, trying every play of every allowed size.
+     * A full play isn't always best: a high card only scores its highest card, so a glass 9
+     * played alone beats the same 9 played with an ace.
+     * @param state The state whose rules apply.
+     * @param hand The packed cards.
+     * @param discardsLeft The number of discards the player has left.
+     * @return The best score, as a packed score, or 0 if nothing can be played.
+     */
+    public static long bestPlay(GameState state, int[] hand, int discardsLeft) {
+        int required = state.getBossEffect().getRequiredPlaySize();
+        int minSize = required != 0 ? required : 1;
+        int maxSize = required != 0 ? required : Math.min(GameState.MAX_PLAY_SIZE, hand.length);
+        long best = 0;
+        int limit = 1 << hand.length;
+        for (int playSize = minSize; playSize <= maxSize && playSize <= hand.length; playSize++) {
+            for (int play = (1 << playSize) - 1; play < limit; play = (int) Combinatorics.nextCombination(play)) {
+                long score = state.scoreCards(hand, play, discardsLeft);
+                if (score > best) {
+                    best = score;  // Packed scores compare directly
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -1,57 +1,75 @@
 package com.badatro;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Represents a discard pile where cards are placed after being discarded.
+ * Cards are kept as packed ints (see PackedCard) in the order they were discarded.
  */
 public class DiscardPile {
-    private List<Card> cards;
+    private int[] cards;
+    private int size;
     
     /**
      * Constructs an empty discard pile.
      */
     public DiscardPile() {
-        this.cards = new ArrayList<>();
+        this.cards = new int[16];
     }
     
     /**
      * Adds a card to the discard pile.
-     * @param card The card to add.
+     * @param card The packed card to add.
      */
-    public void addCard(Card card) {
-        cards.add(card);
+    public void addCard(int card) {
+        if (size == cards.length) {
+            cards = Arrays.copyOf(cards, size * 2);
+        }
+        cards[size++] = card;
     }
     
     /**
      * Adds multiple cards to the discard pile.
-     * @param cards The list of cards to add.
+     * @param cards The packed cards to add.
      */
-    public void addCards(List<Card> cards) {
-        this.cards.addAll(cards);
+    public void addCards(int[] cards) {
+        for (int card : cards) {
+            addCard(card);
+        }
     }
     
     /**
-     * Gets a copy of the list of cards in the discard pile.
-     * @return A list of cards in the discard pile.
+     * Gets a copy of the cards in the discard pile.
+     * @return The packed cards, in the order they were discarded.
      */
-    public List<Card> getCards() {
-        return new ArrayList<>(cards);
+    public int[] getCards() {
+        return Arrays.copyOf(cards, size);
     }
     
     /**
-     * Clears all cards from the discard pile.
+     * Gets the card at the specified index.
+     * @param index The index of the card.
+     * @return The packed card at the index.
+     */
+    public int getCard(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return cards[index];
+    }
+    
+    /**
+     * Clears all cards from the discard pile. The buffer is kept.
      */
     public void clear() {
-        cards.clear();
+        size = 0;
     }
     
     public int getSize() {
-        return cards.size();
+        return size;
     }
     
     public boolean isEmpty() {
-        return cards.isEmpty();
+        return size == 0;
     }
-} 
\ No newline at end of file
+}
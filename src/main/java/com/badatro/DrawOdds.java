@@ -0,0 +1,354 @@
+package com.badatro;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Calculates the exact odds of each hand type after refilling a hand from the deck.
+ *
+ * Given the cards kept in hand and the cards left in the deck, every equally likely draw is
+ * enumerated depth first and the best hand type in the refilled hand is counted. Cards are 52-bit
+ * masks (see PackedCard.index), so each suit is a 13-bit rank mask and the best hand type of a
+ * set of cards is worked out with a few bit operations instead of trying every play. Results are
+ * memoized by kept cards, deck cards and draw count, so toggling a selection back and forth is
+ * free after the first time. A boss that fixes the number of cards played is respected: the odds
+ * are of the best hand that can be played with that many cards.
+ *
+ * A suit that can't reach five cards after the draw can't make a flush, so in such suits only the
+ * rank of a card matters. The deck's suit counters pick out these suits, and their cards are
+ * drawn by rank, weighting each draw by the number of ways to pick that many cards of the rank.
+ */
+public class DrawOdds {
+    /** The most results kept in the memo. */
+    public static final int CACHE_SIZE = 256;
+
+    private static final int SUIT_BITS = 0x1FFF;
+    private static final int ROYAL_RANKS = 0x1F << 8;  // 10, J, Q, K, A
+    private static final int WHEEL_RANKS = 0x100F;     // A, 2, 3, 4, 5
+
+    private final Map<Key, double[]> cache;
+
+    /**
+     * Creates a calculator with an empty memo.
+     */
+    public DrawOdds() {
+        this.cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, double[]> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * Calculates the odds for discarding the selected cards of a hand and drawing replacements,
+     * with the same refill rules as GameEngine.discardCards.
+     * @param hand The hand.
+     * @param selectMask Bit i set when the card at index i is discarded.
+     * @param deck The deck the replacements are drawn from.
+     * @param bossEffect The rules of the blind, for the number of cards a play must have.
+     * @return The probability of each hand type being the best in the refilled hand, indexed by
+     *         the HandEvaluator hand type constants.
+     */
+    public double[] calculate(Hand hand, int selectMask, Deck deck, BossEffect bossEffect) {
+        long kept = 0;
+        int discarded = 0;
+        for (int i = 0; i < hand.getSize(); i++) {
+            if ((selectMask & (1 << i)) != 0) {
+                discarded++;
+            } else {
+                kept |= PackedCard.bit(hand.getCard(i));
+            }
+        }
+        int[] suitCounts = new int[4];
+        for (int suit = 0; suit < 4; suit++) {
+            suitCounts[suit] = deck.getSuitCount(suit);
+        }
+        return calculate(kept, deck.getRemainingMask(), discarded, bossEffect.getRequiredPlaySize(), suitCounts);
+    }
+
+    /**
+     * Calculates the odds of each hand type after drawing cards from the deck.
+     * @param kept The cards kept in hand, as a card mask.
+     * @param deck The cards left in the deck, as a card mask.
+     * @param draws The number of cards drawn; capped at the deck size.
+     * @return The probability of each hand type being the best in the refilled hand, indexed by
+     *         the HandEvaluator hand type constants.
+     */
+    public double[] calculate(long kept, long deck, int draws) {
+        return calculate(kept, deck, draws, 0);
+    }
+
+    /**
+     * Calculates the odds of each hand type after drawing cards from the deck, when every play
+     * must have a given number of cards.
+     * @param kept The cards kept in hand, as a card mask.
+     * @param deck The cards left in the deck, as a card mask.
+     * @param draws The number of cards drawn; capped at the deck size.
+     * @param playSize The number of cards every play must have, or 0 for any number up to five.
+     * @return The probability of each hand type being the best in the refilled hand, indexed by
+     *         the HandEvaluator hand type constants.
+     */
+    public double[] calculate(long kept, long deck, int draws, int playSize) {
+        deck &= ~kept;
+        int[] suitCounts = new int[4];
+        for (int suit = 0; suit < 4; suit++) {
+            suitCounts[suit] = Long.bitCount(deck & PackedCard.suitMask(suit));
+        }
+        return calculate(kept, deck, draws, playSize, suitCounts);
+    }
+
+    /**
+     * Calculates the odds from the deck's suit counts, which must match the deck mask.
+     */
+    private double[] calculate(long kept, long deck, int draws, int playSize, int[] suitCounts) {
+        draws = Math.min(draws, Long.bitCount(deck));
+        Key key = new Key(kept, deck, draws, playSize);
+        double[] odds = cache.get(key);
+        if (odds == null) {
+            odds = enumerate(kept, deck, draws, playSize, deadSuits(kept, draws, playSize, suitCounts));
+            cache.put(key, odds);
+        }
+        return odds.clone();
+    }
+
+    /**
+     * Gets the suits that can't hold five cards after the draw, as a bit per suit. Every suit is
+     * dead when plays must be smaller than a flush.
+     */
+    private static int deadSuits(long kept, int draws, int playSize, int[] suitCounts) {
+        if (playSize > 0 && playSize < 5) {
+            return 0xF;
+        }
+        int dead = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            int most = Long.bitCount(kept & PackedCard.suitMask(suit)) + Math.min(suitCounts[suit], draws);
+            if (most < 5) {
+                dead |= 1 << suit;
+            }
+        }
+        return dead;
+    }
+
+    /**
+     * Calculates the chance of ending up with at least the given hand type.
+     * @param odds The result of calculate.
+     * @param handType One of the HandEvaluator hand type constants.
+     * @return The probability of that hand type or a better one.
+     */
+    public static double atLeast(double[] odds, int handType) {
+        double sum = 0;
+        for (int type = handType; type < odds.length; type++) {
+            sum += odds[type];
+        }
+        return sum;
+    }
+
+    /**
+     * Empties the memo, for example when a new run starts and the old decks won't come back.
+     * Results don't go stale, since they're keyed by the exact cards, so this only frees memory.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Enumerates every draw, one class of interchangeable cards at a time. A card in a live suit
+     * is a class of its own; the cards of one rank in the dead suits form one class.
+     */
+    private static double[] enumerate(long kept, long deck, int draws, int playSize, int deadSuits) {
+        long deadCards = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            if ((deadSuits & (1 << suit)) != 0) {
+                deadCards |= PackedCard.suitMask(suit);
+            }
+        }
+        long[][] classes = new long[Long.bitCount(deck)][];
+        int n = 0;
+        for (long rest = deck & ~deadCards; rest != 0; rest &= rest - 1) {
+            classes[n++] = new long[] {Long.lowestOneBit(rest)};
+        }
+        for (int rank = 2; rank <= 14; rank++) {
+            long members = deck & deadCards & PackedCard.rankMask(rank);
+            if (members != 0) {
+                long[] bits = new long[Long.bitCount(members)];
+                for (int i = 0; i < bits.length; i++, members &= members - 1) {
+                    bits[i] = Long.lowestOneBit(members);
+                }
+                classes[n++] = bits;
+            }
+        }
+        int[] left = new int[n + 1];  // Cards in classes[i..]
+        for (int i = n - 1; i >= 0; i--) {
+            left[i] = left[i + 1] + classes[i].length;
+        }
+
+        long[] counts = new long[HandEvaluator.ROYAL_FLUSH + 1];
+        long total = draw(kept, classes, left, 0, draws, playSize, 1, counts);
+        double[] odds = new double[counts.length];
+        for (int type = 0; type < counts.length; type++) {
+            odds[type] = (double) counts[type] / total;
+        }
+        return odds;
+    }
+
+    /**
+     * Draws the remaining cards from classes[from..] in every way, counting the best hand of each
+     * complete draw by the number of card draws it stands for. Returns the number of card draws
+     * counted.
+     */
+    private static long draw(long cards, long[][] classes, int[] left, int from, int draws, int playSize,
+                             long weight, long[] counts) {
+        if (draws == 0) {
+            counts[bestHandType(cards, playSize)] += weight;
+            return weight;
+        }
+        if (left[from] < draws) {
+            return 0;
+        }
+        long[] members = classes[from];
+        long total = 0;
+        long taken = cards;
+        for (int t = 0; t <= Math.min(members.length, draws); t++) {
+            if (t > 0) {
+                taken |= members[t - 1];  // Any t members score alike, so take the first t
+            }
+            total += draw(taken, classes, left, from + 1, draws - t, playSize,
+                weight * Combinatorics.combinations(members.length, t), counts);
+        }
+        return total;
+    }
+
+    /**
+     * Gets the best hand type that can be played from a set of cards, as HandEvaluator would
+     * score it for the best selection of up to five of them.
+     * @param cards The cards, as a card mask.
+     * @return One of the HandEvaluator hand type constants.
+     */
+    public static int bestHandType(long cards) {
+        int s0 = (int) cards & SUIT_BITS;
+        int s1 = (int) (cards >>> 13) & SUIT_BITS;
+        int s2 = (int) (cards >>> 26) & SUIT_BITS;
+        int s3 = (int) (cards >>> 39) & SUIT_BITS;
+
+        // Only a suit with five or more cards can hold a flush
+        int flushType = -1;
+        if (Integer.bitCount(s0) >= 5) flushType = Math.max(flushType, flushType(s0));
+        if (Integer.bitCount(s1) >= 5) flushType = Math.max(flushType, flushType(s1));
+        if (Integer.bitCount(s2) >= 5) flushType = Math.max(flushType, flushType(s2));
+        if (Integer.bitCount(s3) >= 5) flushType = Math.max(flushType, flushType(s3));
+        if (flushType > HandEvaluator.FLUSH) {
+            return flushType;
+        }
+
+        // Ranks held in at least two, three and four suits
+        int twos = (s0 & s1) | (s0 & s2) | (s0 & s3) | (s1 & s2) | (s1 & s3) | (s2 & s3);
+        int threes = (s0 & s1 & (s2 | s3)) | (s2 & s3 & (s0 | s1));
+        int fours = s0 & s1 & s2 & s3;
+        if (fours != 0) {
+            return HandEvaluator.FOUR_OF_A_KIND;
+        }
+        if (threes != 0 && Integer.bitCount(twos) >= 2) {
+            return HandEvaluator.FULL_HOUSE;
+        }
+        if (flushType == HandEvaluator.FLUSH) {
+            return HandEvaluator.FLUSH;
+        }
+        if (hasStraight(s0 | s1 | s2 | s3)) {
+            return HandEvaluator.STRAIGHT;
+        }
+        if (threes != 0) {
+            return HandEvaluator.THREE_OF_A_KIND;
+        }
+        if (Integer.bitCount(twos) >= 2) {
+            return HandEvaluator.TWO_PAIR;
+        }
+        return twos != 0 ? HandEvaluator.PAIR : HandEvaluator.HIGH_CARD;
+    }
+
+    /**
+     * Gets the best hand type that can be played from a set of cards when every play must have a
+     * given number of cards. A smaller hand can always be filled out to that size without making
+     * it worse, so only hands that need more cards are ruled out.
+     * @param cards The cards, as a card mask.
+     * @param playSize The number of cards every play must have, or 0 for any number up to five.
+     * @return One of the HandEvaluator hand type constants; HIGH_CARD when there are too few
+     *         cards to play at all.
+     */
+    public static int bestHandType(long cards, int playSize) {
+        if (playSize == 0 || playSize >= 5 && Long.bitCount(cards) >= playSize) {
+            return bestHandType(cards);
+        }
+        if (Long.bitCount(cards) < playSize || playSize < 2) {
+            return HandEvaluator.HIGH_CARD;
+        }
+        int s0 = (int) cards & SUIT_BITS;
+        int s1 = (int) (cards >>> 13) & SUIT_BITS;
+        int s2 = (int) (cards >>> 26) & SUIT_BITS;
+        int s3 = (int) (cards >>> 39) & SUIT_BITS;
+        int twos = (s0 & s1) | (s0 & s2) | (s0 & s3) | (s1 & s2) | (s1 & s3) | (s2 & s3);
+        int threes = (s0 & s1 & (s2 | s3)) | (s2 & s3 & (s0 | s1));
+        int fours = s0 & s1 & s2 & s3;
+        if (playSize >= 4 && fours != 0) {
+            return HandEvaluator.FOUR_OF_A_KIND;
+        }
+        if (playSize >= 3 && threes != 0) {
+            return HandEvaluator.THREE_OF_A_KIND;
+        }
+        if (playSize >= 4 && Integer.bitCount(twos) >= 2) {
+            return HandEvaluator.TWO_PAIR;
+        }
+        return twos != 0 ? HandEvaluator.PAIR : HandEvaluator.HIGH_CARD;
+    }
+
+    /**
+     * Gets the best flush type in one suit's rank bits, which must hold at least five cards.
+     */
+    private static int flushType(int ranks) {
+        if ((ranks & ROYAL_RANKS) == ROYAL_RANKS) {
+            return HandEvaluator.ROYAL_FLUSH;
+        }
+        return hasStraight(ranks) ? HandEvaluator.STRAIGHT_FLUSH : HandEvaluator.FLUSH;
+    }
+
+    /**
+     * Checks if rank bits (bit 0 for a 2) hold five consecutive ranks, counting the ace low.
+     */
+    private static boolean hasStraight(int ranks) {
+        return (ranks & (ranks >>> 1) & (ranks >>> 2) & (ranks >>> 3) & (ranks >>> 4)) != 0
+            || (ranks & WHEEL_RANKS) == WHEEL_RANKS;
+    }
+
+    /**
+     * Memo key: the cards kept, the cards in the deck, how many are drawn and the play size.
+     */
+    private static final class Key {
+        private final long kept;
+        private final long deck;
+        private final int draws;
+        private final int playSize;
+
+        Key(long kept, long deck, int draws, int playSize) {
+            this.kept = kept;
+            this.deck = deck;
+            this.draws = draws;
+            this.playSize = playSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return kept == other.kept && deck == other.deck && draws == other.draws
+                && playSize == other.playSize;
+        }
+
+        @Override
+        public int hashCode() {
+            long h = kept * 0x9E3779B97F4A7C15L ^ deck * 0xBF58476D1CE4E5B9L ^ draws ^ playSize << 8;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
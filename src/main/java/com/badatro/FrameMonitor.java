@@ -0,0 +1,240 @@
+package com.badatro;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Insets;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Measures the time between JavaFX pulses and shows a summary in a panel over the main window.
+ * Frame times go into a fixed histogram of 1 ms buckets, and frames slower than
+ * SLOW_FRAME_MILLIS are kept, up to a limit, with the Activity marks set while they ran, to tell
+ * whether a stutter came from scoring, a screen switch, a weather fetch or image decoding. The
+ * results can be exported to a CSV file to compare runs.
+ *
+ * The monitor is off unless the game is run with -Dbadatro.frameMonitor=true.
+ */
+public class FrameMonitor {
+    public static final int BUCKETS = 100;  // 1 ms each, then one overflow slot for slower frames
+    public static final int SLOW_FRAME_MILLIS = 25;
+    private static final int SLOW_FRAMES_KEPT = 256;
+    private static final long SUMMARY_INTERVAL = 500_000_000L;  // Nanoseconds between summary updates
+
+    private final long[] histogram;
+
+    // The latest slow frames, in a ring: when each ended, how long it took and what ran in it
+    private final long[] slowEnds;
+    private final long[] slowNanos;
+    private final int[] slowMarks;
+    private int slowCount;
+
+    private long frames;
+    private long totalNanos;
+    private long maxNanos;
+    private long lastPulse;
+    private long lastSummary;
+
+    private final AnimationTimer timer;
+    private final Label summaryLabel;
+    private final Label statusLabel;
+    private final OverlayPanel panel;
+
+    /**
+     * Creates a stopped monitor with its panel in the router's overlay layer.
+     * @param router The router whose overlay layer holds the panel.
+     */
+    public FrameMonitor(ScreenRouter router) {
+        this.histogram = new long[BUCKETS + 1];
+        this.slowEnds = new long[SLOW_FRAMES_KEPT];
+        this.slowNanos = new long[SLOW_FRAMES_KEPT];
+        this.slowMarks = new int[SLOW_FRAMES_KEPT];
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onPulse(now);
+            }
+        };
+
+        summaryLabel = new Label();
+        summaryLabel.setStyle("-fx-text-fill: white; -fx-font-family: monospace;");
+        statusLabel = new Label();
+        statusLabel.setStyle("-fx-text-fill: #BDC3C7;");
+        Button exportButton = new Button("Export");
+        exportButton.setOnAction(e -> exportToFile());
+        Button resetButton = new Button("Reset");
+        resetButton.setOnAction(e -> reset());
+
+        VBox root = new VBox(5, summaryLabel, new HBox(5, exportButton, resetButton), statusLabel);
+        root.setPadding(new Insets(8));
+        root.setStyle("-fx-background-color: rgba(0, 0, 0, 0.8);");
+        this.panel = new OverlayPanel("Frame Times", root, 10, ScreenRouter.HEIGHT - 190);
+        router.addOverlay(panel);
+    }
+
+    /**
+     * Checks whether the game was run with the monitor turned on.
+     * @return True if -Dbadatro.frameMonitor=true was given.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("badatro.frameMonitor");
+    }
+
+    /**
+     * Starts recording and shows the panel.
+     */
+    public void start() {
+        lastPulse = 0;
+        Activity.drain();
+        timer.start();
+        panel.show();
+    }
+
+    /**
+     * Stops recording and hides the panel.
+     */
+    public void stop() {
+        timer.stop();
+        panel.hide();
+    }
+
+    private void onPulse(long now) {
+        int marks = Activity.drain();
+        if (lastPulse != 0) {
+            record(now - lastPulse, marks);
+        }
+        lastPulse = now;
+
+        // Updating the summary is UI work of its own, so it's done twice a second, not every frame
+        if (now - lastSummary >= SUMMARY_INTERVAL) {
+            lastSummary = now;
+            summaryLabel.setText(summary());
+        }
+    }
+
+    /**
+     * Records one frame.
+     * @param nanos The time since the previous pulse.
+     * @param marks The activities marked during the frame.
+     */
+    private void record(long nanos, int marks) {
+        histogram[(int) Math.min(nanos / 1_000_000L, BUCKETS)]++;
+        frames++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+        if (nanos >= SLOW_FRAME_MILLIS * 1_000_000L) {
+            int slot = slowCount % SLOW_FRAMES_KEPT;
+            slowEnds[slot] = System.currentTimeMillis();
+            slowNanos[slot] = nanos;
+            slowMarks[slot] = marks;
+            slowCount++;
+        }
+    }
+
+    /**
+     * Clears everything recorded so far.
+     */
+    public void reset() {
+        Arrays.fill(histogram, 0);
+        slowCount = 0;
+        frames = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+        lastPulse = 0;
+        summaryLabel.setText(summary());
+        statusLabel.setText("");
+    }
+
+    /**
+     * Gets the frame time that a share of the frames took at most, to the bucket.
+     * @param share The share of frames, from 0 to 1.
+     * @return The upper edge of the bucket in milliseconds; BUCKETS for the overflow slot.
+     */
+    public int percentile(double share) {
+        long needed = (long) Math.ceil(share * frames);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += histogram[bucket];
+            if (seen >= needed) {
+                return bucket + 1;
+            }
+        }
+        return BUCKETS;
+    }
+
+    private String summary() {
+        if (frames == 0) {
+            return "No frames yet";
+        }
+        String text = String.format("frames %d%navg %.1f ms  max %.1f ms%np50 <%d  p95 <%d  p99 <%d ms%nslow %d",
+            frames, totalNanos / 1e6 / frames, maxNanos / 1e6,
+            percentile(0.50), percentile(0.95), percentile(0.99), slowCount);
+        if (slowCount > 0) {
+            int last = (slowCount - 1) % SLOW_FRAMES_KEPT;
+            text += String.format(" (last %.1f ms: %s)", slowNanos[last] / 1e6, Activity.describe(slowMarks[last]));
+        }
+        return text;
+    }
+
+    /**
+     * Writes the results to a new CSV file in the working directory and reports where.
+     */
+    private void exportToFile() {
+        Path file = Paths.get("badatro-frames-"
+            + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+        try {
+            export(file);
+            statusLabel.setText("Exported to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Failed to export frame times: " + e.getMessage());
+            statusLabel.setText("Export failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the summary, the histogram and the kept slow frames to a CSV file.
+     * @param file The file to write.
+     * @throws IOException If the file can't be written.
+     */
+    public void export(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("frames," + frames);
+            out.printf(Locale.ROOT, "avg_ms,%.3f%n", frames == 0 ? 0.0 : totalNanos / 1e6 / frames);
+            out.printf(Locale.ROOT, "max_ms,%.3f%n", maxNanos / 1e6);
+            out.println("p50_ms," + percentile(0.50));
+            out.println("p95_ms," + percentile(0.95));
+            out.println("p99_ms," + percentile(0.99));
+            out.println("slow_frames," + slowCount);
+
+            out.println();
+            out.println("bucket_ms,frames");
+            for (int bucket = 0; bucket <= BUCKETS; bucket++) {
+                if (histogram[bucket] != 0) {
+                    out.println((bucket == BUCKETS ? ">=" + BUCKETS : String.valueOf(bucket)) + "," + histogram[bucket]);
+                }
+            }
+
+            // Oldest first
+            out.println();
+            out.println("slow_frame_end,ms,activities");
+            int kept = Math.min(slowCount, SLOW_FRAMES_KEPT);
+            for (int i = slowCount - kept; i < slowCount; i++) {
+                int slot = i % SLOW_FRAMES_KEPT;
+                out.printf(Locale.ROOT, "%s,%.3f,%s%n", Instant.ofEpochMilli(slowEnds[slot]),
+                    slowNanos[slot] / 1e6, Activity.describe(slowMarks[slot]));
+            }
+        }
+    }
+}
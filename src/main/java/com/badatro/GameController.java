@@ -2,7 +2,6 @@ package com.badatro;
 
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
@@ -25,7 +24,7 @@ public class GameController {
     public GameController(GameManager gameManager, Stage stage) {
         this.gameManager = gameManager;
         this.stage = stage;
-        this.weatherInfoPanel = new WeatherInfoPanel(gameManager.getWeatherManager());
+        this.weatherInfoPanel = gameManager.getWeatherInfoPanel();
     }
 
     /**
@@ -43,14 +42,12 @@ public class GameController {
         backButton.setStyle("-fx-background-color: #e74c3c; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
         backButton.setOnAction(e -> {
             weatherInfoPanel.hide();
-            MainMenuController mainMenu = new MainMenuController(gameManager, stage);
-            mainMenu.show();
+            gameManager.getRouter().showMainMenu();
         });
 
         root.getChildren().add(backButton);
 
-        Scene scene = new Scene(root, 800, 600);
-        stage.setScene(scene);
+        gameManager.getRouter().setRoot(root);
         stage.show();
 
         // Show weather panel
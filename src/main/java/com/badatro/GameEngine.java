@@ -0,0 +1,803 @@
+package com.badatro;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Runs the rules of the game: player progress, blinds, scoring, and weather effects.
+ * The engine does not depend on JavaFX; it reports what happens to registered GameListeners,
+ * so it can run headless in simulations and tests as well as behind the game screens.
+ */
+public class GameEngine {
+    private Player player;
+    private final List<Blind> blinds;
+    private int currentBlindIndex;
+    private Deck deck;
+    private Hand hand;
+    private ToBeScored toBeScored;
+    private DiscardPile discardPile;
+    private long currentBlindTarget;   // Chips required to clear this blind (see ScoreMath)
+    private int roundNumber;
+    private BlindType blindType;       // SMALL, BIG, BOSS
+    private boolean isGameOver;
+    private double currentMultiplier;  // Mult of the last scored hand
+    private int lastChips;             // Chips of the last scored hand, before joker bonuses
+    private HandEvaluator.HandResult lastResult;  // Last scored poker hand
+    private int lastEvaluation;                   // HandEvaluator result of the last scored hand
+    private final HandScorer.Result scored = new HandScorer.Result();  // Parts of the last score
+    private long currentScore;         // Packed score, see ScoreMath
+    private boolean endlessMode;       // Keep going past the final ante
+    private boolean smallBlindCompleted;
+    private boolean bigBlindCompleted;
+    private boolean bossBlindCompleted;
+    private int currentAnte;
+    private int currentBlind;
+    private int currentMoney;
+    private final WeatherManager weatherManager;  // Null when playing without weather
+    private ScoreTrace scoreTrace;     // ScoreTrace.NONE while score tracing is off
+    private final Random random;
+    private BossBlind currentBoss;     // Boss waiting at the end of this ante
+    private BossEffect bossEffect;     // Rules of the blind being played, NONE outside boss blinds
+    private final List<GameListener> listeners;
+    private long cardHash;             // Zobrist hash of where every card is, updated as cards move
+    private long usedMask;             // Cards (by PackedCard.index) played or discarded this blind
+    
+    /** The last ante of a standard run; clearing its boss blind wins the game. */
+    public static final int FINAL_ANTE = 8;
+    
+    public enum BlindType {
+        SMALL,
+        BIG,
+        BOSS
+    }
+    
+    /**
+     * Creates an engine without weather effects.
+     */
+    public GameEngine() {
+        this(null);
+    }
+    
+    /**
+     * Creates an engine and sets up the game state.
+     * @param weatherManager The source of the weather multiplier, or null to play without weather.
+     */
+    public GameEngine(WeatherManager weatherManager) {
+        this.player = new Player();
+        this.blinds = new ArrayList<>();
+        this.currentBlindIndex = 0;
+        this.weatherManager = weatherManager;
+        this.listeners = new ArrayList<>();
+        this.random = new Random();
+        this.bossEffect = BossEffect.NONE;
+        this.scoreTrace = ScoreTrace.NONE;
+        initializeBlinds();
+        this.deck = new Deck(random);
+        this.hand = new Hand();
+        this.discardPile = new DiscardPile();
+        this.toBeScored = new ToBeScored();
+        resetCardHash();
+        this.roundNumber = 1;
+        this.isGameOver = false;
+        this.endlessMode = false;
+        this.currentScore = 0;
+        this.currentMultiplier = 0.0;
+        this.smallBlindCompleted = false;
+        this.bigBlindCompleted = false;
+        this.bossBlindCompleted = false;
+        
+        // Initialize game state
+        this.currentAnte = 1;
+        this.currentBlind = 1;
+        this.currentMoney = 4;
+        
+        // Set player state
+        player.setMoney(currentMoney);
+        player.setAnte(currentAnte);
+        player.setCurrentBlindLevel(currentBlind);
+        
+        // Set initial blind type
+        blindType = BlindType.SMALL;
+        
+        updateBlindTarget();
+    }
+    
+    /**
+     * Initializes the list of blinds for the game.
+     */
+    private void initializeBlinds() {
+        // Add blinds in order of difficulty
+        blinds.add(new Blind("Small Blind", 1, "Start your journey"));
+        blinds.add(new Blind("Big Blind", 2, "Getting serious"));
+        currentBoss = BossBlind.random(random);
+        blinds.add(new Blind(currentBoss.getDisplayName(), 3, currentBoss.getDescription()));
+    }
+    
+    /**
+     * Picks the boss for a new ante and updates the boss entry in the blind list.
+     */
+    private void rollBossBlind() {
+        currentBoss = BossBlind.random(random);
+        blinds.set(2, new Blind(currentBoss.getDisplayName(), 3, currentBoss.getDescription()));
+    }
+    
+    /**
+     * Registers a listener for game events.
+     * @param listener The listener to add.
+     */
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Stops sending game events to a listener.
+     * @param listener The listener to remove.
+     */
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Sets the current blind type.
+     * @param type The blind type to set.
+     */
+    public void setBlindType(BlindType type) {
+        this.blindType = type;
+    }
+    
+    /**
+     * Updates the target chips required to clear the current blind.
+     */
+    public void updateBlindTarget() {
+        // Base target increases with ante and blind type
+        long baseTarget = getBaseTargetForAnte(player.getCurrentBlindLevel());
+        
+        // Apply blind type multiplier
+        switch (blindType) {
+            case SMALL:
+                break;
+            case BIG:
+                baseTarget = ScoreMath.applyMult(baseTarget, 150);  // 1.5x
+                break;
+            case BOSS:
+                baseTarget = ScoreMath.applyMult(baseTarget, 200);  // 2x
+                break;
+        }
+        
+        currentBlindTarget = baseTarget;
+    }
+    
+    /**
+     * Gets the base target for a given ante level.
+     * @param ante The ante level.
+     * @return The base target chips for the ante.
+     */
+    private static long getBaseTargetForAnte(int ante) {
+        switch (ante) {
+            case 1: return 300;
+            case 2: return 800;
+            case 3: return 2000;
+            case 4: return 5000;
+            case 5: return 11000;
+            case 6: return 20000;
+            case 7: return 35000;
+            case 8: return 50000;
+            default: return ante > FINAL_ANTE ? getEndlessTargetForAnte(ante) : 300;
+        }
+    }
+    
+    /**
+     * Gets the base target for an ante past the final ante, used in endless mode.
+     * The curve grows faster than exponentially from the final ante's target and is rounded
+     * down to two significant digits. StrictMath keeps the result identical on every platform.
+     * @param ante The ante level, greater than FINAL_ANTE.
+     * @return The base target chips for the ante, as a packed score.
+     */
+    private static long getEndlessTargetForAnte(int ante) {
+        double extra = ante - FINAL_ANTE;
+        double exponent = 1 + 0.2 * extra;
+        double amount = getBaseTargetForAnte(FINAL_ANTE)
+            * StrictMath.pow(1.6 + StrictMath.pow(0.75 * extra, exponent), extra);
+        if (Double.isInfinite(amount)) {
+            return Long.MAX_VALUE;  // Past the largest double the target saturates
+        }
+        double unit = StrictMath.pow(10, StrictMath.floor(StrictMath.log10(amount)) - 1);
+        return ScoreMath.fromDouble(StrictMath.floor(amount / unit) * unit);
+    }
+    
+    /**
+     * Draws n cards from the deck into the player's hand.
+     * @param n The number of cards to draw.
+     */
+    public void drawCards(int n) {
+        for (int i = 0; i < n && !deck.isEmpty(); i++) {
+            int card = deck.drawCard();
+            hand.addCard(card);
+            cardHash ^= Zobrist.draw(card);
+        }
+    }
+    
+    /**
+     * Plays the selected cards, evaluates the score, and updates the game state.
+     * @param cardIndices The indices of the cards to play.
+     */
+    public void playCards(List<Integer> cardIndices) {
+        // Limit to 5 cards
+        if (cardIndices.size() > 5) {
+            cardIndices = cardIndices.subList(0, 5);
+        }
+        playCards(hand.toMask(cardIndices));
+    }
+    
+    /**
+     * Plays the selected cards, scored in hand order, and replenishes the hand.
+     * @param selectMask Bit i set to play the card at index i in the hand.
+     */
+    public void playCards(int selectMask) {
+        selectMask &= (1 << hand.getSize()) - 1;
+        if (selectMask == 0 || player.getPlayableHands() <= 0) {
+            return;
+        }
+        
+        // Limit to 5 cards
+        while (Integer.bitCount(selectMask) > 5) {
+            selectMask &= ~Integer.highestOneBit(selectMask);
+        }
+        int count = Integer.bitCount(selectMask);
+        
+        // The boss may force a specific number of cards
+        if (!bossEffect.allowsPlay(count)) {
+            return;
+        }
+        
+        // Move selected cards to toBeScored
+        for (int bits = selectMask; bits != 0; bits &= bits - 1) {
+            int card = hand.getCard(Integer.numberOfTrailingZeros(bits));
+            toBeScored.addCard(card);
+            useCard(card);
+        }
+        
+        // Remove cards from hand
+        hand.removeCards(selectMask);
+        
+        // Evaluate score; gold seals on the cards that scored pay out
+        long score = evaluateScore();
+        payGoldSeals();
+        int handType = HandEvaluator.handType(lastEvaluation);
+        lastResult = new HandEvaluator.HandResult(HandEvaluator.getHandName(handType),
+            HandEvaluator.getBaseChips(handType), HandEvaluator.getBaseMult(handType),
+            toBeScored.getCards(), HandEvaluator.scoringMask(lastEvaluation));
+        
+        // Clear scored cards after evaluation
+        toBeScored.clear();
+        
+        // Update current score
+        currentScore = ScoreMath.add(currentScore, score);
+        
+        // Decrease playable hands
+        player.setPlayableHands(player.getPlayableHands() - 1);
+        
+        // Draw new cards to replace played ones
+        drawCards(count);
+        
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onHandScored(lastResult, score, lastChips, currentMultiplier);
+        }
+        
+        // Check if blind is cleared
+        if (checkBlindCleared(currentScore)) {
+            blindCleared();
+        } else if (player.getPlayableHands() <= 0) {
+            // Out of hands without reaching the target
+            gameOver(false);
+        }
+    }
+    
+    /**
+     * Discards the selected cards and replenishes the hand.
+     * @param cardIndices The indices of the cards to discard.
+     */
+    public void discardCards(List<Integer> cardIndices) {
+        discardCards(hand.toMask(cardIndices));
+    }
+    
+    /**
+     * Discards the selected cards and replenishes the hand.
+     * @param selectMask Bit i set to discard the card at index i in the hand.
+     */
+    public void discardCards(int selectMask) {
+        selectMask &= (1 << hand.getSize()) - 1;
+        if (selectMask == 0 || player.getDiscardableHands() <= 0) {
+            return;
+        }
+        
+        // Move selected cards to discard pile
+        for (int bits = selectMask; bits != 0; bits &= bits - 1) {
+            int card = hand.getCard(Integer.numberOfTrailingZeros(bits));
+            discardPile.addCard(card);
+            useCard(card);
+        }
+        
+        // Remove cards from hand
+        hand.removeCards(selectMask);
+        
+        // Decrease discardable hands counter
+        player.setDiscardableHands(player.getDiscardableHands() - 1);
+        
+        // Replenish hand
+        drawCards(Integer.bitCount(selectMask));
+    }
+    
+    /**
+     * Records a card leaving the hand for good, by being played or discarded.
+     * @param card The packed card.
+     */
+    private void useCard(int card) {
+        cardHash ^= Zobrist.use(card);
+        usedMask |= PackedCard.bit(card);
+    }
+    
+    /**
+     * Pays the player for each gold-sealed card that scored in the hand just evaluated.
+     * Debuffed cards don't score, so they don't pay.
+     */
+    private void payGoldSeals() {
+        int[] cards = toBeScored.viewCards();
+        int money = 0;
+        for (int bits = scored.getScoringMask(); bits != 0; bits &= bits - 1) {
+            if (PackedCard.seal(cards[Integer.numberOfTrailingZeros(bits)]) == PackedCard.SEAL_GOLD) {
+                money += PackedCard.GOLD_SEAL_MONEY;
+            }
+        }
+        if (money > 0) {
+            player.setMoney(player.getMoney() + money);
+        }
+    }
+    
+    /**
+     * Recomputes the card hash from scratch, for a fresh deck and hand.
+     */
+    private void resetCardHash() {
+        usedMask = 0;
+        cardHash = 0;
+        for (int i = 0; i < deck.getRemainingCards(); i++) {
+            cardHash ^= Zobrist.deckCard(deck.getCard(i));
+        }
+        for (int i = 0; i < hand.getSize(); i++) {
+            cardHash ^= Zobrist.handCard(hand.getCard(i));
+        }
+    }
+    
+    /**
+     * Handles logic for when a blind is cleared, including rewards and progression.
+     */
+    private void blindCleared() {
+        // Calculate money rewards
+        int baseReward = switch (blindType) {
+            case SMALL -> 3;
+            case BIG -> 4;
+            case BOSS -> 5;
+        };
+        
+        // Add money for remaining hands
+        int remainingHandsReward = player.getPlayableHands() + player.getDiscardableHands();
+        int totalReward = baseReward + remainingHandsReward;
+        
+        // Calculate interest (1$ per 5$, capped at 5)
+        int currentMoney = player.getMoney();
+        int interest = Math.min(5, currentMoney / 5);
+        totalReward += interest;
+        
+        // Add the reward to player's money
+        player.setMoney(currentMoney + totalReward);
+        BlindType clearedType = blindType;
+        
+        // Mark current blind as completed
+        switch (blindType) {
+            case SMALL:
+                smallBlindCompleted = true;
+                break;
+            case BIG:
+                bigBlindCompleted = true;
+                break;
+            case BOSS:
+                bossBlindCompleted = true;
+                // Increment ante and reset blind completion status
+                player.setCurrentBlindLevel(player.getCurrentBlindLevel() + 1);
+                player.setAnte(player.getAnte() + 1);
+                smallBlindCompleted = false;
+                bigBlindCompleted = false;
+                bossBlindCompleted = false;
+                rollBossBlind();
+                break;
+        }
+        
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onBlindCleared(clearedType, totalReward);
+        }
+        
+        // Clearing the final ante's boss wins a standard run
+        if (!endlessMode && player.getAnte() > FINAL_ANTE) {
+            gameOver(true);
+            return;
+        }
+        
+        // Open the shop
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onShopOpened();
+        }
+    }
+    
+    /**
+     * Continues a won run in endless mode, where antes past the final ante follow the endless target curve.
+     */
+    public void continueEndless() {
+        endlessMode = true;
+        isGameOver = false;
+        updateBlindTarget();
+    }
+    
+    /**
+     * Returns whether the run is in endless mode.
+     * @return True if antes continue past the final ante.
+     */
+    public boolean isEndlessMode() {
+        return endlessMode;
+    }
+    
+    private void gameOver(boolean isWin) {
+        isGameOver = true;
+        
+        if (!isWin) {
+            // Reset money to 4
+            player.setMoney(4);
+            
+            // Reset blind level to 1
+            currentBlind = 1;
+            player.setCurrentBlindLevel(1);
+            
+            // Clear all jokers
+            player.clearActiveJokers();
+        }
+        
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onGameOver(isWin);
+        }
+    }
+    
+    /**
+     * Scores the cards waiting to be scored with HandScorer, remembering the hand, chips and mult
+     * for listeners. Scoring has no side effects on the player; the caller pays out gold seals.
+     * @return The score of the hand, as a packed score.
+     */
+    public long evaluateScore() {
+        int size = toBeScored.getSize();
+        if (size == 0) {
+            return 0;
+        }
+        int[] cards = toBeScored.viewCards();
+        int evaluation = HandEvaluator.evaluate(cards, (1 << size) - 1);
+        
+        // The sink is picked once per hand; while tracing is off it's ScoreTrace.NONE
+        ScoreTrace trace = scoreTrace;
+        trace.clear();
+        
+        double weatherMultiplier = weatherManager != null ? weatherManager.getScoreMultiplier() : 1.0;
+        long finalScore = HandScorer.scoreHand(cards, evaluation, bossEffect,
+            player.getActiveJokerArray(), player.getDiscardableHands(),
+            ScoreMath.toFixedMult(weatherMultiplier), trace, scored);
+        
+        // Remember the hand, chips and mult for listeners; playCards builds the HandResult
+        lastEvaluation = evaluation;
+        lastChips = scored.getChips();
+        currentMultiplier = ScoreMath.multToDouble(scored.getFixedMult());
+        
+        // playCards decides whether the blind is cleared or the run is over
+        return finalScore;
+    }
+    
+    /**
+     * Turns recording of score breakdowns on or off.
+     * When off, scoring writes to ScoreTrace.NONE, which records nothing.
+     * @param enabled True to record a breakdown for every scored hand.
+     */
+    public void setScoreTracing(boolean enabled) {
+        if (!enabled) {
+            scoreTrace = ScoreTrace.NONE;
+        } else if (scoreTrace == ScoreTrace.NONE) {
+            scoreTrace = new ScoreTrace();
+        }
+    }
+    
+    /**
+     * Gets the breakdown of the last scored hand.
+     * @return The score trace, or null if tracing is off.
+     */
+    public ScoreTrace getScoreTrace() {
+        return scoreTrace == ScoreTrace.NONE ? null : scoreTrace;
+    }
+    
+    public void advanceBlind() {
+        switch (blindType) {
+            case SMALL:
+                blindType = BlindType.BIG;
+                break;
+            case BIG:
+                blindType = BlindType.BOSS;
+                break;
+            case BOSS:
+                // Move to next ante
+                player.setCurrentBlindLevel(player.getCurrentBlindLevel() + 1);
+                player.setAnte(player.getAnte() + 1);  // Increase ante by 1
+                blindType = BlindType.SMALL;
+                break;
+        }
+        roundNumber++;
+        updateBlindTarget();
+        
+        // Reset playable and discardable hands
+        player.setPlayableHands(3);
+        player.setDiscardableHands(3);
+        
+        // Reset score for new blind
+        currentScore = 0;
+    }
+    
+    public boolean checkBlindCleared(long score) {
+        return score >= currentBlindTarget;
+    }
+    
+    /**
+     * Checks whether the current blind's target has been reached. Stays true until the next
+     * blind starts, while the shop or the end of the run takes over.
+     * @return True if the current score clears the blind.
+     */
+    public boolean isBlindCleared() {
+        return checkBlindCleared(currentScore);
+    }
+    
+    public void endGame() {
+        gameOver(false);
+    }
+    
+    public void reset() {
+        this.player = new Player();
+        this.deck = new Deck(random);
+        this.hand = new Hand();
+        this.discardPile = new DiscardPile();
+        this.toBeScored = new ToBeScored();
+        resetCardHash();
+        this.roundNumber = 1;
+        this.blindType = BlindType.SMALL;
+        this.isGameOver = false;
+        this.endlessMode = false;
+        this.currentScore = 0;
+        this.currentMultiplier = 0.0;
+        this.lastChips = 0;
+        this.smallBlindCompleted = false;
+        this.bigBlindCompleted = false;
+        this.bossBlindCompleted = false;
+        
+        // Reset game state
+        this.currentAnte = 1;
+        this.currentBlind = 1;
+        this.currentMoney = 4;
+        
+        // Set player state
+        player.setMoney(currentMoney);
+        player.setAnte(currentAnte);
+        player.setCurrentBlindLevel(currentBlind);
+        
+        // New run, new bosses
+        bossEffect = BossEffect.NONE;
+        rollBossBlind();
+        
+        updateBlindTarget();
+    }
+    
+    public boolean canSelectBlind(BlindType type) {
+        // If no blinds are completed, only allow SMALL
+        if (!smallBlindCompleted && !bigBlindCompleted && !bossBlindCompleted) {
+            return type == BlindType.SMALL;
+        }
+        
+        // If small blind is completed, only allow BIG
+        if (smallBlindCompleted && !bigBlindCompleted && !bossBlindCompleted) {
+            return type == BlindType.BIG;
+        }
+        
+        // If big blind is completed, only allow BOSS
+        if (smallBlindCompleted && bigBlindCompleted && !bossBlindCompleted) {
+            return type == BlindType.BOSS;
+        }
+        
+        // If all blinds are completed, allow any blind
+        return true;
+    }
+    
+    /**
+     * Starts a blind, if it can be selected, and reports it to the listeners.
+     * @param type The blind type.
+     * @return False if the blind can't be selected yet, because the previous blind isn't complete.
+     */
+    public boolean startNewBlind(BlindType type) {
+        // Check if this blind can be selected
+        if (!canSelectBlind(type)) {
+            return false;
+        }
+        
+        // Reset game state for new blind, reusing this run's containers
+        deck.reset();
+        hand.clear();
+        discardPile.clear();
+        toBeScored.clear();
+        resetCardHash();
+        currentScore = 0;
+        currentMultiplier = 1;
+        
+        // Set blind type and update target
+        blindType = type;
+        bossEffect = type == BlindType.BOSS ? currentBoss.getEffect() : BossEffect.NONE;
+        player.setPlayableHands(bossEffect.adjustHands(3));
+        player.setDiscardableHands(bossEffect.adjustDiscards(3));
+        updateBlindTarget();
+        
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onBlindStarted(type, currentBlindTarget);
+        }
+        return true;
+    }
+    
+    public boolean isBlindCompleted(BlindType type) {
+        switch (type) {
+            case SMALL:
+                return smallBlindCompleted;
+            case BIG:
+                return bigBlindCompleted;
+            case BOSS:
+                return bossBlindCompleted;
+            default:
+                return false;
+        }
+    }
+    
+    // Getters
+    public Player getPlayer() {
+        return player;
+    }
+    
+    public Deck getDeck() {
+        return deck;
+    }
+    
+    public Hand getHand() {
+        return hand;
+    }
+    
+    public ToBeScored getToBeScored() {
+        return toBeScored;
+    }
+    
+    public DiscardPile getDiscardPile() {
+        return discardPile;
+    }
+    
+    public long getCurrentBlindTarget() {
+        return currentBlindTarget;
+    }
+    
+    public long getCurrentScore() {
+        return currentScore;
+    }
+    
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+    
+    public BlindType getBlindType() {
+        return blindType;
+    }
+    
+    public boolean isGameOver() {
+        return isGameOver;
+    }
+    
+    /**
+     * Gets a copy of the cards in hand.
+     * @return The packed cards in hand order.
+     */
+    public int[] getCurrentHand() {
+        return hand.getCards();
+    }
+    
+    public List<Joker> getActiveJokers() {
+        return player.getActiveJokers();
+    }
+    
+    public WeatherManager getWeatherManager() {
+        return weatherManager;
+    }
+    
+    public double getCurrentMultiplier() {
+        return currentMultiplier;
+    }
+    
+    /**
+     * Gets a 64-bit Zobrist hash of the game state: hand, deck, played and discarded cards, score,
+     * hands and discards left, jokers and blind. Card moves update the hash as they happen, so
+     * this takes constant time. It equals the hash of snapshot().
+     * @return The state hash.
+     */
+    public long getStateHash() {
+        return cardHash ^ Zobrist.score(currentScore) ^ Zobrist.hands(player.getPlayableHands())
+            ^ Zobrist.discards(player.getDiscardableHands()) ^ Zobrist.blind(currentBlindTarget, bossEffect)
+            ^ player.getJokerHash();
+    }
+    
+    /**
+     * Gets the part of the state hash that covers where the cards are.
+     * @return The card hash.
+     */
+    public long getCardHash() {
+        return cardHash;
+    }
+    
+    /**
+     * Gets the cards played or discarded in this blind.
+     * @return A card mask (see PackedCard.index).
+     */
+    public long getUsedMask() {
+        return usedMask;
+    }
+    
+    /**
+     * Takes an immutable snapshot of the blind being played, for search and what-if tools.
+     * @return The game state.
+     */
+    public GameState snapshot() {
+        return GameState.of(this);
+    }
+    
+    /**
+     * Gets the blind for a blind type in the current ante.
+     * @param type The blind type.
+     * @return The blind, whose description states its rules.
+     */
+    public Blind getBlind(BlindType type) {
+        return blinds.get(type.ordinal());
+    }
+    
+    /**
+     * Gets the boss waiting at the end of the current ante.
+     * @return The boss blind.
+     */
+    public BossBlind getCurrentBoss() {
+        return currentBoss;
+    }
+    
+    /**
+     * Gets the rules of the blind being played.
+     * @return The boss effect, or BossEffect.NONE outside boss blinds.
+     */
+    public BossEffect getBossEffect() {
+        return bossEffect;
+    }
+    
+    /**
+     * Gets the hand size for the blind being played, after boss effects.
+     * @return The number of cards to hold.
+     */
+    public int getHandSize() {
+        return bossEffect.adjustHandSize(player.getHandSize());
+    }
+    
+    /**
+     * Checks whether a hand of the given size may be played in the current blind.
+     * @param cardCount The number of cards selected.
+     * @return True if the hand can be played.
+     */
+    public boolean canPlay(int cardCount) {
+        return cardCount > 0 && bossEffect.allowsPlay(cardCount);
+    }
+} 
\ No newline at end of file
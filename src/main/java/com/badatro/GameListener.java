@@ -0,0 +1,47 @@
+package com.badatro;
+
+/**
+ * Receives events from a GameEngine. Events are delivered synchronously on the thread that
+ * changed the game state; every method does nothing by default, so listeners only override the
+ * events they care about.
+ */
+public interface GameListener {
+    /**
+     * Called when a blind starts.
+     * @param type The blind type.
+     * @param target The chips required to clear the blind, as a packed score.
+     */
+    default void onBlindStarted(GameEngine.BlindType type, long target) {
+    }
+
+    /**
+     * Called after a hand has been played and scored.
+     * @param result The poker hand that was played.
+     * @param score The score of the hand, as a packed score.
+     * @param chips The chips of the hand before joker bonuses.
+     * @param mult The final multiplier of the hand.
+     */
+    default void onHandScored(HandEvaluator.HandResult result, long score, int chips, double mult) {
+    }
+
+    /**
+     * Called when a blind is cleared and its reward has been paid.
+     * @param type The blind type that was cleared.
+     * @param reward The money earned.
+     */
+    default void onBlindCleared(GameEngine.BlindType type, int reward) {
+    }
+
+    /**
+     * Called when the shop opens after a blind is cleared.
+     */
+    default void onShopOpened() {
+    }
+
+    /**
+     * Called when the run ends.
+     * @param isWin True if the final ante was cleared.
+     */
+    default void onGameOver(boolean isWin) {
+    }
+}
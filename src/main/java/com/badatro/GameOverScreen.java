@@ -2,71 +2,86 @@ package com.badatro;
 
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
-import javafx.stage.Stage;
 
 /**
  * Represents the game over screen that displays the final game state.
  */
 public class GameOverScreen {
     private final GameManager gameManager;
-    private final Stage stage;
-    private final boolean isWin;
+    private VBox root;
+    private Text gameOverText;
+    private Text statsText;
+    private Button endlessButton;
     
     /**
-     * Constructs a GameOverScreen with the given GameManager, Stage, and win status.
+     * Constructs a GameOverScreen with the given GameManager.
      * @param gameManager The GameManager instance.
-     * @param stage The primary stage.
-     * @param isWin True if the player won, false otherwise.
      */
-    public GameOverScreen(GameManager gameManager, Stage stage, boolean isWin) {
+    public GameOverScreen(GameManager gameManager) {
         this.gameManager = gameManager;
-        this.stage = stage;
-        this.isWin = isWin;
     }
     
     /**
-     * Shows the game over screen UI.
+     * Shows the game over screen UI, building it the first time.
+     * @param isWin True if the player won, false otherwise.
      */
-    public void show() {
-        VBox root = new VBox(20);
-        root.setAlignment(Pos.CENTER);
-        root.setPadding(new Insets(20));
-        root.setStyle("-fx-background-color: #2C3E50;");
+    public void show(boolean isWin) {
+        if (root == null) {
+            buildRoot();
+        }
         
-        Text gameOverText = new Text(isWin ? "Victory!" : "Game Over");
+        gameOverText.setText(isWin ? "Victory!" : "Game Over");
         gameOverText.setStyle("-fx-fill: " + (isWin ? "#27ae60" : "#e74c3c") + "; -fx-font-size: 48px; -fx-font-weight: bold;");
         
-        Text statsText = new Text(String.format(
-            "Final Score: %d\n" +
+        statsText.setText(String.format(
+            "Final Score: %s\n" +
             "Blind Level: %d\n" +
             "Ante: %d",
-            gameManager.getCurrentScore(),
-            gameManager.getPlayer().getCurrentBlindLevel(),
-            gameManager.getPlayer().getAnte()
+            ScoreMath.format(gameManager.getEngine().getCurrentScore()),
+            gameManager.getEngine().getPlayer().getCurrentBlindLevel(),
+            gameManager.getEngine().getPlayer().getAnte()
         ));
+        
+        // A won run can keep going past the final ante
+        endlessButton.setVisible(isWin);
+        endlessButton.setManaged(isWin);
+        
+        gameManager.getRouter().setRoot(root);
+    }
+    
+    /**
+     * Builds the screen's scene graph.
+     */
+    private void buildRoot() {
+        root = new VBox(20);
+        root.setAlignment(Pos.CENTER);
+        root.setPadding(new Insets(20));
+        root.setStyle("-fx-background-color: #2C3E50;");
+        
+        gameOverText = new Text();
+        
+        statsText = new Text();
         statsText.setStyle("-fx-fill: white; -fx-font-size: 24px;");
         
         VBox buttonContainer = new VBox(10);
         buttonContainer.setAlignment(Pos.CENTER);
         buttonContainer.setMaxWidth(300);
         
+        endlessButton = createMenuButton("Endless Mode");
+        endlessButton.setOnAction(e -> onEndlessClick());
+        
         Button playAgainButton = createMenuButton("Play Again");
         playAgainButton.setOnAction(e -> onPlayAgainClick());
         
         Button mainMenuButton = createMenuButton("Main Menu");
         mainMenuButton.setOnAction(e -> onMainMenuClick());
         
-        buttonContainer.getChildren().addAll(playAgainButton, mainMenuButton);
+        buttonContainer.getChildren().addAll(endlessButton, playAgainButton, mainMenuButton);
         
         root.getChildren().addAll(gameOverText, statsText, buttonContainer);
-        
-        Scene scene = new Scene(root, 800, 600);
-        scene.getStylesheets().add(getClass().getResource("/com/badatro/styles.css").toExternalForm());
-        stage.setScene(scene);
     }
     
     /**
@@ -85,8 +100,15 @@ public class GameOverScreen {
      */
     private void onPlayAgainClick() {
         gameManager.reset();
-        BlindSelectionScreen blindSelection = new BlindSelectionScreen(gameManager, stage);
-        blindSelection.show();
+        gameManager.getRouter().showBlindSelection();
+    }
+    
+    /**
+     * Handles the endless mode button click.
+     */
+    private void onEndlessClick() {
+        gameManager.getEngine().continueEndless();
+        gameManager.getRouter().showBlindSelection();
     }
     
     /**
@@ -94,7 +116,6 @@ public class GameOverScreen {
      */
     private void onMainMenuClick() {
         gameManager.reset();
-        MainMenuController mainMenu = new MainMenuController(gameManager, stage);
-        mainMenu.show();
+        gameManager.getRouter().showMainMenu();
     }
 } 
\ No newline at end of file
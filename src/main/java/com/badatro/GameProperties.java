@@ -0,0 +1,96 @@
+package com.badatro;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+/**
+ * Observable copies of the game state the UI shows, for views to bind to. The engine doesn't
+ * depend on JavaFX, so refresh() copies its values in; a property only notifies its listeners
+ * when its value actually changes, so views bound to values that didn't change aren't touched.
+ */
+public class GameProperties {
+    private final GameEngine engine;
+    private final ObjectProperty<GameEngine.BlindType> blindType;
+    private final IntegerProperty money;
+    private final IntegerProperty ante;
+    private final IntegerProperty playableHands;
+    private final IntegerProperty discards;
+    private final LongProperty score;  // Packed score
+    private final DoubleProperty mult;
+
+    /**
+     * Creates properties holding the engine's current state.
+     * @param engine The engine.
+     */
+    public GameProperties(GameEngine engine) {
+        this.engine = engine;
+        this.blindType = new SimpleObjectProperty<>(this, "blindType");
+        this.money = new SimpleIntegerProperty(this, "money", 0);
+        this.ante = new SimpleIntegerProperty(this, "ante", 0);
+        this.playableHands = new SimpleIntegerProperty(this, "playableHands", 0);
+        this.discards = new SimpleIntegerProperty(this, "discards", 0);
+        this.score = new SimpleLongProperty(this, "score", 0);
+        this.mult = new SimpleDoubleProperty(this, "mult", 0);
+        refresh();
+    }
+
+    /**
+     * Copies the engine's current state into the properties.
+     */
+    public void refresh() {
+        Player player = engine.getPlayer();
+        blindType.set(engine.getBlindType());
+        money.set(player.getMoney());
+        ante.set(player.getAnte());
+        playableHands.set(player.getPlayableHands());
+        discards.set(player.getDiscardableHands());
+        score.set(engine.getCurrentScore());
+        mult.set(engine.getCurrentMultiplier());
+    }
+
+    public ReadOnlyObjectProperty<GameEngine.BlindType> blindTypeProperty() {
+        return blindType;
+    }
+
+    public ReadOnlyIntegerProperty moneyProperty() {
+        return money;
+    }
+
+    public ReadOnlyIntegerProperty anteProperty() {
+        return ante;
+    }
+
+    public ReadOnlyIntegerProperty playableHandsProperty() {
+        return playableHands;
+    }
+
+    public ReadOnlyIntegerProperty discardsProperty() {
+        return discards;
+    }
+
+    /**
+     * Gets the chips scored in the current blind.
+     * @return The score property, holding a packed score.
+     */
+    public ReadOnlyLongProperty scoreProperty() {
+        return score;
+    }
+
+    /**
+     * Gets the mult of the last scored hand.
+     * @return The mult property.
+     */
+    public ReadOnlyDoubleProperty multProperty() {
+        return mult;
+    }
+}
@@ -1,54 +1,107 @@
 package com.badatro;
 
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
+import javafx.scene.Node;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.*;
 import javafx.scene.text.Text;
-import javafx.stage.Stage;
-
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Handles the main gameplay screen, including card display, joker display, and user actions.
  */
 public class GameScreen {
     private final GameManager gameManager;
-    private final Stage stage;
-    private final List<Integer> selectedCardIndices;
+    private final GameEngine engine;
+    private int selectedMask;  // Bit i set when the card at index i in the hand is selected
     private final HBox handContainer;
     private final HBox jokersContainer;
     private final Text targetText;
-    private final Shop shop;
-    private final ShopScreen shopScreen;
+    private final Text previewText;
+    private final HandPreview preview;
+    private final Text oddsText;
+    private final DrawOdds drawOdds;                  // Only used by oddsAnalysis's thread
+    private final BackgroundAnalysis oddsAnalysis;    // Odds of discarding the selection
+    private final Text adviceText;
+    private final DiscardAdvisor advisor;
+    private final BackgroundAnalysis adviceAnalysis;  // Advises on the hand off the FX thread
+    private final Text chanceText;
+    private final ClearProbabilitySolver solver;      // Only used by chanceAnalysis's thread
+    private final BackgroundAnalysis chanceAnalysis;
+    private final Card[] cardViews;      // One view per card, by PackedCard.index, made when first shown
+    private final CardTable cardTable;  // Null unless the canvas renderer was chosen
+    private final Runnable gameStateUpdate;  // Marked on the scheduler after a play or discard
+    private static final long SOLVER_NODES = 200_000;     // Budget for the chance to clear
+    private static final long SOLVER_MILLIS = 250;
+    private static final long SOLVER_MEMORY_BYTES = 8L << 20;
+    private static final String WIRED = "badatro.wired";  // Node property set once a view has handlers
+    private static final String SELECTED_STYLE = "-fx-effect: dropshadow(gaussian, #ffd700, 10, 0, 0, 0);";
+    
+    // Run with -Dbadatro.renderer=canvas to draw the hand and jokers on one Canvas
+    private static final boolean USE_CANVAS = "canvas".equals(System.getProperty("badatro.renderer"));
+    private BorderPane root;
     
     /**
-     * Constructs a GameScreen with the given GameManager and Stage.
+     * Constructs a GameScreen with the given GameManager.
      * @param gameManager The GameManager instance.
-     * @param stage The primary stage.
      */
-    public GameScreen(GameManager gameManager, Stage stage) {
+    public GameScreen(GameManager gameManager) {
         this.gameManager = gameManager;
-        this.stage = stage;
-        this.selectedCardIndices = new ArrayList<>();
+        this.engine = gameManager.getEngine();
         this.handContainer = new HBox(10);
         this.jokersContainer = new HBox(10);
         this.targetText = new Text();
-        this.shopScreen = new ShopScreen(gameManager, stage);
-        this.shop = new Shop(gameManager.getPlayer(), gameManager, shopScreen);
+        this.previewText = new Text();
+        this.preview = new HandPreview();
+        this.oddsText = new Text();
+        this.drawOdds = new DrawOdds();
+        this.oddsAnalysis = new BackgroundAnalysis();
+        this.adviceText = new Text();
+        this.advisor = new DiscardAdvisor();
+        this.adviceAnalysis = new BackgroundAnalysis();
+        this.chanceText = new Text();
+        this.solver = new ClearProbabilitySolver(SOLVER_MEMORY_BYTES);
+        this.chanceAnalysis = new BackgroundAnalysis();
+        this.cardViews = new Card[52];
+        this.cardTable = USE_CANVAS ? new CardTable(CardAtlas.getDefault()) : null;
+        this.gameStateUpdate = this::updateGameState;
     }
     
     /**
-     * Shows the game screen and initializes all UI components.
+     * Shows the game screen for the blind that was just started, building the UI components the
+     * first time and refreshing them after that.
      */
     public void show() {
-        BorderPane root = new BorderPane();
+        if (root == null) {
+            buildRoot();
+        }
+        
+        targetText.setText("Target: " + ScoreMath.format(engine.getCurrentBlindTarget()));
+        updateJokersDisplay();
+        
+        // Show info panel
+        gameManager.showInfoPanel();
+        
+        // Initial draw; a new blind starts with nothing selected
+        selectedMask = 0;
+        engine.drawCards(engine.getHandSize());
+        updateHandDisplay();
+        updatePreview();
+        requestAdvice();
+        requestClearChance();
+        
+        gameManager.getRouter().setRoot(root);
+    }
+    
+    /**
+     * Builds the screen's scene graph.
+     */
+    private void buildRoot() {
+        root = new BorderPane();
         root.setStyle("-fx-background-color: #2C3E50;");
         
         // Top section - Target info and active jokers
@@ -56,7 +109,6 @@ public class GameScreen {
         topSection.setPadding(new Insets(20));
         topSection.setAlignment(Pos.CENTER);
         
-        targetText.setText("Target: " + gameManager.getCurrentBlindTarget());
         targetText.setStyle("-fx-fill: white; -fx-font-size: 24px;");
         
         // Add jokers section
@@ -65,9 +117,12 @@ public class GameScreen {
         
         jokersContainer.setAlignment(Pos.CENTER);
         jokersContainer.setPadding(new Insets(10));
-        updateJokersDisplay();
         
-        topSection.getChildren().addAll(targetText, jokersLabel, jokersContainer);
+        if (cardTable != null) {
+            topSection.getChildren().addAll(targetText, jokersLabel);
+        } else {
+            topSection.getChildren().addAll(targetText, jokersLabel, jokersContainer);
+        }
         root.setTop(topSection);
         
         // Center section - Hand
@@ -76,9 +131,20 @@ public class GameScreen {
         centerSection.setAlignment(Pos.CENTER);
         
         handContainer.setAlignment(Pos.CENTER);
-        updateHandDisplay();
         
-        centerSection.getChildren().add(handContainer);
+        previewText.setStyle("-fx-fill: white; -fx-font-size: 18px;");
+        adviceText.setStyle("-fx-fill: #BDC3C7; -fx-font-size: 14px;");
+        chanceText.setStyle("-fx-fill: #BDC3C7; -fx-font-size: 14px;");
+        oddsText.setStyle("-fx-fill: #BDC3C7; -fx-font-size: 14px;");
+        
+        if (cardTable != null) {
+            // The table draws the jokers above the hand
+            cardTable.setOnCardClicked(this::toggleCardSelection);
+            cardTable.setOnJokerClicked(this::sellJoker);
+            centerSection.getChildren().addAll(cardTable.getCanvas(), previewText, oddsText, adviceText, chanceText);
+        } else {
+            centerSection.getChildren().addAll(handContainer, previewText, oddsText, adviceText, chanceText);
+        }
         root.setCenter(centerSection);
         
         // Bottom section - Action buttons
@@ -96,27 +162,20 @@ public class GameScreen {
         
         bottomSection.getChildren().addAll(playButton, discardButton);
         root.setBottom(bottomSection);
-        
-        // Show info panel
-        gameManager.showInfoPanel();
-        
-        // Initial draw
-        gameManager.drawCards(gameManager.getPlayer().getHandSize());
-        updateHandDisplay();
-        
-        Scene scene = new Scene(root, 800, 600);
-        scene.getStylesheets().add(getClass().getResource("/com/badatro/styles.css").toExternalForm());
-        stage.setScene(scene);
     }
     
     /**
      * Updates the display of active jokers in the UI.
      */
     private void updateJokersDisplay() {
+        if (cardTable != null) {
+            cardTable.setJokers(engine.getActiveJokers());
+            return;
+        }
         jokersContainer.getChildren().clear();
         
-        for (Joker joker : gameManager.getActiveJokers()) {
-            ImageView jokerView = new ImageView(new Image(getClass().getResourceAsStream(joker.getImagePath())));
+        for (Joker joker : engine.getActiveJokers()) {
+            ImageView jokerView = CardAtlas.getDefault().createView(joker.getImagePath());
             jokerView.setFitWidth(100);
             jokerView.setPreserveRatio(true);
             
@@ -125,60 +184,143 @@ public class GameScreen {
             jokerView.setOnMouseExited(e -> jokerView.setStyle(""));
             
             // Add click handler for selling
-            jokerView.setOnMouseClicked(e -> shop.showSellPrompt(joker));
+            jokerView.setOnMouseClicked(e -> sellJoker(joker));
             
             jokersContainer.getChildren().add(jokerView);
         }
     }
     
     /**
-     * Updates the display of the player's hand in the UI.
+     * Offers to sell a joker, then refreshes the jokers, the preview and the advice.
+     * @param joker The joker that was clicked.
+     */
+    private void sellJoker(Joker joker) {
+        gameManager.getRouter().getShopScreen().getShop().showSellPrompt(joker);
+        updateJokersDisplay();
+        updatePreview();
+        requestAdvice();
+        requestClearChance();
+    }
+    
+    /**
+     * Gets the view of a packed card, creating it the first time the card is shown and updating
+     * it if the card's modifiers changed since.
+     * @param packed The packed card.
+     * @return The card's view.
+     */
+    private Card cardView(int packed) {
+        int index = PackedCard.index(packed);
+        Card card = cardViews[index];
+        if (card == null) {
+            card = Card.fromPacked(packed);
+            cardViews[index] = card;
+        } else if (card.getPacked() != packed) {
+            card.setPacked(packed);
+        }
+        return card;
+    }
+    
+    /**
+     * Updates the display of the player's hand in the UI. Each card keeps one view, so only views
+     * for cards that joined, left or moved are touched.
      */
     private void updateHandDisplay() {
-        handContainer.getChildren().clear();
-        
-        List<Card> currentHand = gameManager.getCurrentHand();
-        for (int i = 0; i < currentHand.size(); i++) {
-            final int index = i;
-            Card card = currentHand.get(i);
+        Hand hand = engine.getHand();
+        if (cardTable != null) {
+            cardTable.setHand(hand, selectedMask);
+            return;
+        }
+        ObservableList<Node> children = handContainer.getChildren();
+        for (int i = 0; i < hand.getSize(); i++) {
+            Card card = cardView(hand.getCard(i));
             ImageView cardView = card.getImageView();
-            cardView.setFitWidth(80);  // Adjust size as needed
-            cardView.setPreserveRatio(true);
-            
-            // Add hover effect
-            cardView.setOnMouseEntered(e -> {
-                if (!card.isSelected()) {
-                    cardView.setScaleX(1.1);
-                    cardView.setScaleY(1.1);
-                }
-            });
-            
-            cardView.setOnMouseExited(e -> {
-                if (!card.isSelected()) {
-                    cardView.setScaleX(1.0);
-                    cardView.setScaleY(1.0);
-                }
-            });
-            
-            // Add click handler
-            cardView.setOnMouseClicked(e -> {
-                if (e.getButton() == MouseButton.PRIMARY) {
-                    toggleCardSelection(index);
-                }
-            });
+            boolean selected = (selectedMask & (1 << i)) != 0;
+            if (i < children.size() && children.get(i) == cardView && card.isSelected() == selected) {
+                continue;
+            }
             
-            // Show selection state
-            if (card.isSelected()) {
-                cardView.setStyle("-fx-effect: dropshadow(gaussian, #ffd700, 10, 0, 0, 0);");
+            // A card that joined the hand or moved within it
+            if (cardView.getProperties().putIfAbsent(WIRED, this) == null) {
+                wireCardView(card, cardView);
+            }
+            if (i >= children.size() || children.get(i) != cardView) {
+                children.remove(cardView);
+                children.add(i, cardView);
+            }
+            card.setSelected(selected);
+            updateCardView(card);
+        }
+        
+        // Cards that left the hand
+        if (children.size() > hand.getSize()) {
+            children.remove(hand.getSize(), children.size());
+        }
+    }
+    
+    /**
+     * Sets up a card's view and its mouse handlers, once per card.
+     * @param card The card.
+     * @param cardView The card's view.
+     */
+    private void wireCardView(Card card, ImageView cardView) {
+        cardView.setFitWidth(80);  // Adjust size as needed
+        cardView.setPreserveRatio(true);
+        
+        // Add hover effect
+        cardView.setOnMouseEntered(e -> {
+            if (!card.isSelected()) {
                 cardView.setScaleX(1.1);
                 cardView.setScaleY(1.1);
-            } else {
-                cardView.setStyle("");
+            }
+        });
+        
+        cardView.setOnMouseExited(e -> {
+            if (!card.isSelected()) {
                 cardView.setScaleX(1.0);
                 cardView.setScaleY(1.0);
             }
-            
-            handContainer.getChildren().add(cardView);
+        });
+        
+        // Add click handler; the index is looked up on click, since cards move as the hand changes
+        cardView.setOnMouseClicked(e -> {
+            if (e.getButton() == MouseButton.PRIMARY) {
+                int index = engine.getHand().indexOf(card.getPacked());
+                if (index >= 0) {
+                    toggleCardSelection(index);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Shows the selection state of the card at an index in the hand.
+     * @param index The index of the card.
+     */
+    private void showSelection(int index) {
+        boolean selected = (selectedMask & (1 << index)) != 0;
+        if (cardTable != null) {
+            cardTable.setSelected(index, selected);
+            return;
+        }
+        Card card = cardView(engine.getHand().getCard(index));
+        card.setSelected(selected);
+        updateCardView(card);
+    }
+    
+    /**
+     * Shows a card's selection state on its view.
+     * @param card The card.
+     */
+    private void updateCardView(Card card) {
+        ImageView cardView = card.getImageView();
+        if (card.isSelected()) {
+            cardView.setStyle(SELECTED_STYLE);
+            cardView.setScaleX(1.1);
+            cardView.setScaleY(1.1);
+        } else {
+            cardView.setStyle("");
+            cardView.setScaleX(1.0);
+            cardView.setScaleY(1.0);
         }
     }
     
@@ -187,28 +329,147 @@ public class GameScreen {
      * @param index The index of the card to toggle.
      */
     private void toggleCardSelection(int index) {
-        if (selectedCardIndices.contains(index)) {
-            selectedCardIndices.remove(Integer.valueOf(index));
-            gameManager.getHand().getCard(index).setSelected(false);
-        } else if (selectedCardIndices.size() < 5) {
-            selectedCardIndices.add(index);
-            gameManager.getHand().getCard(index).setSelected(true);
+        int bit = 1 << index;
+        if ((selectedMask & bit) != 0) {
+            selectedMask &= ~bit;
+        } else if (Integer.bitCount(selectedMask) < 5) {
+            selectedMask |= bit;
         }
-        updateHandDisplay();
+        
+        // Adjust the preview by the one card, unless the hand or rules changed under it
+        if (!preview.matches(engine)) {
+            preview.reset(engine, selectedMask);
+        } else if (preview.getSelectMask() != selectedMask) {
+            preview.toggle(index);
+        }
+        previewText.setText(preview.toString());
+        requestOdds();
+        showSelection(index);
+    }
+    
+    /**
+     * Recomputes the preview of the selected cards from the current hand.
+     */
+    private void updatePreview() {
+        preview.reset(engine, selectedMask);
+        previewText.setText(preview.toString());
+        requestOdds();
+    }
+    
+    /**
+     * Asks for the odds of the hands a discard of the selection could draw, in the background.
+     * Toggling back to a selection seen before is answered from the DrawOdds memo.
+     */
+    private void requestOdds() {
+        if (selectedMask == 0 || engine.getPlayer().getDiscardableHands() <= 0) {
+            oddsText.setText("");
+            oddsAnalysis.cancel();
+            return;
+        }
+        Hand hand = engine.getHand();
+        long kept = 0;
+        for (int i = 0; i < hand.getSize(); i++) {
+            if ((selectedMask & (1 << i)) == 0) {
+                kept |= PackedCard.bit(hand.getCard(i));
+            }
+        }
+        long keptCards = kept;
+        long deck = engine.getDeck().getRemainingMask();
+        int draws = Integer.bitCount(selectedMask);
+        int playSize = engine.getBossEffect().getRequiredPlaySize();
+        oddsAnalysis.submit(() -> drawOdds.calculate(keptCards, deck, draws, playSize),
+            odds -> oddsText.setText(describeOdds(odds)));
+    }
+    
+    /**
+     * Describes the three likeliest best hands after a discard, for example
+     * "If discarded: Pair 48% · High Card 31% · Two Pair 14%".
+     */
+    private static String describeOdds(double[] odds) {
+        StringBuilder text = new StringBuilder("If discarded:");
+        boolean[] shown = new boolean[odds.length];
+        for (int place = 0; place < 3; place++) {
+            int likeliest = -1;
+            for (int type = 0; type < odds.length; type++) {
+                if (!shown[type] && odds[type] > 0 && (likeliest < 0 || odds[type] > odds[likeliest])) {
+                    likeliest = type;
+                }
+            }
+            if (likeliest < 0) {
+                break;
+            }
+            shown[likeliest] = true;
+            text.append(place == 0 ? " " : " · ").append(HandEvaluator.getHandName(likeliest))
+                .append(String.format(" %.0f%%", odds[likeliest] * 100));
+        }
+        return text.toString();
+    }
+    
+    /**
+     * Asks for the chance to clear the blind from the current hand in the background. The search
+     * has a budget, and the chance is only shown if it finishes in time.
+     */
+    private void requestClearChance() {
+        chanceText.setText("");
+        solver.cancel();  // A solve for the previous hand would be dropped anyway
+        if (engine.getPlayer().getPlayableHands() <= 0) {
+            chanceAnalysis.cancel();
+            return;
+        }
+        GameState state = GameState.of(engine);
+        chanceAnalysis.submit(() -> solver.solve(state, SOLVER_NODES, SOLVER_MILLIS), chance -> {
+            if (!Double.isNaN(chance)) {
+                chanceText.setText(String.format("Chance to clear: %.0f%%", chance * 100));
+            }
+        });
+    }
+    
+    /**
+     * Asks for discard advice on the current hand in the background. The advice is shown when it
+     * arrives, unless the hand has changed since.
+     */
+    private void requestAdvice() {
+        adviceText.setText("");
+        if (engine.getPlayer().getDiscardableHands() <= 0 || engine.getPlayer().getPlayableHands() <= 0) {
+            adviceAnalysis.cancel();
+            return;
+        }
+        GameState state = GameState.of(engine);
+        adviceAnalysis.submit(() -> advisor.advise(state, 1), suggestions -> {
+            if (!suggestions.isEmpty()) {
+                adviceText.setText(describeAdvice(state, suggestions.get(0)));
+            }
+        });
+    }
+    
+    /**
+     * Describes a suggested discard, for example "Discard 7♣ 2♦: best play after ~84".
+     */
+    private static String describeAdvice(GameState state, DiscardAdvisor.Suggestion suggestion) {
+        StringBuilder text = new StringBuilder("Discard");
+        for (int bits = suggestion.getMask(); bits != 0; bits &= bits - 1) {
+            text.append(' ').append(PackedCard.toString(state.getCard(Integer.numberOfTrailingZeros(bits))));
+        }
+        return text.append(String.format(": best play after ~%.0f", suggestion.getExpectedScore())).toString();
     }
     
     /**
      * Plays the selected cards, updates the game state, and clears selection.
      */
     private void playSelectedCards() {
-        if (!selectedCardIndices.isEmpty()) {
-            gameManager.playCards(new ArrayList<>(selectedCardIndices));
-            selectedCardIndices.clear();
-            // Clear selection state of all cards
-            for (Card card : gameManager.getCurrentHand()) {
-                card.setSelected(false);
-            }
-            updateGameState();
+        if (selectedMask != 0 && !engine.canPlay(Integer.bitCount(selectedMask))) {
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle(engine.getCurrentBoss().getDisplayName());
+            alert.setHeaderText(null);
+            alert.setContentText(engine.getCurrentBoss().getDescription() + ".");
+            alert.showAndWait();
+            return;
+        }
+        
+        if (selectedMask != 0) {
+            engine.playCards(selectedMask);
+            clearSelection();
+            scheduleGameStateUpdate();
         }
     }
     
@@ -216,7 +477,7 @@ public class GameScreen {
      * Discards the selected cards, updates the game state, and clears selection.
      */
     private void discardSelectedCards() {
-        if (gameManager.getPlayer().getDiscardableHands() <= 0) {
+        if (engine.getPlayer().getDiscardableHands() <= 0) {
             Alert alert = new Alert(Alert.AlertType.WARNING);
             alert.setTitle("No Discards Remaining");
             alert.setHeaderText(null);
@@ -225,30 +486,47 @@ public class GameScreen {
             return;
         }
         
-        if (!selectedCardIndices.isEmpty()) {
-            gameManager.discardCards(new ArrayList<>(selectedCardIndices));
-            selectedCardIndices.clear();
-            // Clear selection state of all cards
-            for (Card card : gameManager.getCurrentHand()) {
-                card.setSelected(false);
-            }
-            updateGameState();
+        if (selectedMask != 0) {
+            engine.discardCards(selectedMask);
+            clearSelection();
+            scheduleGameStateUpdate();
         }
     }
     
     /**
-     * Updates the game state, including UI and game over checks.
+     * Clears the selection state of all cards in the hand.
      */
-    private void updateGameState() {
-        targetText.setText("Target: " + gameManager.getCurrentBlindTarget());
+    private void clearSelection() {
+        selectedMask = 0;
+        for (int i = 0; i < engine.getHand().getSize(); i++) {
+            showSelection(i);
+        }
+    }
+    
+    /**
+     * Marks the game state UI and the info panel to be updated at the next pulse, after a play or
+     * discard. The engine events the play fired mark their own updates, and each runs once.
+     */
+    private void scheduleGameStateUpdate() {
         gameManager.updateInfoPanel();
+        gameManager.getScheduler().invalidate(gameStateUpdate);
+    }
+    
+    /**
+     * Updates the game state UI after a play or discard.
+     */
+    private void updateGameState() {
+        targetText.setText("Target: " + ScoreMath.format(engine.getCurrentBlindTarget()));
         updateHandDisplay();
+        updatePreview();
         updateJokersDisplay();
         
-        if (gameManager.isGameOver()) {
-            gameManager.hideInfoPanel();
-            GameOverScreen gameOverScreen = new GameOverScreen(gameManager, stage, gameManager.getCurrentScore() >= gameManager.getCurrentBlindTarget());
-            gameOverScreen.show();
+        // The game manager moves on to the shop or the game over screen, so there's nothing left
+        // to advise on
+        if (engine.isBlindCleared() || engine.isGameOver()) {
+            return;
         }
+        requestAdvice();
+        requestClearChance();
     }
 } 
\ No newline at end of file
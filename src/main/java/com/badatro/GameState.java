@@ -0,0 +1,323 @@
+package com.badatro;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable snapshot of a blind in progress, built from packed cards and masks so search and
+ * what-if tools can fork it cheaply.
+ *
+ * Transitions return new states that share everything they don't change: the deck order is one
+ * array shared by every state forked from the same snapshot (a state only remembers how far into
+ * it it has drawn), and the rules (boss, jokers, weather, target) are shared references. A
+ * {@link #play} or {@link #discard} allocates only the new state and its new hand array.
+ *
+ * Cards are selected with masks over hand positions: bit i selects the card at index i.
+ */
+public final class GameState {
+    /** The most cards that can be played in one hand. */
+    public static final int MAX_PLAY_SIZE = 5;
+
+    private final int[] hand;          // Packed cards in hand order; never modified
+    private final int[] deck;          // Packed cards in draw order; shared, never modified
+    private final int deckPosition;    // Index of the next card to draw
+    private final long usedMask;       // Cards (by PackedCard.index) played or discarded this blind
+    private final long score;          // Packed score, see ScoreMath
+    private final int hands;
+    private final int discards;
+    private final long target;         // Packed score, see ScoreMath
+    private final BossEffect bossEffect;
+    private final Joker[] jokers;      // Shared, never modified
+    private final long fixedWeather;   // ScoreMath fixed point
+    private final long cardHash;       // Zobrist hash of where the cards are, updated by transitions
+    private final long ruleHash;       // Zobrist keys of the blind and jokers
+
+    private GameState(int[] hand, int[] deck, int deckPosition, long usedMask, long score,
+                      int hands, int discards, long target, BossEffect bossEffect,
+                      Joker[] jokers, long fixedWeather, long cardHash, long ruleHash) {
+        this.hand = hand;
+        this.deck = deck;
+        this.deckPosition = deckPosition;
+        this.usedMask = usedMask;
+        this.score = score;
+        this.hands = hands;
+        this.discards = discards;
+        this.target = target;
+        this.bossEffect = bossEffect;
+        this.jokers = jokers;
+        this.fixedWeather = fixedWeather;
+        this.cardHash = cardHash;
+        this.ruleHash = ruleHash;
+    }
+
+    /**
+     * Creates a state from packed cards. The arrays are copied once here and shared from then on.
+     * @param hand The packed cards in hand.
+     * @param deck The packed cards left in the deck, in draw order.
+     * @param score The score so far, as a packed score.
+     * @param target The score needed to clear the blind, as a packed score.
+     * @param hands The hands left to play.
+     * @param discards The discards left.
+     * @param bossEffect The rules of the blind.
+     * @param jokers The player's jokers.
+     * @param weatherMultiplier The weather multiplier.
+     * @return The state.
+     */
+    public static GameState of(int[] hand, int[] deck, long score, long target, int hands, int discards,
+                               BossEffect bossEffect, List<Joker> jokers, double weatherMultiplier) {
+        long cardHash = Zobrist.deck(deck);
+        for (int card : hand) {
+            cardHash ^= Zobrist.handCard(card);
+        }
+        Joker[] jokerArray = jokers.toArray(new Joker[0]);
+        return new GameState(hand.clone(), deck.clone(), 0, 0L, score, hands, discards, target,
+            bossEffect, jokerArray, ScoreMath.toFixedMult(weatherMultiplier), cardHash,
+            ruleHash(target, bossEffect, jokerArray));
+    }
+
+    private static long ruleHash(long target, BossEffect bossEffect, Joker[] jokers) {
+        long jokerHash = 0;
+        for (Joker joker : jokers) {
+            jokerHash += Zobrist.joker(joker);
+        }
+        return Zobrist.blind(target, bossEffect) ^ jokerHash;
+    }
+
+    /**
+     * Takes a snapshot of the blind an engine is playing.
+     * @param engine The engine.
+     * @return The state.
+     */
+    public static GameState of(GameEngine engine) {
+        int[] hand = engine.getCurrentHand();
+        int[] deck = engine.getDeck().getCards();
+        Player player = engine.getPlayer();
+        WeatherManager weather = engine.getWeatherManager();
+        Joker[] jokers = player.getActiveJokers().toArray(new Joker[0]);
+        return new GameState(hand, deck, 0, engine.getUsedMask(), engine.getCurrentScore(),
+            player.getPlayableHands(), player.getDiscardableHands(), engine.getCurrentBlindTarget(),
+            engine.getBossEffect(), jokers,
+            ScoreMath.toFixedMult(weather != null ? weather.getScoreMultiplier() : 1.0),
+            engine.getCardHash(), ruleHash(engine.getCurrentBlindTarget(), engine.getBossEffect(), jokers));
+    }
+
+    /**
+     * Checks whether the selected cards may be played.
+     * @param mask The selected hand positions.
+     * @return True if the play is allowed.
+     */
+    public boolean canPlay(int mask) {
+        int count = Integer.bitCount(mask);
+        return hands > 0 && isSelection(mask) && count <= MAX_PLAY_SIZE && bossEffect.allowsPlay(count);
+    }
+
+    /**
+     * Checks whether the selected cards may be discarded.
+     * @param mask The selected hand positions.
+     * @return True if the discard is allowed.
+     */
+    public boolean canDiscard(int mask) {
+        return discards > 0 && isSelection(mask);
+    }
+
+    private boolean isSelection(int mask) {
+        return mask != 0 && (mask >>> hand.length) == 0;
+    }
+
+    /**
+     * Scores the selected cards without changing the state.
+     * @param mask The selected hand positions.
+     * @return The score the play would add, as a packed score.
+     */
+    public long scorePlay(int mask) {
+        return HandScorer.score(hand, mask, bossEffect, jokers, discards, fixedWeather);
+    }
+
+    /**
+     * Scores any packed cards under this state's rules (boss, jokers and weather).
+     * @param cards The packed cards.
+     * @param mask The positions of the cards to play.
+     * @param discardsLeft The number of discards the player would have left.
+     * @return The score of the play, as a packed score.
+     */
+    public long scoreCards(int[] cards, int mask, int discardsLeft) {
+        return HandScorer.score(cards, mask, bossEffect, jokers, discardsLeft, fixedWeather);
+    }
+
+    /**
+     * Plays the selected cards and draws replacements, as GameEngine.playCards does.
+     * @param mask The selected hand positions.
+     * @return The state after the play.
+     * @throws IllegalArgumentException If the play is not allowed (see canPlay).
+     */
+    public GameState play(int mask) {
+        if (!canPlay(mask)) {
+            throw new IllegalArgumentException("Cannot play cards " + Integer.toBinaryString(mask));
+        }
+        long newScore = ScoreMath.add(score, scorePlay(mask));
+        int drawn = Math.min(Integer.bitCount(mask), deck.length - deckPosition);
+        return new GameState(replace(mask, drawn), deck, deckPosition + drawn, usedMask | cardMask(mask),
+            newScore, hands - 1, discards, target, bossEffect, jokers, fixedWeather,
+            movedHash(mask, drawn), ruleHash);
+    }
+
+    /**
+     * Discards the selected cards and draws replacements, as GameEngine.discardCards does.
+     * @param mask The selected hand positions.
+     * @return The state after the discard.
+     * @throws IllegalArgumentException If the discard is not allowed (see canDiscard).
+     */
+    public GameState discard(int mask) {
+        if (!canDiscard(mask)) {
+            throw new IllegalArgumentException("Cannot discard cards " + Integer.toBinaryString(mask));
+        }
+        int drawn = Math.min(Integer.bitCount(mask), deck.length - deckPosition);
+        return new GameState(replace(mask, drawn), deck, deckPosition + drawn, usedMask | cardMask(mask),
+            score, hands, discards - 1, target, bossEffect, jokers, fixedWeather,
+            movedHash(mask, drawn), ruleHash);
+    }
+
+    /**
+     * Builds the hand left after removing the selected cards and drawing from the deck.
+     * Kept cards stay in order and drawn cards go to the end, as in Hand.
+     */
+    private int[] replace(int mask, int drawn) {
+        int[] newHand = new int[hand.length - Integer.bitCount(mask) + drawn];
+        int size = 0;
+        for (int i = 0; i < hand.length; i++) {
+            if ((mask & (1 << i)) == 0) {
+                newHand[size++] = hand[i];
+            }
+        }
+        System.arraycopy(deck, deckPosition, newHand, size, drawn);
+        return newHand;
+    }
+
+    /**
+     * Updates the card hash for the selected cards leaving the hand and the next cards being drawn.
+     */
+    private long movedHash(int mask, int drawn) {
+        long hash = cardHash;
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            hash ^= Zobrist.use(hand[Integer.numberOfTrailingZeros(bits)]);
+        }
+        for (int i = deckPosition; i < deckPosition + drawn; i++) {
+            hash ^= Zobrist.draw(deck[i]);
+        }
+        return hash;
+    }
+
+    private long cardMask(int mask) {
+        long cards = 0;
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            cards |= PackedCard.bit(hand[Integer.numberOfTrailingZeros(bits)]);
+        }
+        return cards;
+    }
+
+    /**
+     * Checks whether the blind has been cleared.
+     * @return True if the score has reached the target.
+     */
+    public boolean isWon() {
+        return score >= target;
+    }
+
+    /**
+     * Checks whether the blind has been lost.
+     * @return True if no hands are left and the target wasn't reached.
+     */
+    public boolean isLost() {
+        return hands <= 0 && score < target;
+    }
+
+    /**
+     * Checks whether another state is played under the same rules: target, boss, jokers and weather.
+     * Results computed for one state's cards and counters then hold for the other.
+     * @param other The other state.
+     * @return True if the rules are the same.
+     */
+    public boolean hasSameRules(GameState other) {
+        return target == other.target && bossEffect == other.bossEffect
+            && fixedWeather == other.fixedWeather && Arrays.equals(jokers, other.jokers);
+    }
+
+    /**
+     * Gets a 64-bit Zobrist hash of the state: hand, deck, played and discarded cards, score,
+     * hands and discards left, jokers and blind. Transitions update it incrementally.
+     * @return The state hash.
+     */
+    public long getHash() {
+        return cardHash ^ Zobrist.score(score) ^ Zobrist.hands(hands) ^ Zobrist.discards(discards) ^ ruleHash;
+    }
+
+    public int getHandSize() {
+        return hand.length;
+    }
+
+    /**
+     * Gets a card in hand.
+     * @param index The hand position.
+     * @return The packed card.
+     */
+    public int getCard(int index) {
+        return hand[index];
+    }
+
+    /**
+     * Gets a copy of the hand.
+     * @return The packed cards in hand order.
+     */
+    public int[] getHand() {
+        return hand.clone();
+    }
+
+    public int getDeckRemaining() {
+        return deck.length - deckPosition;
+    }
+
+    /**
+     * Gets a card still in the deck.
+     * @param index The position in draw order, 0 for the next card.
+     * @return The packed card.
+     */
+    public int getDeckCard(int index) {
+        return deck[deckPosition + index];
+    }
+
+    public long getUsedMask() {
+        return usedMask;
+    }
+
+    public long getScore() {
+        return score;
+    }
+
+    public long getTarget() {
+        return target;
+    }
+
+    public int getHands() {
+        return hands;
+    }
+
+    public int getDiscards() {
+        return discards;
+    }
+
+    /**
+     * Gets the player's jokers.
+     * @return A copy of the jokers.
+     */
+    public Joker[] getJokers() {
+        return jokers.clone();
+    }
+
+    public BossEffect getBossEffect() {
+        return bossEffect;
+    }
+
+    public long getFixedWeather() {
+        return fixedWeather;
+    }
+}
@@ -1,48 +1,43 @@
 package com.badatro;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Represents a player's hand of cards, including adding, removing, and checking cards.
+ * Cards are kept as packed ints (see PackedCard) in a fixed array in hand order; selections are
+ * 8-bit masks where bit i is the card at index i.
  */
 public class Hand {
-    private List<Card> cards;
-    private static final int MAX_HAND_SIZE = 8;  // Allow up to 8 cards in hand
+    public static final int MAX_HAND_SIZE = 8;   // Allow up to 8 cards in hand
     private static final int MAX_PLAY_SIZE = 5;  // Only allow playing up to 5 cards at once
+    private final int[] cards;
+    private int size;
     
     /**
      * Constructs an empty hand.
      */
     public Hand() {
-        cards = new ArrayList<>();
+        cards = new int[MAX_HAND_SIZE];
     }
     
     /**
      * Adds a card to the hand if there is space.
-     * @param card The card to add.
+     * @param card The packed card to add.
      */
-    public void addCard(Card card) {
-        if (cards.size() < MAX_HAND_SIZE) {
-            cards.add(card);
+    public void addCard(int card) {
+        if (size < MAX_HAND_SIZE) {
+            cards[size++] = card;
         }
     }
     
-    /**
-     * Removes a card from the hand.
-     * @param card The card to remove.
-     */
-    public void removeCard(Card card) {
-        cards.remove(card);
-    }
-    
     /**
      * Removes a card at the specified index from the hand.
      * @param index The index of the card to remove.
      */
     public void removeCard(int index) {
-        if (index >= 0 && index < cards.size()) {
-            cards.remove(index);
+        if (index >= 0 && index < size) {
+            removeCards(1 << index);
         }
     }
     
@@ -51,35 +46,56 @@ public class Hand {
      * @param indices The indices of the cards to remove.
      */
     public void removeCards(List<Integer> indices) {
-        // Sort indices in descending order to avoid index shifting
-        List<Integer> sortedIndices = new ArrayList<>(indices);
-        sortedIndices.sort((a, b) -> b - a);
-        
-        for (int index : sortedIndices) {
-            if (index >= 0 && index < cards.size()) {
-                cards.remove(index);
+        removeCards(toMask(indices));
+    }
+    
+    /**
+     * Removes the selected cards from the hand, keeping the rest in order.
+     * @param selectMask Bit i set to remove the card at index i; bits past the hand are ignored.
+     */
+    public void removeCards(int selectMask) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if ((selectMask & (1 << i)) == 0) {
+                cards[kept++] = cards[i];
+            }
+        }
+        size = kept;
+    }
+    
+    /**
+     * Converts card indices to a selection mask, ignoring indices outside the hand.
+     * @param indices The indices of the cards.
+     * @return The selection mask.
+     */
+    public int toMask(List<Integer> indices) {
+        int mask = 0;
+        for (int index : indices) {
+            if (index >= 0 && index < size) {
+                mask |= 1 << index;
             }
         }
+        return mask;
     }
     
     /**
      * Gets the card at the specified index.
      * @param index The index of the card to get.
-     * @return The card at the specified index, or null if out of bounds.
+     * @return The packed card at the specified index, or PackedCard.NONE if out of bounds.
      */
-    public Card getCard(int index) {
-        if (index >= 0 && index < cards.size()) {
-            return cards.get(index);
+    public int getCard(int index) {
+        if (index >= 0 && index < size) {
+            return cards[index];
         }
-        return null;
+        return PackedCard.NONE;
     }
     
     /**
-     * Gets a copy of the list of cards in the hand.
-     * @return A list of cards in the hand.
+     * Gets a copy of the cards in the hand.
+     * @return The packed cards in hand order.
      */
-    public List<Card> getCards() {
-        return new ArrayList<>(cards);
+    public int[] getCards() {
+        return Arrays.copyOf(cards, size);
     }
     
     /**
@@ -87,7 +103,7 @@ public class Hand {
      * @return The number of cards in the hand.
      */
     public int getSize() {
-        return cards.size();
+        return size;
     }
     
     /**
@@ -95,7 +111,7 @@ public class Hand {
      * @return True if the hand is full, false otherwise.
      */
     public boolean isFull() {
-        return cards.size() >= MAX_HAND_SIZE;
+        return size >= MAX_HAND_SIZE;
     }
     
     /**
@@ -111,15 +127,30 @@ public class Hand {
      * Clears all cards from the hand.
      */
     public void clear() {
-        cards.clear();
+        size = 0;
     }
     
     /**
-     * Checks if the hand contains the specified card.
-     * @param card The card to check for.
+     * Checks if the hand contains a card of the given rank and suit.
+     * @param card The packed card to check for; its modifiers are ignored.
      * @return True if the card is in the hand, false otherwise.
      */
-    public boolean contains(Card card) {
-        return cards.contains(card);
+    public boolean contains(int card) {
+        return indexOf(card) >= 0;
+    }
+    
+    /**
+     * Finds a card of the given rank and suit in the hand.
+     * @param card The packed card to look for; its modifiers are ignored.
+     * @return The index of the card, or -1 if it isn't in the hand.
+     */
+    public int indexOf(int card) {
+        int index = PackedCard.index(card);
+        for (int i = 0; i < size; i++) {
+            if (PackedCard.index(cards[i]) == index) {
+                return i;
+            }
+        }
+        return -1;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
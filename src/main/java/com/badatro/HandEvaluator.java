@@ -1,8 +1,5 @@
 package com.badatro;
 
-import java.util.*;
-import java.util.stream.Collectors;
-
 /**
  * Evaluates poker hands and calculates their scores.
  */
@@ -11,223 +8,253 @@ public class HandEvaluator {
         private final String handType;
         private final int baseChips;
         private final int baseMult;
-        private final List<Card> cards;
+        private final int[] cards;      // Packed cards, in play order
+        private final int scoringMask;  // Bit i set when cards[i] is part of the hand
         
-        public HandResult(String handType, int baseChips, int baseMult, List<Card> cards) {
+        public HandResult(String handType, int baseChips, int baseMult, int[] cards, int scoringMask) {
             this.handType = handType;
             this.baseChips = baseChips;
             this.baseMult = baseMult;
-            this.cards = new ArrayList<>(cards);
+            this.cards = cards.clone();
+            this.scoringMask = scoringMask;
         }
         
         public String getHandType() { return handType; }
         public int getBaseChips() { return baseChips; }
         public int getBaseMult() { return baseMult; }
-        public List<Card> getCards() { return new ArrayList<>(cards); }
+        public int[] getCards() { return cards.clone(); }
+        public int getScoringMask() { return scoringMask; }
+        
+        /**
+         * Checks whether the played card at the given index counts towards the hand.
+         * @param index The index of the card in the played cards.
+         * @return True if the card is a scoring card, false if it is a kicker.
+         */
+        public boolean isScoring(int index) {
+            return (scoringMask & (1 << index)) != 0;
+        }
+        
+        /**
+         * Gets the played cards that make up the hand, in play order.
+         * @return The packed scoring cards.
+         */
+        public int[] getScoringCards() {
+            int[] scoring = new int[Integer.bitCount(scoringMask)];
+            int count = 0;
+            for (int i = 0; i < cards.length; i++) {
+                if (isScoring(i)) {
+                    scoring[count++] = cards[i];
+                }
+            }
+            return scoring;
+        }
     }
     
+    // Hand types, from weakest to strongest; they index the tables below
+    public static final int HIGH_CARD = 0;
+    public static final int PAIR = 1;
+    public static final int TWO_PAIR = 2;
+    public static final int THREE_OF_A_KIND = 3;
+    public static final int STRAIGHT = 4;
+    public static final int FLUSH = 5;
+    public static final int FULL_HOUSE = 6;
+    public static final int FOUR_OF_A_KIND = 7;
+    public static final int STRAIGHT_FLUSH = 8;
+    public static final int ROYAL_FLUSH = 9;
+    
+    private static final String[] HAND_NAMES = {
+        "High Card", "Pair", "Two Pair", "Three of a Kind", "Straight",
+        "Flush", "Full House", "Four of a Kind", "Straight Flush", "Royal Flush"
+    };
+    private static final int[] HAND_CHIPS = {5, 10, 20, 30, 30, 35, 40, 60, 100, 100};
+    private static final int[] HAND_MULTS = {1, 2, 2, 3, 4, 4, 4, 7, 8, 8};
+    
+    // Rank bits for the two straights that need special handling
+    static final int ROYAL_RANKS = 0x1F << 10;                 // 10, J, Q, K, A
+    static final int WHEEL_RANKS = (1 << 14) | (0xF << 2);     // A, 2, 3, 4, 5
+    
+    private static final int TYPE_SHIFT = 16;
+    private static final int MASK_BITS = (1 << TYPE_SHIFT) - 1;
+    
     /**
      * Evaluates a hand of cards and returns its score.
-     * @param cards The list of cards to evaluate.
+     * The hand type and the mask of scoring cards are worked out in a single pass over the cards.
+     * @param cards The packed cards to evaluate, in play order.
      * @return The score of the hand.
      */
-    public static HandResult evaluateHand(List<Card> cards) {
-        if (cards == null || cards.isEmpty()) {
-            return new HandResult("Invalid", 0, 0, new ArrayList<>());
+    public static HandResult evaluateHand(int[] cards) {
+        if (cards == null || cards.length == 0) {
+            return new HandResult("Invalid", 0, 0, new int[0], 0);
         }
         
+        int evaluation = evaluate(cards, (1 << cards.length) - 1);
+        int type = handType(evaluation);
+        return new HandResult(HAND_NAMES[type], HAND_CHIPS[type], HAND_MULTS[type], cards, scoringMask(evaluation));
+    }
+    
+    /**
+     * Evaluates the selected cards of an array of packed cards without allocating.
+     * Positions in the scoring mask refer to the array, so a hand can be scored in place.
+     * @param cards The packed cards.
+     * @param selectMask Bit i set when cards[i] is played; must not be empty.
+     * @return The evaluation; read it with handType and scoringMask.
+     */
+    public static int evaluate(int[] cards, int selectMask) {
+        // First pass: count each rank in a 4-bit field of one long, and track the suit
+        int n = Integer.bitCount(selectMask);
+        long rankCounts = 0;
+        int rankMask = 0;
+        int firstSuit = PackedCard.suit(cards[Integer.numberOfTrailingZeros(selectMask)]);
+        boolean sameSuit = true;
+        for (int bits = selectMask; bits != 0; bits &= bits - 1) {
+            int card = cards[Integer.numberOfTrailingZeros(bits)];
+            int rank = PackedCard.rank(card);
+            rankCounts += 1L << (rank << 2);
+            rankMask |= 1 << rank;
+            sameSuit &= PackedCard.suit(card) == firstSuit;
+        }
+        
+        boolean flush = n >= 5 && sameSuit;
+        boolean straight = n >= 5 && Integer.bitCount(rankMask) == n && isConsecutive(rankMask);
+        
         // Check for Royal Flush
-        if (isRoyalFlush(cards)) {
-            return new HandResult("Royal Flush", 100, 8, cards);
+        if (flush && straight && rankMask == ROYAL_RANKS) {
+            return encode(ROYAL_FLUSH, selectMask);
         }
         
         // Check for Straight Flush
-        if (isStraightFlush(cards)) {
-            return new HandResult("Straight Flush", 100, 8, cards);
+        if (flush && straight) {
+            return encode(STRAIGHT_FLUSH, selectMask);
+        }
+        
+        // Second pass: sort the card positions by how many times their rank appears
+        int highRank = 31 - Integer.numberOfLeadingZeros(rankMask);
+        int quads = 0;
+        int trips = 0;
+        int pairs = 0;
+        int highCard = 0;
+        for (int bits = selectMask; bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            int rank = PackedCard.rank(cards[i]);
+            int count = (int) (rankCounts >>> (rank << 2)) & 0xF;
+            if (count >= 4) quads |= 1 << i;
+            if (count >= 3) trips |= 1 << i;
+            if (count >= 2) pairs |= 1 << i;
+            if (rank == highRank && highCard == 0) highCard = 1 << i;
+        }
+        
+        // Facts about the distinct ranks
+        int pairCount = 0;
+        boolean hasExactTrips = false;
+        boolean hasExactPair = false;
+        for (int ranks = rankMask; ranks != 0; ranks &= ranks - 1) {
+            int count = (int) (rankCounts >>> (Integer.numberOfTrailingZeros(ranks) << 2)) & 0xF;
+            if (count >= 2) pairCount++;
+            hasExactTrips |= count == 3;
+            hasExactPair |= count == 2;
         }
         
         // Check for Four of a Kind
-        if (isFourOfAKind(cards)) {
-            return new HandResult("Four of a Kind", 60, 7, cards);
+        if (quads != 0) {
+            return encode(FOUR_OF_A_KIND, quads);
         }
         
         // Check for Full House
-        if (isFullHouse(cards)) {
-            return new HandResult("Full House", 40, 4, cards);
+        if (hasExactTrips && hasExactPair) {
+            return encode(FULL_HOUSE, pairs);
         }
         
         // Check for Flush
-        if (isFlush(cards)) {
-            return new HandResult("Flush", 35, 4, cards);
+        if (flush) {
+            return encode(FLUSH, selectMask);
         }
         
         // Check for Straight
-        if (isStraight(cards)) {
-            return new HandResult("Straight", 30, 4, cards);
+        if (straight) {
+            return encode(STRAIGHT, selectMask);
         }
         
         // Check for Three of a Kind
-        if (isThreeOfAKind(cards)) {
-            return new HandResult("Three of a Kind", 30, 3, cards);
+        if (trips != 0) {
+            return encode(THREE_OF_A_KIND, trips);
         }
         
         // Check for Two Pair
-        if (isTwoPair(cards)) {
-            return new HandResult("Two Pair", 20, 2, cards);
+        if (pairCount >= 2) {
+            return encode(TWO_PAIR, pairs);
         }
         
         // Check for Pair
-        if (isPair(cards)) {
-            return new HandResult("Pair", 10, 2, cards);
+        if (pairCount == 1) {
+            return encode(PAIR, pairs);
         }
         
-        // High Card - base chips of 5, multiplier of 1
-        return new HandResult("High Card", 5, 1, cards);
+        // High Card - only the first copy of the highest rank scores
+        return encode(HIGH_CARD, highCard);
     }
     
     /**
-     * Checks if a hand is a royal flush.
-     * @param cards The list of cards to check.
-     * @return True if the hand is a royal flush, false otherwise.
+     * Packs a hand type and scoring mask into an evaluation, for callers that work out the hand
+     * themselves, like HandPreview.
+     * @param handType One of the hand type constants.
+     * @param scoringMask The positions of the cards that make up the hand.
+     * @return The evaluation, as evaluate would return it.
      */
-    private static boolean isRoyalFlush(List<Card> cards) {
-        if (!isStraightFlush(cards)) return false;
-        List<Integer> ranks = cards.stream()
-            .map(Card::getRank)
-            .sorted()
-            .collect(Collectors.toList());
-        return ranks.get(0) == 10 && ranks.get(4) == 14;
+    public static int encode(int handType, int scoringMask) {
+        return (handType << TYPE_SHIFT) | scoringMask;
     }
     
     /**
-     * Checks if a hand is a straight flush.
-     * @param cards The list of cards to check.
-     * @return True if the hand is a straight flush, false otherwise.
+     * Gets the hand type from an evaluation.
+     * @param evaluation The result of evaluate.
+     * @return One of the hand type constants.
      */
-    private static boolean isStraightFlush(List<Card> cards) {
-        return isFlush(cards) && isStraight(cards);
+    public static int handType(int evaluation) {
+        return evaluation >>> TYPE_SHIFT;
     }
     
     /**
-     * Checks if a hand is a four of a kind.
-     * @param cards The list of cards to check.
-     * @return True if the hand is a four of a kind, false otherwise.
+     * Gets the positions of the cards that make up the hand from an evaluation.
+     * @param evaluation The result of evaluate.
+     * @return The scoring mask, a subset of the selection.
      */
-    private static boolean isFourOfAKind(List<Card> cards) {
-        Map<Integer, Long> rankCounts = cards.stream()
-            .collect(Collectors.groupingBy(
-                Card::getRank,
-                Collectors.counting()
-            ));
-        return rankCounts.values().stream().anyMatch(count -> count >= 4);
+    public static int scoringMask(int evaluation) {
+        return evaluation & MASK_BITS;
     }
     
-    /**
-     * Checks if a hand is a full house.
-     * @param cards The list of cards to check.
-     * @return True if the hand is a full house, false otherwise.
-     */
-    private static boolean isFullHouse(List<Card> cards) {
-        Map<Integer, Long> rankCounts = cards.stream()
-            .collect(Collectors.groupingBy(
-                Card::getRank,
-                Collectors.counting()
-            ));
-        return rankCounts.values().stream().anyMatch(count -> count == 3) &&
-               rankCounts.values().stream().anyMatch(count -> count == 2);
+    public static String getHandName(int handType) {
+        return HAND_NAMES[handType];
     }
     
-    /**
-     * Checks if a hand is a flush.
-     * @param cards The list of cards to check.
-     * @return True if the hand is a flush, false otherwise.
-     */
-    private static boolean isFlush(List<Card> cards) {
-        if (cards.size() < 5) return false;
-        int firstSuit = cards.get(0).getSuit();
-        return cards.stream().allMatch(card -> card.getSuit() == firstSuit);
-    }
-    
-    /**
-     * Checks if a hand is a straight.
-     * @param cards The list of cards to check.
-     * @return True if the hand is a straight, false otherwise.
-     */
-    private static boolean isStraight(List<Card> cards) {
-        if (cards.size() < 5) return false;
-        List<Integer> ranks = cards.stream()
-            .map(Card::getRank)
-            .sorted()
-            .collect(Collectors.toList());
-        
-        // Check for A-2-3-4-5 straight
-        if (ranks.contains(14)) { // Ace
-            List<Integer> lowAceRanks = new ArrayList<>(ranks);
-            lowAceRanks.remove(Integer.valueOf(14));
-            lowAceRanks.add(1);
-            Collections.sort(lowAceRanks);
-            if (isConsecutive(lowAceRanks)) return true;
-        }
-        
-        return isConsecutive(ranks);
+    public static int getBaseChips(int handType) {
+        return HAND_CHIPS[handType];
     }
     
-    private static boolean isConsecutive(List<Integer> numbers) {
-        for (int i = 1; i < numbers.size(); i++) {
-            if (numbers.get(i) != numbers.get(i-1) + 1) {
-                return false;
-            }
-        }
-        return true;
+    public static int getBaseMult(int handType) {
+        return HAND_MULTS[handType];
     }
     
     /**
-     * Checks if a hand is a three of a kind.
-     * @param cards The list of cards to check.
-     * @return True if the hand is a three of a kind, false otherwise.
+     * Checks if a set of rank bits forms five consecutive ranks, counting the ace low for A-2-3-4-5.
+     * @param rankMask The rank bits (bit r set for rank r).
+     * @return True if the ranks are consecutive, false otherwise.
      */
-    private static boolean isThreeOfAKind(List<Card> cards) {
-        Map<Integer, Long> rankCounts = cards.stream()
-            .collect(Collectors.groupingBy(
-                Card::getRank,
-                Collectors.counting()
-            ));
-        return rankCounts.values().stream().anyMatch(count -> count >= 3);
+    private static boolean isConsecutive(int rankMask) {
+        if (rankMask == WHEEL_RANKS) return true;
+        int low = Integer.numberOfTrailingZeros(rankMask);
+        return (rankMask >>> low) == (1 << Integer.bitCount(rankMask)) - 1;
     }
     
-    /**
-     * Checks if a hand is a two pair.
-     * @param cards The list of cards to check.
-     * @return True if the hand is a two pair, false otherwise.
-     */
-    private static boolean isTwoPair(List<Card> cards) {
-        Map<Integer, Long> rankCounts = cards.stream()
-            .collect(Collectors.groupingBy(
-                Card::getRank,
-                Collectors.counting()
-            ));
-        long pairCount = rankCounts.values().stream()
-            .filter(count -> count >= 2)
-            .count();
-        return pairCount >= 2;
+    public static int calculateCardChips(Card card) {
+        return calculateCardChips(card.getRank());
     }
     
     /**
-     * Checks if a hand is a pair.
-     * @param cards The list of cards to check.
-     * @return True if the hand is a pair, false otherwise.
+     * Gets the chips a card of the given rank is worth, before modifiers.
+     * @param rank The rank of the card (2-14, where 14 is Ace).
+     * @return The chip value.
      */
-    private static boolean isPair(List<Card> cards) {
-        Map<Integer, Long> rankCounts = cards.stream()
-            .collect(Collectors.groupingBy(
-                Card::getRank,
-                Collectors.counting()
-            ));
-        return rankCounts.values().stream().anyMatch(count -> count >= 2);
-    }
-    
-    public static int calculateCardChips(Card card) {
-        int rank = card.getRank();
+    public static int calculateCardChips(int rank) {
         // Face cards (J, Q, K) are worth 10
         if (rank >= 11 && rank <= 13) {
             return 10;
@@ -0,0 +1,342 @@
+package com.badatro;
+
+import java.util.List;
+
+/**
+ * Predicts the hand type, chips, mult and score of the cards selected in a hand, as
+ * GameEngine.playCards would score them.
+ *
+ * The preview is updated one card at a time: selecting or deselecting a card adjusts per-rank and
+ * per-suit counts of the selection, and the sets of paired, tripled and quadrupled ranks, so the
+ * hand type is read from them instead of evaluating the selection again. The hand is then scored
+ * by HandScorer, like a played hand.
+ * A selection the boss doesn't allow, such as too few cards for The Psychic, scores nothing.
+ */
+public class HandPreview {
+    // The hand and rules the preview was reset with
+    private final int[] cards = new int[Hand.MAX_HAND_SIZE];
+    private int size;
+    private BossEffect bossEffect = BossEffect.NONE;
+    private Joker[] jokers = new Joker[0];
+    private int discardsLeft;
+    private long fixedWeather = ScoreMath.MULT_SCALE;
+    private long stateHash;
+
+    // The selection, counted by rank (4 bits per rank) and by suit
+    private int selectMask;
+    private int selected;
+    private long rankCounts;
+    private int rankMask;
+    private final int[] suitCounts = new int[4];
+
+    // Rank bits of the ranks selected at least two, three and four times, and the number of ranks
+    // selected exactly two and three times
+    private int pairRanks;
+    private int tripRanks;
+    private int quadRanks;
+    private int exactPairs;
+    private int exactTrips;
+
+    // The preview
+    private final HandScorer.Result scored = new HandScorer.Result();
+    private int handType = -1;
+    private boolean allowed = true;
+    private int scoringMask;
+    private int chips;
+    private long mult;
+    private long chipBonus;
+    private long score;
+
+    /**
+     * Loads the hand and rules from the engine and selects the given cards.
+     * @param engine The engine.
+     * @param selectMask Bit i set when the card at index i is selected.
+     */
+    public void reset(GameEngine engine, int selectMask) {
+        WeatherManager weather = engine.getWeatherManager();
+        List<Joker> active = engine.getActiveJokers();
+        reset(engine.getHand().getCards(), engine.getBossEffect(), active.toArray(new Joker[0]),
+            engine.getPlayer().getDiscardableHands(),
+            ScoreMath.toFixedMult(weather != null ? weather.getScoreMultiplier() : 1.0), selectMask);
+        stateHash = engine.getStateHash();
+    }
+
+    /**
+     * Loads a hand and rules and selects the given cards, without an engine.
+     * @param hand The packed cards in hand order; only the first Hand.MAX_HAND_SIZE are used.
+     * @param bossEffect The boss's rules.
+     * @param jokers The active jokers, in order.
+     * @param discardsLeft The discards left, for jokers that count them.
+     * @param fixedWeather The weather multiplier, fixed point (see ScoreMath.MULT_SCALE).
+     * @param selectMask Bit i set when the card at index i is selected.
+     */
+    void reset(int[] hand, BossEffect bossEffect, Joker[] jokers, int discardsLeft, long fixedWeather,
+            int selectMask) {
+        size = Math.min(hand.length, Hand.MAX_HAND_SIZE);
+        System.arraycopy(hand, 0, cards, 0, size);
+        this.bossEffect = bossEffect;
+        this.jokers = jokers;
+        this.discardsLeft = discardsLeft;
+        this.fixedWeather = fixedWeather;
+
+        this.selectMask = 0;
+        selected = 0;
+        rankCounts = 0;
+        rankMask = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            suitCounts[suit] = 0;
+        }
+        pairRanks = 0;
+        tripRanks = 0;
+        quadRanks = 0;
+        exactPairs = 0;
+        exactTrips = 0;
+        for (int bits = selectMask & ((1 << size) - 1); bits != 0; bits &= bits - 1) {
+            add(Integer.numberOfTrailingZeros(bits));
+        }
+        update();
+    }
+
+    /**
+     * Checks whether the preview still matches the engine, or needs a reset.
+     * @param engine The engine.
+     * @return True if the hand, counters, jokers and blind are unchanged since the last reset.
+     */
+    public boolean matches(GameEngine engine) {
+        return stateHash == engine.getStateHash();
+    }
+
+    /**
+     * Selects or deselects one card and updates the preview.
+     * @param index The index of the card in the hand.
+     * @return False if the card couldn't be selected because the selection is full.
+     */
+    public boolean toggle(int index) {
+        if (index < 0 || index >= size) {
+            return false;
+        }
+        if ((selectMask & (1 << index)) != 0) {
+            remove(index);
+        } else if (selected < GameState.MAX_PLAY_SIZE) {
+            add(index);
+        } else {
+            return false;
+        }
+        update();
+        return true;
+    }
+
+    private void add(int index) {
+        int card = cards[index];
+        int rank = PackedCard.rank(card);
+        selectMask |= 1 << index;
+        selected++;
+        rankCounts += 1L << (rank << 2);
+        rankMask |= 1 << rank;
+        suitCounts[PackedCard.suit(card)]++;
+
+        int count = rankCount(rank);
+        if (count == 2) {
+            pairRanks |= 1 << rank;
+            exactPairs++;
+        } else if (count == 3) {
+            tripRanks |= 1 << rank;
+            exactPairs--;
+            exactTrips++;
+        } else if (count == 4) {
+            quadRanks |= 1 << rank;
+            exactTrips--;
+        }
+    }
+
+    private void remove(int index) {
+        int card = cards[index];
+        int rank = PackedCard.rank(card);
+        selectMask &= ~(1 << index);
+        selected--;
+        rankCounts -= 1L << (rank << 2);
+        suitCounts[PackedCard.suit(card)]--;
+
+        int count = rankCount(rank);
+        if (count == 0) {
+            rankMask &= ~(1 << rank);
+        } else if (count == 1) {
+            pairRanks &= ~(1 << rank);
+            exactPairs--;
+        } else if (count == 2) {
+            tripRanks &= ~(1 << rank);
+            exactTrips--;
+            exactPairs++;
+        } else if (count == 3) {
+            quadRanks &= ~(1 << rank);
+            exactTrips++;
+        }
+    }
+
+    private int rankCount(int rank) {
+        return (int) (rankCounts >>> (rank << 2)) & 0xF;
+    }
+
+    /**
+     * Works out the hand type from the counts, with the same rules as HandEvaluator.evaluate,
+     * then scores it with HandScorer. Only the scoring looks at the selected cards again.
+     */
+    private void update() {
+        allowed = selected == 0 || bossEffect.allowsPlay(selected);
+        if (selected == 0) {
+            handType = -1;
+            scoringMask = 0;
+            chips = 0;
+            mult = 0;
+            chipBonus = 0;
+            score = 0;
+            return;
+        }
+
+        boolean flush = false;
+        for (int suit = 0; suit < 4; suit++) {
+            flush |= selected >= 5 && suitCounts[suit] == selected;
+        }
+        boolean straight = selected >= 5 && Integer.bitCount(rankMask) == selected
+            && (rankMask == HandEvaluator.WHEEL_RANKS
+                || (rankMask >>> Integer.numberOfTrailingZeros(rankMask)) == (1 << selected) - 1);
+
+        int handMask;
+        if (flush && straight) {
+            handType = rankMask == HandEvaluator.ROYAL_RANKS ? HandEvaluator.ROYAL_FLUSH : HandEvaluator.STRAIGHT_FLUSH;
+            handMask = selectMask;
+        } else if (quadRanks != 0) {
+            handType = HandEvaluator.FOUR_OF_A_KIND;
+            handMask = positions(quadRanks);
+        } else if (exactTrips > 0 && exactPairs > 0) {
+            handType = HandEvaluator.FULL_HOUSE;
+            handMask = positions(pairRanks);
+        } else if (flush) {
+            handType = HandEvaluator.FLUSH;
+            handMask = selectMask;
+        } else if (straight) {
+            handType = HandEvaluator.STRAIGHT;
+            handMask = selectMask;
+        } else if (tripRanks != 0) {
+            handType = HandEvaluator.THREE_OF_A_KIND;
+            handMask = positions(tripRanks);
+        } else if (Integer.bitCount(pairRanks) >= 2) {
+            handType = HandEvaluator.TWO_PAIR;
+            handMask = positions(pairRanks);
+        } else if (pairRanks != 0) {
+            handType = HandEvaluator.PAIR;
+            handMask = positions(pairRanks);
+        } else {
+            // Only the first copy of the highest rank scores
+            handType = HandEvaluator.HIGH_CARD;
+            handMask = Integer.lowestOneBit(positions(Integer.highestOneBit(rankMask)));
+        }
+
+        if (!allowed) {
+            // GameEngine.playCards refuses the play, so only the hand type is shown
+            scoringMask = 0;
+            chips = 0;
+            mult = 0;
+            chipBonus = 0;
+            score = 0;
+            return;
+        }
+        score = HandScorer.scoreHand(cards, HandEvaluator.encode(handType, handMask), bossEffect, jokers,
+            discardsLeft, fixedWeather, ScoreTrace.NONE, scored);
+        scoringMask = scored.getScoringMask();
+        chips = scored.getChips();
+        mult = scored.getFixedMult();
+        chipBonus = scored.getChipBonus();
+    }
+
+    /**
+     * Gets the positions of the selected cards whose rank is in a set of rank bits.
+     */
+    private int positions(int ranks) {
+        int mask = 0;
+        for (int bits = selectMask; bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            if ((ranks & (1 << PackedCard.rank(cards[i]))) != 0) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    public int getSelectMask() {
+        return selectMask;
+    }
+
+    /**
+     * Gets the predicted hand type.
+     * @return One of the HandEvaluator hand type constants, or -1 when nothing is selected.
+     */
+    public int getHandType() {
+        return handType;
+    }
+
+    /**
+     * Checks whether the boss allows the selection to be played.
+     * @return True if the selection can be played, or nothing is selected.
+     */
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    /**
+     * Gets the cards that would score.
+     * @return Bit i set when the card at index i scores.
+     */
+    public int getScoringMask() {
+        return scoringMask;
+    }
+
+    /**
+     * Gets the chips from the hand type and scoring cards, before joker chips.
+     * @return The chips.
+     */
+    public int getChips() {
+        return chips;
+    }
+
+    /**
+     * Gets the final mult, after card, joker and weather multipliers.
+     * @return The mult.
+     */
+    public double getMult() {
+        return ScoreMath.multToDouble(mult);
+    }
+
+    /**
+     * Gets the chips jokers add after the mult is applied.
+     * @return The joker chips.
+     */
+    public long getChipBonus() {
+        return chipBonus;
+    }
+
+    /**
+     * Gets the predicted score of playing the selection.
+     * @return The score, as a packed score; 0 if the play isn't allowed.
+     */
+    public long getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        if (handType < 0) {
+            return "";
+        }
+        if (!allowed) {
+            return HandEvaluator.getHandName(handType) + ": not allowed, play "
+                + bossEffect.getRequiredPlaySize() + " cards";
+        }
+        String text = HandEvaluator.getHandName(handType) + ": " + chips + " x "
+            + String.format("%.1f", getMult());
+        if (chipBonus != 0) {
+            text += " + " + chipBonus;
+        }
+        return text + " = " + ScoreMath.format(score);
+    }
+}
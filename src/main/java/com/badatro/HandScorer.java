@@ -0,0 +1,169 @@
+package com.badatro;
+
+/**
+ * Scores packed cards. This is the one place the scoring rules live: GameEngine scores played
+ * hands with it, HandPreview scores the selection, and GameState and the search tools built on it
+ * score what-if plays. Scoring has no side effects and doesn't allocate; a ScoreTrace can record
+ * the breakdown, and a Result can keep the chips and mult behind the score.
+ */
+public final class HandScorer {
+    private HandScorer() {
+    }
+
+    /**
+     * The parts of a score, filled in by scoreHand so callers can show more than the total.
+     */
+    public static final class Result {
+        private int handType;
+        private int scoringMask;
+        private int chips;
+        private long mult;
+        private long chipBonus;
+
+        /**
+         * Gets the hand type that was scored.
+         * @return One of the HandEvaluator hand type constants.
+         */
+        public int getHandType() {
+            return handType;
+        }
+
+        /**
+         * Gets the cards that scored: the cards making up the hand, less debuffed ones.
+         * @return Bit i set when cards[i] scored.
+         */
+        public int getScoringMask() {
+            return scoringMask;
+        }
+
+        /**
+         * Gets the chips from the hand type and scoring cards, before joker chips.
+         * @return The chips.
+         */
+        public int getChips() {
+            return chips;
+        }
+
+        /**
+         * Gets the final mult, after card, joker and weather multipliers.
+         * @return The mult in ScoreMath fixed point.
+         */
+        public long getFixedMult() {
+            return mult;
+        }
+
+        /**
+         * Gets the chips jokers add after the mult is applied.
+         * @return The joker chips.
+         */
+        public long getChipBonus() {
+            return chipBonus;
+        }
+    }
+
+    /**
+     * Scores the selected cards of an array of packed cards.
+     * @param cards The packed cards, for example a hand.
+     * @param selectMask Bit i set when cards[i] is played; must not be empty.
+     * @param bossEffect The rules of the blind being played.
+     * @param jokers The player's jokers.
+     * @param discardsLeft The number of discards the player has left.
+     * @param fixedWeather The weather multiplier in ScoreMath fixed point.
+     * @return The score of the hand, as a packed score.
+     */
+    public static long score(int[] cards, int selectMask, BossEffect bossEffect,
+                             Joker[] jokers, int discardsLeft, long fixedWeather) {
+        return scoreHand(cards, HandEvaluator.evaluate(cards, selectMask), bossEffect, jokers,
+            discardsLeft, fixedWeather, ScoreTrace.NONE, null);
+    }
+
+    /**
+     * Scores a hand that has already been evaluated, recording each step of the score.
+     * @param cards The packed cards, for example a hand.
+     * @param evaluation The result of HandEvaluator.evaluate for the played cards.
+     * @param bossEffect The rules of the blind being played.
+     * @param jokers The player's jokers.
+     * @param discardsLeft The number of discards the player has left.
+     * @param fixedWeather The weather multiplier in ScoreMath fixed point.
+     * @param trace Where each step is recorded; ScoreTrace.NONE to record nothing.
+     * @param result Filled in with the parts of the score, or null if they aren't needed.
+     * @return The score of the hand, as a packed score.
+     */
+    public static long scoreHand(int[] cards, int evaluation, BossEffect bossEffect, Joker[] jokers,
+                                 int discardsLeft, long fixedWeather, ScoreTrace trace, Result result) {
+        int handType = HandEvaluator.handType(evaluation);
+        int baseChips = bossEffect.adjustBaseChips(HandEvaluator.getBaseChips(handType));
+        int baseMult = bossEffect.adjustBaseMult(HandEvaluator.getBaseMult(handType));
+        boolean tracing = trace.isEnabled();  // Entries are only built for a trace that keeps them
+        if (tracing) {
+            String handName = HandEvaluator.getHandName(handType);
+            trace.add(ScoreTrace.Kind.HAND_CHIPS, handName, baseChips);
+            trace.add(ScoreTrace.Kind.HAND_MULT, handName, baseMult);
+        }
+
+        // Cards that make up the hand and aren't debuffed score, repeating for red seals.
+        // Each card adds its chips and mult, then applies its x-mult.
+        int chips = baseChips;
+        long totalMult = baseMult * ScoreMath.MULT_SCALE;
+        int scoringMask = 0;
+        for (int bits = HandEvaluator.scoringMask(evaluation); bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            int card = cards[i];
+            if (bossEffect.isDebuffed(card)) {
+                if (tracing) trace.addCard(ScoreTrace.Kind.DEBUFFED, card, 0);
+                continue;
+            }
+            scoringMask |= 1 << i;
+            for (int trigger = PackedCard.triggers(card); trigger > 0; trigger--) {
+                int cardChips = PackedCard.chips(card);
+                int cardMult = PackedCard.multBonus(card);
+                long cardXMult = PackedCard.fixedXMult(card);
+                chips += cardChips;
+                totalMult += cardMult * ScoreMath.MULT_SCALE;
+                totalMult = ScoreMath.multiplyMults(totalMult, cardXMult);
+                if (tracing) {
+                    trace.addCard(ScoreTrace.Kind.CARD_CHIPS, card, cardChips);
+                    if (cardMult != 0) trace.addCard(ScoreTrace.Kind.CARD_MULT, card, cardMult);
+                    if (cardXMult != ScoreMath.MULT_SCALE) trace.addCard(ScoreTrace.Kind.CARD_XMULT, card, ScoreMath.multToDouble(cardXMult));
+                }
+            }
+        }
+
+        // Jokers add mult first, then chips, in fixed point so the order can't change rounding
+        for (Joker joker : jokers) {
+            if (joker.isActive()) {
+                double multBonus = joker.calculateMultBonus(cards, scoringMask, discardsLeft);
+                totalMult += ScoreMath.toFixedMult(multBonus);
+                if (tracing && multBonus != 0) {
+                    trace.add(ScoreTrace.Kind.JOKER_MULT, joker, multBonus);
+                }
+            }
+        }
+        long totalChipBonus = 0;
+        for (Joker joker : jokers) {
+            if (joker.isActive()) {
+                int chipBonus = joker.calculateChipBonus(cards, scoringMask, discardsLeft);
+                totalChipBonus += chipBonus;
+                if (tracing && chipBonus != 0) {
+                    trace.add(ScoreTrace.Kind.JOKER_CHIPS, joker, chipBonus);
+                }
+            }
+        }
+
+        totalMult = ScoreMath.multiplyMults(totalMult, fixedWeather);
+        long score = ScoreMath.add(ScoreMath.applyMult(chips, totalMult), ScoreMath.of(totalChipBonus));
+        if (tracing) {
+            trace.add(ScoreTrace.Kind.WEATHER, "Weather", ScoreMath.multToDouble(fixedWeather));
+            trace.add(ScoreTrace.Kind.TOTAL, "Total", ScoreMath.toDouble(score));
+        }
+
+        if (result != null) {
+            result.handType = handType;
+            result.scoringMask = scoringMask;
+            result.chips = chips;
+            result.mult = totalMult;
+            result.chipBonus = totalChipBonus;
+        }
+        return score;
+    }
+}
@@ -1,19 +1,19 @@
 package com.badatro;
 
+import javafx.beans.binding.Bindings;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
-import javafx.stage.Stage;
-import javafx.stage.StageStyle;
 
 /**
- * Represents the info panel that displays game information.
+ * Represents the info panel that displays game information. Its texts are bound to the
+ * GameProperties, so a refresh only changes the texts whose values changed. The panel floats
+ * over the main window and can be popped out into a window of its own.
  */
 public class InfoPanel {
-    private final GameManager gameManager;
-    private final Stage infoStage;
+    private final GameProperties properties;
+    private final OverlayPanel panel;
     private final Text blindText;
     private final Text moneyText;
     private final Text anteText;
@@ -21,14 +21,14 @@ public class InfoPanel {
     private final Text discardsText;
     private final Text chipsText;
     private final Text multText;
+    private final Text breakdownText;
     
     /**
      * Constructs an InfoPanel with the given GameManager.
      * @param gameManager The GameManager instance.
      */
     public InfoPanel(GameManager gameManager) {
-        this.gameManager = gameManager;
-        this.infoStage = new Stage();
+        this.properties = gameManager.getProperties();
         this.blindText = new Text();
         this.moneyText = new Text();
         this.anteText = new Text();
@@ -36,18 +36,38 @@ public class InfoPanel {
         this.discardsText = new Text();
         this.chipsText = new Text();
         this.multText = new Text();
+        this.breakdownText = new Text();
         
-        setupStage();
+        bindTexts();
+        this.panel = new OverlayPanel("Info", createContent(), 10, 10);
+        gameManager.getRouter().addOverlay(panel);
+    }
+    
+    /**
+     * Binds each text to the property it shows.
+     */
+    private void bindTexts() {
+        blindText.textProperty().bind(Bindings.concat("Blind: ", properties.blindTypeProperty()));
+        moneyText.textProperty().bind(Bindings.concat("Money: ", properties.moneyProperty()));
+        anteText.textProperty().bind(Bindings.concat("Ante: ", properties.anteProperty()));
+        playableHandsText.textProperty().bind(
+            Bindings.concat("Playable Hands: ", properties.playableHandsProperty()));
+        discardsText.textProperty().bind(Bindings.concat("Discards: ", properties.discardsProperty()));
+        chipsText.textProperty().bind(Bindings.createStringBinding(
+            () -> "Chips: " + ScoreMath.format(properties.scoreProperty().get()), properties.scoreProperty()));
+        multText.textProperty().bind(properties.multProperty().asString("Mult: %.1f"));
     }
     
     /**
      * Sets up the info panel UI.
+     * @return The panel's content.
      */
-    private void setupStage() {
+    private VBox createContent() {
         VBox root = new VBox(10);
         root.setAlignment(Pos.CENTER_LEFT);
         root.setPadding(new Insets(15));
-        root.setStyle("-fx-background-color: #2C3E50;");
+        root.setPrefWidth(220);
+        root.setStyle("-fx-background-color: rgba(44, 62, 80, 0.92);");
         
         // Style for all text elements
         String textStyle = "-fx-fill: white; -fx-font-size: 16px;";
@@ -58,6 +78,7 @@ public class InfoPanel {
         discardsText.setStyle(textStyle);
         chipsText.setStyle(textStyle);
         multText.setStyle(textStyle);
+        breakdownText.setStyle("-fx-fill: #BDC3C7; -fx-font-size: 12px;");
         
         root.getChildren().addAll(
             blindText,
@@ -66,16 +87,10 @@ public class InfoPanel {
             playableHandsText,
             discardsText,
             chipsText,
-            multText
+            multText,
+            breakdownText
         );
-        
-        Scene scene = new Scene(root, 200, 300);
-        scene.getStylesheets().add(getClass().getResource("/com/badatro/styles.css").toExternalForm());
-        
-        infoStage.setScene(scene);
-        infoStage.initStyle(StageStyle.UTILITY); // Removes window decorations
-        infoStage.setAlwaysOnTop(true);
-        infoStage.setResizable(false);
+        return root;
     }
     
     /**
@@ -83,36 +98,36 @@ public class InfoPanel {
      */
     public void show() {
         updateInfo();
-        infoStage.show();
+        panel.show();
     }
     
     /**
      * Hides the info panel.
      */
     public void hide() {
-        infoStage.hide();
+        panel.hide();
     }
     
     /**
      * Updates the info panel with the latest game information.
      */
     public void updateInfo() {
-        blindText.setText("Blind: " + gameManager.getBlindType());
-        moneyText.setText("Money: " + gameManager.getPlayer().getMoney());
-        anteText.setText("Ante: " + gameManager.getPlayer().getAnte());
-        playableHandsText.setText("Playable Hands: " + gameManager.getPlayer().getPlayableHands());
-        discardsText.setText("Discards: " + gameManager.getPlayer().getDiscardableHands());
-        chipsText.setText("Chips: " + gameManager.getCurrentScore());
-        multText.setText("Mult: 0"); // TODO: Add multiplier tracking to GameManager
+        properties.refresh();
+    }
+    
+    /**
+     * Clears the last hand's details for a new run.
+     */
+    public void reset() {
+        breakdownText.setText("");
+        updateInfo();
     }
     
     /**
-     * Updates the chips and multiplier display in the info panel.
-     * @param chips The number of chips to display.
-     * @param mult The multiplier to display.
+     * Shows how the last hand's score was built up, one contribution per line.
+     * @param trace The score trace of the last hand.
      */
-    public void updateChipsAndMult(int chips, double mult) {
-        chipsText.setText("Chips: " + chips);
-        multText.setText("Mult: " + String.format("%.1f", mult));
+    public void updateScoreBreakdown(ScoreTrace trace) {
+        breakdownText.setText(trace.toString());
     }
-} 
\ No newline at end of file
+}
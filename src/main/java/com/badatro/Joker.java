@@ -1,6 +1,5 @@
 package com.badatro;
 
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import java.util.List;
 
@@ -13,8 +12,8 @@ public class Joker implements ShopItem {
     private final int cost;
     private final String imagePath;
     private boolean isActive;
-    private ImageView imageView;
-    private final GameManager gameManager;
+    private ImageView imageView;  // Loaded on first use, so jokers can exist without JavaFX
+    private final GameEngine engine;
     
     /**
      * Constructs a new joker with the specified properties.
@@ -22,25 +21,15 @@ public class Joker implements ShopItem {
      * @param description The description of the joker's effect.
      * @param cost The cost to buy the joker.
      * @param imagePath The path to the joker's image.
-     * @param gameManager The game manager instance.
+     * @param engine The game engine.
      */
-    private Joker(String name, String description, int cost, String imagePath, GameManager gameManager) {
+    private Joker(String name, String description, int cost, String imagePath, GameEngine engine) {
         this.name = name;
         this.description = description;
         this.cost = cost;
         this.imagePath = imagePath;
         this.isActive = false;
-        this.gameManager = gameManager;
-        
-        // Try to load the image, but don't fail if it's not found
-        try {
-            Image image = new Image(getClass().getResourceAsStream(imagePath));
-            this.imageView = new ImageView(image);
-        } catch (Exception e) {
-            // If image loading fails, create a default image view
-            this.imageView = new ImageView();
-            System.err.println("Failed to load image for " + name + ": " + e.getMessage());
-        }
+        this.engine = engine;
     }
     
     /**
@@ -84,6 +73,10 @@ public class Joker implements ShopItem {
      * @return The ImageView displaying the joker.
      */
     public ImageView getImageView() {
+        if (imageView == null) {
+            // An empty view if the image can't be loaded
+            imageView = CardAtlas.getDefault().createView(imagePath);
+        }
         return imageView;
     }
     
@@ -109,15 +102,26 @@ public class Joker implements ShopItem {
      * @return The chip bonus amount.
      */
     public int calculateChipBonus(List<Card> cards) {
+        return calculateChipBonus(pack(cards), (1 << cards.size()) - 1, getRemainingDiscards());
+    }
+    
+    /**
+     * Calculates the chip bonus for packed cards without allocating.
+     * @param cards The packed cards.
+     * @param mask Bit i set when cards[i] is one of the cards being played.
+     * @param discardsLeft The number of discards the player has left.
+     * @return The chip bonus amount.
+     */
+    public int calculateChipBonus(int[] cards, int mask, int discardsLeft) {
         if (!isActive) return 0;
         
         switch (name) {
             case "Sly Joker":
-                return hasFlush(cards) ? 50 : 0;
+                return hasFlush(cards, mask) ? 50 : 0;
             case "Banner Joker":
-                return getRemainingDiscards() * 30;
+                return discardsLeft * 30;
             case "Mystic Summit":
-                return getRemainingDiscards() == 0 ? 1000 : 0;
+                return discardsLeft == 0 ? 1000 : 0;
             default:
                 return 0;
         }
@@ -129,76 +133,118 @@ public class Joker implements ShopItem {
      * @return The multiplier bonus amount.
      */
     public double calculateMultBonus(List<Card> cards) {
+        return calculateMultBonus(pack(cards), (1 << cards.size()) - 1, getRemainingDiscards());
+    }
+    
+    /**
+     * Calculates the multiplier bonus for packed cards without allocating.
+     * @param cards The packed cards.
+     * @param mask Bit i set when cards[i] is one of the cards being played.
+     * @param discardsLeft The number of discards the player has left.
+     * @return The multiplier bonus amount.
+     */
+    public double calculateMultBonus(int[] cards, int mask, int discardsLeft) {
         if (!isActive) return 0.0;
         
         switch (name) {
             case "Joker":
                 return 4.0;
             case "Wrathful Joker":
-                return cards.stream()
-                    .filter(card -> card.getSuit() == 2) // 2 is spades (♠)
-                    .count() * 3.0;
+                return countSuit(cards, mask, 2) * 3.0; // 2 is spades (♠)
             case "Lusty Joker":
-                return cards.stream()
-                    .filter(card -> card.getSuit() == 0) // 0 is hearts (♥)
-                    .count() * 3.0;
+                return countSuit(cards, mask, 0) * 3.0; // 0 is hearts (♥)
             case "Greedy Joker":
-                return cards.stream()
-                    .filter(card -> card.getSuit() == 1) // 1 is diamonds (♦)
-                    .count() * 3.0;
+                return countSuit(cards, mask, 1) * 3.0; // 1 is diamonds (♦)
             case "Gluttonous Joker":
-                return cards.stream()
-                    .filter(card -> card.getSuit() == 3) // 3 is clubs (♣)
-                    .count() * 3.0;
+                return countSuit(cards, mask, 3) * 3.0; // 3 is clubs (♣)
             case "Jolly Joker":
-                return hasPair(cards) ? 8.0 : 0.0;
+                return hasPair(cards, mask) ? 8.0 : 0.0;
             case "Droll Joker":
-                return hasFlush(cards) ? 10.0 : 0.0;
+                return hasFlush(cards, mask) ? 10.0 : 0.0;
             case "Mystic Summit":
-                return getRemainingDiscards() == 0 ? 15.0 : 0.0;
+                return discardsLeft == 0 ? 15.0 : 0.0;
             case "Pair Joker":
-                return hasPair(cards) ? 2.0 : 0.0;
+                return hasPair(cards, mask) ? 2.0 : 0.0;
             case "Flush Joker":
-                return hasFlush(cards) ? 3.0 : 0.0;
+                return hasFlush(cards, mask) ? 3.0 : 0.0;
             default:
                 return 0.0;
         }
     }
     
     /**
-     * Counts the number of cards of a specific suit in the given list.
-     * @param cards The list of cards to check.
+     * Checks whether the joker's bonus depends on how many cards of a suit score, so that cards
+     * of the suit can't stand in for cards of another suit.
+     * @param suit The suit (0: Hearts, 1: Diamonds, 2: Clubs, 3: Spades).
+     * @return True if the joker counts the suit.
+     */
+    public boolean dependsOnSuit(int suit) {
+        switch (name) {
+            case "Wrathful Joker":
+                return suit == 2;
+            case "Lusty Joker":
+                return suit == 0;
+            case "Greedy Joker":
+                return suit == 1;
+            case "Gluttonous Joker":
+                return suit == 3;
+            default:
+                return false;
+        }
+    }
+    
+    private static int[] pack(List<Card> cards) {
+        int[] packed = new int[cards.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = cards.get(i).getPacked();
+        }
+        return packed;
+    }
+    
+    /**
+     * Counts the number of cards of a specific suit among the masked cards.
+     * @param cards The packed cards.
+     * @param mask The positions to check.
      * @param suit The suit to count.
      * @return The number of cards with the specified suit.
      */
-    private int countSuit(List<Card> cards, int suit) {
-        return (int) cards.stream()
-                         .filter(card -> card.getSuit() == suit)
-                         .count();
+    private static int countSuit(int[] cards, int mask, int suit) {
+        int count = 0;
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            if (PackedCard.suit(cards[Integer.numberOfTrailingZeros(bits)]) == suit) count++;
+        }
+        return count;
     }
     
     /**
-     * Checks if the given cards contain a pair.
-     * @param cards The list of cards to check.
+     * Checks if the masked cards contain a pair.
+     * @param cards The packed cards.
+     * @param mask The positions to check.
      * @return True if there is a pair, false otherwise.
      */
-    private boolean hasPair(List<Card> cards) {
-        return cards.stream()
-                   .collect(java.util.stream.Collectors.groupingBy(Card::getRank))
-                   .values()
-                   .stream()
-                   .anyMatch(list -> list.size() >= 2);
+    private static boolean hasPair(int[] cards, int mask) {
+        int seenRanks = 0;
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            int rankBit = 1 << PackedCard.rank(cards[Integer.numberOfTrailingZeros(bits)]);
+            if ((seenRanks & rankBit) != 0) return true;
+            seenRanks |= rankBit;
+        }
+        return false;
     }
     
     /**
-     * Checks if the given cards form a flush.
-     * @param cards The list of cards to check.
+     * Checks if the masked cards form a flush.
+     * @param cards The packed cards.
+     * @param mask The positions to check.
      * @return True if the cards form a flush, false otherwise.
      */
-    private boolean hasFlush(List<Card> cards) {
-        if (cards.size() < 5) return false;
-        int firstSuit = cards.get(0).getSuit();
-        return cards.stream().allMatch(card -> card.getSuit() == firstSuit);
+    private static boolean hasFlush(int[] cards, int mask) {
+        if (Integer.bitCount(mask) < 5) return false;
+        int firstSuit = PackedCard.suit(cards[Integer.numberOfTrailingZeros(mask)]);
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            if (PackedCard.suit(cards[Integer.numberOfTrailingZeros(bits)]) != firstSuit) return false;
+        }
+        return true;
     }
     
     /**
@@ -206,121 +252,121 @@ public class Joker implements ShopItem {
      * @return The number of remaining discards.
      */
     private int getRemainingDiscards() {
-        return gameManager.getPlayer().getDiscardableHands();
+        return engine.getPlayer().getDiscardableHands();
     }
     
     /**
      * Creates a basic joker.
-     * @param gameManager The game manager instance.
+     * @param engine The game engine.
      * @return A new basic joker.
      */
-    public static Joker createJoker(GameManager gameManager) {
+    public static Joker createJoker(GameEngine engine) {
         return new Joker(
             "Joker",
             "Adds +4 mult",
             2,
             "/com/badatro/Jokers/joker.jpg",
-            gameManager
+            engine
         );
     }
     
     /**
      * Creates a greedy joker that provides bonuses for diamond cards.
-     * @param gameManager The game manager instance.
+     * @param engine The game engine.
      * @return A new greedy joker.
      */
-    public static Joker createGreedy(GameManager gameManager) {
+    public static Joker createGreedy(GameEngine engine) {
         return new Joker(
             "Greedy Joker",
             "Each diamond card played gives +3 mult when scored",
             5,
             "/com/badatro/Jokers/greedy.jpg",
-            gameManager
+            engine
         );
     }
     
     /**
      * Creates a lusty joker that provides bonuses for heart cards.
-     * @param gameManager The game manager instance.
+     * @param engine The game engine.
      * @return A new lusty joker.
      */
-    public static Joker createLusty(GameManager gameManager) {
+    public static Joker createLusty(GameEngine engine) {
         return new Joker(
             "Lusty Joker",
             "Each heart card played gives +3 mult when scored",
             5,
             "/com/badatro/Jokers/lusty.jpg",
-            gameManager
+            engine
         );
     }
     
-    public static Joker createWrathful(GameManager gameManager) {
+    public static Joker createWrathful(GameEngine engine) {
         return new Joker(
             "Wrathful Joker",
             "Each spade card played gives +3 mult when scored",
             5,
             "/com/badatro/Jokers/wrathful.jpg",
-            gameManager
+            engine
         );
     }
     
-    public static Joker createGluttonous(GameManager gameManager) {
+    public static Joker createGluttonous(GameEngine engine) {
         return new Joker(
             "Gluttonous Joker",
             "Each club card played gives +3 mult when scored",
             5,
             "/com/badatro/Jokers/gluttonous.jpg",
-            gameManager
+            engine
         );
     }
     
-    public static Joker createJolly(GameManager gameManager) {
+    public static Joker createJolly(GameEngine engine) {
         return new Joker(
             "Jolly Joker",
             "+8 mult if hand contains pair",
             3,
             "/com/badatro/Jokers/jolly.jpg",
-            gameManager
+            engine
         );
     }
     
-    public static Joker createDroll(GameManager gameManager) {
+    public static Joker createDroll(GameEngine engine) {
         return new Joker(
             "Droll Joker",
             "+10 mult if hand contains flush",
             4,
             "/com/badatro/Jokers/droll.jpg",
-            gameManager
+            engine
         );
     }
     
-    public static Joker createSly(GameManager gameManager) {
+    public static Joker createSly(GameEngine engine) {
         return new Joker(
             "Sly Joker",
             "+50 chips if hand contains flush",
             3,
             "/com/badatro/Jokers/sly.jpg",
-            gameManager
+            engine
         );
     }
     
-    public static Joker createBanner(GameManager gameManager) {
+    public static Joker createBanner(GameEngine engine) {
         return new Joker(
             "Banner Joker",
             "+30 chips for each remaining discard",
             5,
             "/com/badatro/Jokers/banner.jpg",
-            gameManager
+            engine
         );
     }
     
-    public static Joker createMystic(GameManager gameManager) {
+    public static Joker createMystic(GameEngine engine) {
         return new Joker(
             "Mystic Summit",
             "+15 mult when 0 discards remaining",
             5,
             "/com/badatro/Jokers/mystic.jpg",
-            gameManager
+            engine
         );
     }
 } 
\ No newline at end of file
@@ -19,7 +19,10 @@ public class Main extends Application {
         stage.setMinHeight(800);
         stage.setResizable(false);
         
-        // Start with the main menu
+        // Decode the card images while the player picks a location and looks at the menu
+        CardAtlas.preloadInBackground();
+        
+        // Start with the main menu; the game itself is created when Play is pressed
         GameManager gameManager = new GameManager(stage);
         
         // Prompt for location
@@ -29,8 +32,7 @@ public class Main extends Application {
             gameManager.getWeatherManager().setLocation(location);
         }
         
-        MainMenuController mainMenu = new MainMenuController(gameManager, stage);
-        mainMenu.show();
+        gameManager.getRouter().showMainMenu();
     }
 
     /**
@@ -2,7 +2,6 @@ package com.badatro;
 
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
@@ -16,6 +15,7 @@ public class MainMenuController {
     private final GameManager gameManager;
     private final Stage stage;
     private final WeatherInfoPanel weatherInfoPanel;
+    private VBox root;
 
     /**
      * Creates a new MainMenuController with the specified GameManager and Stage.
@@ -26,16 +26,32 @@ public class MainMenuController {
     public MainMenuController(GameManager gameManager, Stage stage) {
         this.gameManager = gameManager;
         this.stage = stage;
-        this.weatherInfoPanel = new WeatherInfoPanel(gameManager.getWeatherManager());
+        this.weatherInfoPanel = gameManager.getWeatherInfoPanel();
     }
     
     /**
      * Shows the main menu screen.
-     * Displays the game title and menu options.
+     * Displays the game title and menu options, building them the first time.
      * Shows the weather info panel in a separate window.
      */
     public void show() {
-        VBox root = new VBox(20);
+        if (root == null) {
+            buildRoot();
+        }
+        
+        stage.setTitle("Badatro");
+        gameManager.getRouter().setRoot(root);
+        stage.show();
+
+        // Show weather panel
+        weatherInfoPanel.show();
+    }
+    
+    /**
+     * Builds the menu's scene graph.
+     */
+    private void buildRoot() {
+        root = new VBox(20);
         root.setAlignment(Pos.CENTER);
         root.setPadding(new Insets(20));
         root.setStyle("-fx-background-color: #2c3e50;");
@@ -60,15 +76,6 @@ public class MainMenuController {
         
         buttonContainer.getChildren().addAll(playButton, continueButton, quitButton);
         root.getChildren().addAll(title, buttonContainer);
-        
-        Scene scene = new Scene(root, 800, 600);
-        scene.getStylesheets().add(getClass().getResource("/com/badatro/styles.css").toExternalForm());
-        stage.setTitle("Badatro");
-        stage.setScene(scene);
-        stage.show();
-
-        // Show weather panel
-        weatherInfoPanel.show();
     }
 
     /**
@@ -89,8 +96,7 @@ public class MainMenuController {
      */
     private void onPlayClick() {
         weatherInfoPanel.hide();
-        BlindSelectionScreen blindSelectionScreen = new BlindSelectionScreen(gameManager, stage);
-        blindSelectionScreen.show();
+        gameManager.getRouter().showBlindSelection();
         weatherInfoPanel.show();
     }
     
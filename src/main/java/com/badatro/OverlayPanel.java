@@ -0,0 +1,163 @@
+package com.badatro;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+/**
+ * A panel that floats over the screens in the main window's overlay layer. It has a title bar to
+ * drag it by, a button to collapse it to the title bar, and a button to pop it out into its own
+ * always-on-top window. Closing the popped-out window docks the panel again.
+ */
+public class OverlayPanel {
+    private static final String BUTTON_STYLE = "-fx-background-color: transparent; -fx-text-fill: white; -fx-padding: 0 4;";
+
+    private final String title;
+    private final Parent content;
+    private final VBox frame;  // The title bar and the content, while docked
+    private final Button collapseButton;
+    private Stage window;      // Created the first time the panel is popped out
+    private StackPane windowRoot;
+    private boolean showing;
+    private boolean poppedOut;
+    private double dragX;
+    private double dragY;
+
+    /**
+     * Creates a hidden, docked panel.
+     * @param title The title shown in the title bar.
+     * @param content The panel's content.
+     * @param x The left edge of the panel in the main window.
+     * @param y The top edge of the panel in the main window.
+     */
+    public OverlayPanel(String title, Parent content, double x, double y) {
+        this.title = title;
+        this.content = content;
+
+        Label titleLabel = new Label(title);
+        titleLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
+        Pane spacer = new Pane();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        this.collapseButton = new Button("–");
+        collapseButton.setStyle(BUTTON_STYLE);
+        collapseButton.setOnAction(e -> setCollapsed(content.isVisible()));
+        Button popOutButton = new Button("↗");
+        popOutButton.setStyle(BUTTON_STYLE);
+        popOutButton.setOnAction(e -> popOut());
+
+        HBox titleBar = new HBox(5, titleLabel, spacer, collapseButton, popOutButton);
+        titleBar.setAlignment(Pos.CENTER_LEFT);
+        titleBar.setPadding(new Insets(2, 4, 2, 8));
+        titleBar.setStyle("-fx-background-color: rgba(0, 0, 0, 0.6); -fx-background-radius: 5 5 0 0;");
+
+        this.frame = new VBox(titleBar, content);
+        frame.relocate(x, y);
+        frame.setVisible(false);
+
+        // Drag the panel by its title bar
+        titleBar.setOnMousePressed(e -> {
+            dragX = e.getSceneX() - frame.getLayoutX();
+            dragY = e.getSceneY() - frame.getLayoutY();
+        });
+        titleBar.setOnMouseDragged(e -> frame.relocate(e.getSceneX() - dragX, e.getSceneY() - dragY));
+    }
+
+    /**
+     * Shows only the title bar of the docked panel, or the whole panel again.
+     */
+    private void setCollapsed(boolean collapsed) {
+        content.setVisible(!collapsed);
+        content.setManaged(!collapsed);
+        collapseButton.setText(collapsed ? "+" : "–");
+    }
+
+    /**
+     * Gets the node the overlay layer holds for this panel.
+     * @return The docked panel.
+     */
+    Parent getFrame() {
+        return frame;
+    }
+
+    /**
+     * Shows the panel, docked or in its own window, whichever it was last.
+     */
+    public void show() {
+        showing = true;
+        if (poppedOut) {
+            window.show();
+        } else {
+            frame.setVisible(true);
+        }
+    }
+
+    public void hide() {
+        showing = false;
+        frame.setVisible(false);
+        if (window != null) {
+            window.hide();
+        }
+    }
+
+    public boolean isShowing() {
+        return showing;
+    }
+
+    /**
+     * Moves the content into its own always-on-top window.
+     */
+    public void popOut() {
+        if (poppedOut) {
+            return;
+        }
+        if (window == null) {
+            window = new Stage();
+            window.setTitle(title);
+            window.initStyle(StageStyle.UTILITY);
+            window.setAlwaysOnTop(true);
+            window.setResizable(false);
+            windowRoot = new StackPane();
+            Scene scene = new Scene(windowRoot);
+            scene.getStylesheets().add(getClass().getResource("/com/badatro/styles.css").toExternalForm());
+            window.setScene(scene);
+
+            // Closing the window puts the panel back in the main window
+            window.setOnCloseRequest(e -> {
+                e.consume();
+                dock();
+            });
+        }
+        poppedOut = true;
+        frame.getChildren().remove(content);
+        setCollapsed(false);
+        windowRoot.getChildren().setAll(content);
+        frame.setVisible(false);
+        if (showing) {
+            window.show();
+        }
+    }
+
+    /**
+     * Moves the content back into the main window.
+     */
+    public void dock() {
+        if (!poppedOut) {
+            return;
+        }
+        poppedOut = false;
+        window.hide();
+        windowRoot.getChildren().remove(content);
+        frame.getChildren().add(content);
+        frame.setVisible(showing);
+    }
+}
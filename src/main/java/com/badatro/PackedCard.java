@@ -0,0 +1,238 @@
+package com.badatro;
+
+/**
+ * Packs a card's rank, suit and modifiers into a single int so cards can be kept as primitives
+ * in hands, decks and simulation buffers.
+ *
+ * Layout (low bits first):
+ *   bits 0-3   rank (2-14, where 14 is Ace; 0 for a joker card)
+ *   bits 4-5   suit (0: Hearts, 1: Diamonds, 2: Clubs, 3: Spades)
+ *   bits 6-7   enhancement
+ *   bits 8-9   edition
+ *   bits 10-11 seal
+ */
+public final class PackedCard {
+    // Enhancements
+    public static final int ENHANCEMENT_NONE = 0;
+    public static final int ENHANCEMENT_BONUS = 1;   // +30 chips
+    public static final int ENHANCEMENT_MULT = 2;    // +4 mult
+    public static final int ENHANCEMENT_GLASS = 3;   // x2 mult
+
+    // Editions
+    public static final int EDITION_NONE = 0;
+    public static final int EDITION_FOIL = 1;        // +50 chips
+    public static final int EDITION_HOLOGRAPHIC = 2; // +10 mult
+    public static final int EDITION_POLYCHROME = 3;  // x1.5 mult
+
+    // Seals
+    public static final int SEAL_NONE = 0;
+    public static final int SEAL_GOLD = 1;           // $3 when scored
+    public static final int SEAL_RED = 2;            // Scores twice
+
+    /** Money a gold-sealed card pays when it scores. */
+    public static final int GOLD_SEAL_MONEY = 3;
+
+    /** Not a card; returned where a card is asked for but there is none. */
+    public static final int NONE = -1;
+
+    private static final int RANK_MASK = 0xF;
+    private static final int SUIT_SHIFT = 4;
+    private static final int ENHANCEMENT_SHIFT = 6;
+    private static final int EDITION_SHIFT = 8;
+    private static final int SEAL_SHIFT = 10;
+    private static final int FIELD_MASK = 0x3;
+
+    private PackedCard() {
+    }
+
+    /**
+     * Packs a plain card with no modifiers.
+     * @param rank The rank of the card (2-14, where 14 is Ace).
+     * @param suit The suit of the card (0-3).
+     * @return The packed card.
+     */
+    public static int of(int rank, int suit) {
+        return rank | (suit << SUIT_SHIFT);
+    }
+
+    public static int rank(int card) {
+        return card & RANK_MASK;
+    }
+
+    public static int suit(int card) {
+        return (card >>> SUIT_SHIFT) & FIELD_MASK;
+    }
+
+    public static int enhancement(int card) {
+        return (card >>> ENHANCEMENT_SHIFT) & FIELD_MASK;
+    }
+
+    public static int edition(int card) {
+        return (card >>> EDITION_SHIFT) & FIELD_MASK;
+    }
+
+    public static int seal(int card) {
+        return (card >>> SEAL_SHIFT) & FIELD_MASK;
+    }
+
+    public static int withEnhancement(int card, int enhancement) {
+        return (card & ~(FIELD_MASK << ENHANCEMENT_SHIFT)) | ((enhancement & FIELD_MASK) << ENHANCEMENT_SHIFT);
+    }
+
+    public static int withEdition(int card, int edition) {
+        return (card & ~(FIELD_MASK << EDITION_SHIFT)) | ((edition & FIELD_MASK) << EDITION_SHIFT);
+    }
+
+    public static int withSeal(int card, int seal) {
+        return (card & ~(FIELD_MASK << SEAL_SHIFT)) | ((seal & FIELD_MASK) << SEAL_SHIFT);
+    }
+
+    /**
+     * Gets the position of the card in a standard 52-card deck, ignoring modifiers.
+     * Used as the bit index in 64-bit card masks.
+     * @param card The packed card.
+     * @return A number from 0 to 51.
+     */
+    public static int index(int card) {
+        return suit(card) * 13 + rank(card) - 2;
+    }
+
+    /**
+     * Gets the bit for this card in a 64-bit card mask.
+     * @param card The packed card.
+     * @return A mask with only this card's bit set.
+     */
+    public static long bit(int card) {
+        return 1L << index(card);
+    }
+
+    /**
+     * Gets the card mask holding every card of a suit.
+     * @param suit The suit (0-3).
+     * @return The card mask.
+     */
+    public static long suitMask(int suit) {
+        return 0x1FFFL << (suit * 13);
+    }
+
+    /**
+     * Gets the card mask holding every card of a rank.
+     * @param rank The rank (2-14, where 14 is Ace).
+     * @return The card mask.
+     */
+    public static long rankMask(int rank) {
+        long mask = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            mask |= 1L << (suit * 13 + rank - 2);
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the chips a card adds when it scores, including its enhancement and edition.
+     * @param card The packed card.
+     * @return The chips added.
+     */
+    public static int chips(int card) {
+        int chips = HandEvaluator.calculateCardChips(rank(card));
+        if (enhancement(card) == ENHANCEMENT_BONUS) chips += 30;
+        if (edition(card) == EDITION_FOIL) chips += 50;
+        return chips;
+    }
+
+    /**
+     * Gets the mult a card adds when it scores.
+     * @param card The packed card.
+     * @return The mult added.
+     */
+    public static int multBonus(int card) {
+        int mult = 0;
+        if (enhancement(card) == ENHANCEMENT_MULT) mult += 4;
+        if (edition(card) == EDITION_HOLOGRAPHIC) mult += 10;
+        return mult;
+    }
+
+    /**
+     * Gets the factor a card multiplies the mult by when it scores.
+     * @param card The packed card.
+     * @return The factor in ScoreMath fixed point (100 for no change).
+     */
+    public static long fixedXMult(int card) {
+        long xMult = ScoreMath.MULT_SCALE;
+        if (enhancement(card) == ENHANCEMENT_GLASS) xMult = xMult * 2;
+        if (edition(card) == EDITION_POLYCHROME) xMult = xMult * 3 / 2;
+        return xMult;
+    }
+
+    /**
+     * Gets how many times a card's effects apply when it scores.
+     * @param card The packed card.
+     * @return 2 for a red seal, otherwise 1.
+     */
+    public static int triggers(int card) {
+        return seal(card) == SEAL_RED ? 2 : 1;
+    }
+
+    /**
+     * Checks whether a card has any enhancement, edition or seal.
+     * @param card The packed card.
+     * @return True if the card has a modifier.
+     */
+    public static boolean hasModifiers(int card) {
+        return (card >>> ENHANCEMENT_SHIFT) != 0;
+    }
+
+    /**
+     * Names a card by rank and suit, e.g. "A♠".
+     * @param card The packed card.
+     * @return The card's name.
+     */
+    public static String toString(int card) {
+        String rankStr;
+        switch (rank(card)) {
+            case 11: rankStr = "J"; break;
+            case 12: rankStr = "Q"; break;
+            case 13: rankStr = "K"; break;
+            case 14: rankStr = "A"; break;
+            default: rankStr = String.valueOf(rank(card));
+        }
+
+        String suitStr;
+        switch (suit(card)) {
+            case 0: suitStr = "♥"; break;
+            case 1: suitStr = "♦"; break;
+            case 2: suitStr = "♣"; break;
+            case 3: suitStr = "♠"; break;
+            default: suitStr = "?";
+        }
+
+        return rankStr + suitStr;
+    }
+
+    /**
+     * Lists a card's enhancement, edition and seal, e.g. "Glass, Foil, Red Seal".
+     * @param card The packed card.
+     * @return The modifiers, or an empty string if the card has none.
+     */
+    public static String describeModifiers(int card) {
+        StringBuilder builder = new StringBuilder();
+        switch (enhancement(card)) {
+            case ENHANCEMENT_BONUS: builder.append(", Bonus"); break;
+            case ENHANCEMENT_MULT: builder.append(", Mult"); break;
+            case ENHANCEMENT_GLASS: builder.append(", Glass"); break;
+            default: break;
+        }
+        switch (edition(card)) {
+            case EDITION_FOIL: builder.append(", Foil"); break;
+            case EDITION_HOLOGRAPHIC: builder.append(", Holographic"); break;
+            case EDITION_POLYCHROME: builder.append(", Polychrome"); break;
+            default: break;
+        }
+        switch (seal(card)) {
+            case SEAL_GOLD: builder.append(", Gold Seal"); break;
+            case SEAL_RED: builder.append(", Red Seal"); break;
+            default: break;
+        }
+        return builder.length() == 0 ? "" : builder.substring(2);
+    }
+}
@@ -12,6 +12,8 @@ public class Player {
     private int ante;  // Difficulty multiplier
     private List<Card> jokers;  // Joker cards
     private List<Joker> activeJokers;  // Active jokers from shop
+    private Joker[] activeJokerArray;  // The active jokers for scoring; null until next asked for
+    private long jokerHash;  // Sum of the Zobrist keys of the active jokers
     private int currentBlindLevel;
     private int money;
     private int handSize;
@@ -86,6 +88,18 @@ public class Player {
         return new ArrayList<>(activeJokers);
     }
     
+    /**
+     * Gets the active jokers without copying them for every hand scored. The array is shared
+     * until the jokers change, and must not be modified.
+     * @return The active jokers, in order.
+     */
+    public Joker[] getActiveJokerArray() {
+        if (activeJokerArray == null) {
+            activeJokerArray = activeJokers.toArray(new Joker[0]);
+        }
+        return activeJokerArray;
+    }
+    
     /**
      * Adds a joker card to the player's collection.
      * @param joker The joker card to add.
@@ -101,6 +115,8 @@ public class Player {
     public void addJoker(Joker joker) {
         joker.setActive(true);
         activeJokers.add(joker);
+        activeJokerArray = null;
+        jokerHash += Zobrist.joker(joker);
     }
     
     /**
@@ -119,7 +135,8 @@ public class Player {
      */
     public void removeActiveJoker(int index) {
         if (index >= 0 && index < activeJokers.size()) {
-            activeJokers.remove(index);
+            jokerHash -= Zobrist.joker(activeJokers.remove(index));
+            activeJokerArray = null;
         }
     }
     
@@ -128,7 +145,28 @@ public class Player {
      * @param joker The joker to remove.
      */
     public void removeJoker(Joker joker) {
-        activeJokers.remove(joker);
+        if (activeJokers.remove(joker)) {
+            jokerHash -= Zobrist.joker(joker);
+            activeJokerArray = null;
+        }
+    }
+
+    /**
+     * Removes all active jokers.
+     */
+    public void clearActiveJokers() {
+        activeJokers.clear();
+        activeJokerArray = null;
+        jokerHash = 0;
+    }
+    
+    /**
+     * Gets the hash of the active jokers, kept up to date as jokers are added and removed.
+     * Keys are summed so the hash doesn't depend on joker order and duplicates don't cancel.
+     * @return The joker hash.
+     */
+    public long getJokerHash() {
+        return jokerHash;
     }
     
     /**
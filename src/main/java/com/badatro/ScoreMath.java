@@ -0,0 +1,153 @@
+package com.badatro;
+
+/**
+ * Overflow-safe, deterministic arithmetic for scores and blind targets.
+ *
+ * A score is a single {@code long}. Values below 2^62 are stored exactly. Larger values switch to a
+ * mantissa/exponent form packed into the same {@code long}: bit 62 is set, bits 52-61 hold the
+ * binary exponent above 62, and bits 0-51 hold the mantissa of the equivalent double. The packing
+ * keeps ordering, so packed scores can be compared directly with {@code <} and {@code >=}.
+ *
+ * Multipliers are fixed point with two decimals ({@link #MULT_SCALE}) and every rounding step is
+ * half-up in a fixed order, so a hand scores the same on any platform and any thread.
+ */
+public final class ScoreMath {
+    public static final long MULT_SCALE = 100;          // Fixed-point mult: 150 means x1.5
+
+    private static final long EXACT_LIMIT = 1L << 62;   // First value that needs the packed form
+    private static final long PACKED_FLAG = 1L << 62;
+    private static final long MANTISSA_MASK = (1L << 52) - 1;
+    private static final int MAX_PACKED_EXPONENT = 1023 - 62;
+
+    private ScoreMath() {
+    }
+
+    /**
+     * Converts an exact, non-negative amount into a score.
+     * @param amount The amount.
+     * @return The score.
+     */
+    public static long of(long amount) {
+        if (amount < 0) return 0;
+        return amount < EXACT_LIMIT ? amount : fromDouble((double) amount);
+    }
+
+    /**
+     * Adds two scores.
+     * @param a The first score.
+     * @param b The second score.
+     * @return The sum, switching to the packed form instead of overflowing.
+     */
+    public static long add(long a, long b) {
+        if (a < EXACT_LIMIT && b < EXACT_LIMIT) {
+            return of(a + b);  // Both below 2^62, so the sum still fits in a long
+        }
+        return fromDouble(toDouble(a) + toDouble(b));
+    }
+
+    /**
+     * Multiplies a score by a fixed-point multiplier, rounding half up.
+     * @param score The score.
+     * @param fixedMult The multiplier in units of 1/{@link #MULT_SCALE}.
+     * @return The product, switching to the packed form instead of overflowing.
+     */
+    public static long applyMult(long score, long fixedMult) {
+        if (fixedMult <= 0) return 0;
+        if (score < EXACT_LIMIT) {
+            long high = Math.multiplyHigh(score, fixedMult);
+            long product = score * fixedMult;
+            if (high == 0 && product >= 0 && product <= Long.MAX_VALUE - MULT_SCALE / 2) {
+                return of((product + MULT_SCALE / 2) / MULT_SCALE);
+            }
+        }
+        return fromDouble(toDouble(score) * fixedMult / MULT_SCALE);
+    }
+
+    /**
+     * Converts a multiplier to fixed point, rounding half up.
+     * @param mult The multiplier.
+     * @return The multiplier in units of 1/{@link #MULT_SCALE}.
+     */
+    public static long toFixedMult(double mult) {
+        return Math.round(mult * MULT_SCALE);
+    }
+
+    /**
+     * Multiplies two fixed-point multipliers, rounding half up and saturating.
+     * @param a The first multiplier.
+     * @param b The second multiplier.
+     * @return The product in units of 1/{@link #MULT_SCALE}.
+     */
+    public static long multiplyMults(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long product = a * b;
+        if (high != 0 || product < 0 || product > Long.MAX_VALUE - MULT_SCALE / 2) {
+            return Long.MAX_VALUE;
+        }
+        return (product + MULT_SCALE / 2) / MULT_SCALE;
+    }
+
+    /**
+     * Converts a fixed-point multiplier back to a double for display.
+     * @param fixedMult The multiplier in units of 1/{@link #MULT_SCALE}.
+     * @return The multiplier.
+     */
+    public static double multToDouble(long fixedMult) {
+        return (double) fixedMult / MULT_SCALE;
+    }
+
+    /**
+     * Converts a score to a double.
+     * @param score The score.
+     * @return The value of the score.
+     */
+    public static double toDouble(long score) {
+        if (score < EXACT_LIMIT) {
+            return (double) score;
+        }
+        if (score == Long.MAX_VALUE) {
+            return Double.POSITIVE_INFINITY;
+        }
+        long exponent = ((score >>> 52) & 0x3FF) + 62;
+        return Double.longBitsToDouble(((exponent + 1023) << 52) | (score & MANTISSA_MASK));
+    }
+
+    /**
+     * Converts a non-negative double to a score, truncating any fraction.
+     * @param value The value.
+     * @return The score; infinity and values beyond the packed range saturate.
+     */
+    public static long fromDouble(double value) {
+        if (!(value > 0)) return 0;
+        if (value < EXACT_LIMIT) {
+            return (long) value;
+        }
+        long bits = Double.doubleToRawLongBits(value);
+        long exponent = ((bits >>> 52) & 0x7FF) - 1023 - 62;
+        if (exponent > MAX_PACKED_EXPONENT) {
+            return Long.MAX_VALUE;
+        }
+        return PACKED_FLAG | (exponent << 52) | (bits & MANTISSA_MASK);
+    }
+
+    /**
+     * Checks whether a score is held exactly rather than in the packed form.
+     * @param score The score.
+     * @return True if the score is an exact integer.
+     */
+    public static boolean isExact(long score) {
+        return score < EXACT_LIMIT;
+    }
+
+    /**
+     * Formats a score for display, using scientific notation once it is no longer exact.
+     * @param score The score.
+     * @return The formatted score.
+     */
+    public static String format(long score) {
+        if (score < EXACT_LIMIT) {
+            return Long.toString(score);
+        }
+        return String.format("%.3e", toDouble(score));
+    }
+}
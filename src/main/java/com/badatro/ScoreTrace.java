@@ -0,0 +1,206 @@
+package com.badatro;
+
+import java.util.Arrays;
+
+/**
+ * Records, in order, each contribution that went into a scored hand so the score can be explained.
+ * Entries are written into preallocated arrays that are reused for every hand.
+ *
+ * Scoring always writes to a trace; while no one reads the breakdown it writes to NONE, which
+ * records nothing. Scoring checks isEnabled once per hand, so while tracing is off it doesn't
+ * build the names and converted values the entries would hold either.
+ */
+public class ScoreTrace {
+    /**
+     * The kind of contribution an entry records.
+     */
+    public enum Kind {
+        HAND_CHIPS,    // Base chips of the hand type
+        HAND_MULT,     // Base mult of the hand type
+        CARD_CHIPS,    // Chips from one scoring card
+        CARD_MULT,     // Mult from a scoring card's enhancement or edition
+        CARD_XMULT,    // Mult factor from a scoring card's enhancement or edition
+        DEBUFFED,      // A card that would have scored but was debuffed by the boss
+        JOKER_MULT,    // Mult added by a joker
+        JOKER_CHIPS,   // Chips added by a joker
+        WEATHER,       // Weather and time multiplier applied to the mult
+        TOTAL          // Final score of the hand
+    }
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    /** A trace that ignores every entry, for scoring while tracing is off. */
+    public static final ScoreTrace NONE = new ScoreTrace() {
+        @Override
+        public void clear() {
+        }
+
+        @Override
+        public void add(Kind kind, Object source, double value) {
+        }
+
+        @Override
+        public void addCard(Kind kind, int card, double value) {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    private Kind[] kinds;
+    private Object[] sources;  // Hand type or Joker the entry came from; null for a card
+    private int[] cards;       // The packed card an entry came from, when its source is null
+    private double[] values;
+    private int size;
+
+    /**
+     * Constructs an empty trace with room for a typical hand.
+     */
+    public ScoreTrace() {
+        this.kinds = new Kind[INITIAL_CAPACITY];
+        this.sources = new Object[INITIAL_CAPACITY];
+        this.cards = new int[INITIAL_CAPACITY];
+        this.values = new double[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Checks whether entries are recorded, so callers can skip building them.
+     * @return False for NONE, true for a trace that records.
+     */
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Clears the trace so it can record the next hand. The buffers are kept.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            sources[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Appends a contribution to the trace.
+     * @param kind The kind of contribution.
+     * @param source The hand type or joker it came from.
+     * @param value The chips, mult or factor contributed.
+     */
+    public void add(Kind kind, Object source, double value) {
+        if (size == kinds.length) {
+            grow();
+        }
+        kinds[size] = kind;
+        sources[size] = source;
+        values[size] = value;
+        size++;
+    }
+
+    /**
+     * Appends a contribution from a card to the trace.
+     * @param kind The kind of contribution.
+     * @param card The packed card it came from.
+     * @param value The chips, mult or factor contributed.
+     */
+    public void addCard(Kind kind, int card, double value) {
+        add(kind, null, value);
+        cards[size - 1] = card;
+    }
+
+    /**
+     * Doubles the buffers; only needed for very large joker sets.
+     */
+    private void grow() {
+        int capacity = kinds.length * 2;
+        kinds = Arrays.copyOf(kinds, capacity);
+        sources = Arrays.copyOf(sources, capacity);
+        cards = Arrays.copyOf(cards, capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Kind getKind(int index) {
+        return kinds[index];
+    }
+
+    /**
+     * Gets what an entry came from.
+     * @param index The index of the entry.
+     * @return The hand type or joker, or null if the entry came from a card (see getCard).
+     */
+    public Object getSource(int index) {
+        return sources[index];
+    }
+
+    /**
+     * Gets the card an entry came from.
+     * @param index The index of the entry.
+     * @return The packed card; only meaningful when getSource is null.
+     */
+    public int getCard(int index) {
+        return cards[index];
+    }
+
+    public double getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Formats a single entry for display, e.g. "+11 chips (A♠)".
+     * @param index The index of the entry.
+     * @return The formatted entry.
+     */
+    public String describe(int index) {
+        Object source = sources[index];
+        String name;
+        if (source == null) {
+            name = PackedCard.toString(cards[index]);
+        } else {
+            name = source instanceof Joker ? ((Joker) source).getName() : String.valueOf(source);
+        }
+        double value = values[index];
+        switch (kinds[index]) {
+            case HAND_CHIPS:
+                return name + ": " + (long) value + " chips";
+            case HAND_MULT:
+                return name + ": " + (long) value + " mult";
+            case CARD_CHIPS:
+            case JOKER_CHIPS:
+                return "+" + (long) value + " chips (" + name + ")";
+            case CARD_MULT:
+            case JOKER_MULT:
+                return "+" + String.format("%.1f", value) + " mult (" + name + ")";
+            case CARD_XMULT:
+                return "x" + String.format("%.2f", value) + " mult (" + name + ")";
+            case WEATHER:
+                return "x" + String.format("%.2f", value) + " mult (" + name + ")";
+            case DEBUFFED:
+                return "debuffed (" + name + ")";
+            case TOTAL:
+                return "= " + ScoreMath.format(ScoreMath.fromDouble(value));
+            default:
+                return name;
+        }
+    }
+
+    /**
+     * Formats the whole trace, one contribution per line.
+     * @return The formatted breakdown.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) builder.append('\n');
+            builder.append(describe(i));
+        }
+        return builder.toString();
+    }
+}
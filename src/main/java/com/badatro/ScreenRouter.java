@@ -0,0 +1,120 @@
+package com.badatro;
+
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+/**
+ * Switches the main window between screens. Each screen is created the first time it is shown and
+ * kept afterwards, so a switch only refreshes the screen's data and swaps the screen shown in the
+ * one scene the window uses. Above the screen is an overlay layer holding floating panels, such
+ * as the info and weather panels, so they don't need windows of their own.
+ */
+public class ScreenRouter {
+    static final double WIDTH = 800;
+    static final double HEIGHT = 600;
+
+    private final GameManager gameManager;
+    private final Stage stage;
+    private Scene scene;
+    private final StackPane layers;  // The current screen, with the overlay layer above it
+    private final Pane overlay;
+
+    private MainMenuController mainMenu;
+    private BlindSelectionScreen blindSelection;
+    private GameScreen gameScreen;
+    private GameOverScreen gameOver;
+    private ShopScreen shopScreen;
+
+    /**
+     * Creates a router for the given window.
+     * @param gameManager The GameManager instance.
+     * @param stage The primary stage.
+     */
+    public ScreenRouter(GameManager gameManager, Stage stage) {
+        this.gameManager = gameManager;
+        this.stage = stage;
+        this.overlay = new Pane();
+        this.layers = new StackPane(overlay);
+
+        // Clicks that miss every panel go through to the screen
+        overlay.setPickOnBounds(false);
+    }
+
+    /**
+     * Adds a panel to the overlay layer. The panel stays hidden until it's shown.
+     * @param panel The panel.
+     */
+    public void addOverlay(OverlayPanel panel) {
+        overlay.getChildren().add(panel.getFrame());
+    }
+
+    /**
+     * Makes a screen's root the content of the window.
+     * @param root The root of the screen's scene graph.
+     */
+    public void setRoot(Parent root) {
+        Activity.SCREEN_SWITCH.mark();
+        if (layers.getChildren().get(0) == overlay) {
+            layers.getChildren().add(0, root);
+        } else if (layers.getChildren().get(0) != root) {
+            layers.getChildren().set(0, root);
+        }
+        if (scene == null) {
+            scene = new Scene(layers, WIDTH, HEIGHT);
+            scene.getStylesheets().add(getClass().getResource("/com/badatro/styles.css").toExternalForm());
+        }
+        if (stage.getScene() != scene) {
+            stage.setScene(scene);
+        }
+    }
+
+    public void showMainMenu() {
+        if (mainMenu == null) {
+            mainMenu = new MainMenuController(gameManager, stage);
+        }
+        mainMenu.show();
+    }
+
+    public void showBlindSelection() {
+        if (blindSelection == null) {
+            blindSelection = new BlindSelectionScreen(gameManager);
+        }
+        blindSelection.show();
+    }
+
+    public void showGame() {
+        if (gameScreen == null) {
+            gameScreen = new GameScreen(gameManager);
+        }
+        gameScreen.show();
+    }
+
+    /**
+     * Shows the game over screen.
+     * @param isWin True if the player won, false otherwise.
+     */
+    public void showGameOver(boolean isWin) {
+        if (gameOver == null) {
+            gameOver = new GameOverScreen(gameManager);
+        }
+        gameOver.show(isWin);
+    }
+
+    public void showShop() {
+        getShopScreen().show();
+    }
+
+    /**
+     * Gets the game's one shop screen, creating it (but not its UI) on first use.
+     * @return The shop screen.
+     */
+    public ShopScreen getShopScreen() {
+        if (shopScreen == null) {
+            shopScreen = new ShopScreen(gameManager);
+        }
+        return shopScreen;
+    }
+}
@@ -1,75 +1,85 @@
 package com.badatro;
 
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 import javafx.scene.layout.HBox;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.stage.Stage;
+import javafx.scene.Parent;
 import java.util.*;
+import java.util.function.Function;
 
 /**
- * Represents the shop where players can buy and sell jokers.
+ * Represents the shop where players can buy and sell jokers and buy card upgrades. The shop's
+ * items and controls are built when it is first shown, and ShopScreen displays them in the main
+ * window.
  */
 public class Shop {
-    private final Player player;
+    // Every joker the shop can offer
+    private static final List<Function<GameEngine, Joker>> JOKERS = List.of(
+        Joker::createJoker, Joker::createGreedy, Joker::createLusty, Joker::createWrathful,
+        Joker::createGluttonous, Joker::createJolly, Joker::createDroll, Joker::createSly,
+        Joker::createBanner, Joker::createMystic
+    );
+    // Their images, read once from jokers made without an engine, so a new joker can't be missed
+    private static final List<String> JOKER_IMAGE_PATHS = JOKERS.stream()
+        .map(create -> create.apply(null).getImagePath())
+        .toList();
+    private static final List<CardUpgrade> UPGRADES = CardUpgrade.createAll();
+    private static final int ITEMS_OFFERED = 2;
+    
     private final GameManager gameManager;
-    private final ShopScreen shopScreen;
-    private final Stage stage;
-    private final VBox shopContainer;
     private final List<ShopItem> availableItems;
-    private Scene scene;
+    private VBox shopContainer;
     private Label moneyLabel;
     
     /**
-     * Constructs a Shop with the given player, GameManager, and ShopScreen.
-     * @param player The player.
+     * Gets the image of every joker the shop can offer.
+     * @return The image paths.
+     */
+    public static List<String> getJokerImagePaths() {
+        return JOKER_IMAGE_PATHS;
+    }
+    
+    /**
+     * Constructs a Shop with the given GameManager. Nothing is built until the shop is shown.
      * @param gameManager The GameManager instance.
-     * @param shopScreen The ShopScreen instance.
      */
-    public Shop(Player player, GameManager gameManager, ShopScreen shopScreen) {
-        this.player = player;
+    public Shop(GameManager gameManager) {
         this.gameManager = gameManager;
-        this.shopScreen = shopScreen;
-        this.stage = new Stage();
-        this.shopContainer = new VBox(20);
         this.availableItems = new ArrayList<>();
-        
-        initializeItems();
-        setupShopUI();
     }
     
     /**
-     * Initializes the available items in the shop.
+     * Gets the player of the current run; a new run replaces the player.
+     * @return The player.
+     */
+    private Player player() {
+        return gameManager.getEngine().getPlayer();
+    }
+    
+    /**
+     * Initializes the available items in the shop: two jokers and a card upgrade.
      */
     private void initializeItems() {
-        // Add all jokers to a list
-        List<Joker> allJokers = new ArrayList<>();
-        allJokers.add(Joker.createJoker(gameManager));
-        allJokers.add(Joker.createGreedy(gameManager));
-        allJokers.add(Joker.createLusty(gameManager));
-        allJokers.add(Joker.createWrathful(gameManager));
-        allJokers.add(Joker.createGluttonous(gameManager));
-        allJokers.add(Joker.createJolly(gameManager));
-        allJokers.add(Joker.createDroll(gameManager));
-        allJokers.add(Joker.createSly(gameManager));
-        allJokers.add(Joker.createBanner(gameManager));
-        allJokers.add(Joker.createMystic(gameManager));
-        
-        // Shuffle the list
-        Collections.shuffle(allJokers);
+        // Shuffle the kinds of joker, and only create the ones on offer
+        List<Function<GameEngine, Joker>> jokers = new ArrayList<>(JOKERS);
+        Collections.shuffle(jokers);
         
         // Clear previous items
         availableItems.clear();
         
-        // Add only 2 random jokers to available items
-        availableItems.addAll(allJokers.subList(0, 2));
+        // Add 2 random jokers to available items
+        for (int i = 0; i < ITEMS_OFFERED; i++) {
+            availableItems.add(jokers.get(i).apply(gameManager.getEngine()));
+        }
+        
+        // And one random card upgrade
+        availableItems.add(UPGRADES.get(new Random().nextInt(UPGRADES.size())));
     }
     
     /**
@@ -85,17 +95,13 @@ public class Shop {
         titleLabel.setStyle("-fx-font-size: 24px; -fx-text-fill: white;");
         
         // Money display
-        moneyLabel = new Label("Money: $" + player.getMoney());
+        moneyLabel = new Label("Money: $" + player().getMoney());
         moneyLabel.setStyle("-fx-font-size: 18px; -fx-text-fill: white;");
         
         // Return button
         Button returnButton = new Button("Return to Blind Selection");
         returnButton.setStyle("-fx-background-color: #3498db; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
-        returnButton.setOnAction(e -> {
-            hide();
-            BlindSelectionScreen blindSelectionScreen = new BlindSelectionScreen(gameManager, stage);
-            blindSelectionScreen.show();
-        });
+        returnButton.setOnAction(e -> gameManager.getRouter().showBlindSelection());
         
         // Items container
         VBox itemsContainer = new VBox(10);
@@ -120,7 +126,7 @@ public class Shop {
         itemBox.setPadding(new Insets(10));
         itemBox.setStyle("-fx-background-color: #34495E; -fx-background-radius: 5;");
         
-        ImageView itemImage = new ImageView(new Image(getClass().getResourceAsStream(item.getImagePath())));
+        ImageView itemImage = CardAtlas.getDefault().createView(item.getImagePath());
         itemImage.setFitWidth(50);
         itemImage.setFitHeight(50);
         
@@ -137,14 +143,14 @@ public class Shop {
         Button buyButton = new Button("Buy");
         buyButton.setStyle("-fx-background-color: #27AE60; -fx-text-fill: white;");
         buyButton.setOnAction(e -> {
-            if (player.getMoney() >= item.getCost()) {
-                player.setMoney(player.getMoney() - item.getCost());
+            if (player().getMoney() >= item.getCost()) {
+                player().setMoney(player().getMoney() - item.getCost());
                 if (item instanceof Joker) {
-                    player.addJoker((Joker) item);
+                    player().addJoker((Joker) item);
+                } else if (item instanceof CardUpgrade) {
+                    ((CardUpgrade) item).applyTo(gameManager.getEngine());
                 }
-                hide();
-                BlindSelectionScreen blindSelectionScreen = new BlindSelectionScreen(gameManager, stage);
-                blindSelectionScreen.show();
+                gameManager.getRouter().showBlindSelection();
             } else {
                 Alert alert = new Alert(Alert.AlertType.WARNING);
                 alert.setTitle("Not Enough Money");
@@ -159,32 +165,28 @@ public class Shop {
     }
     
     /**
-     * Shows the shop UI.
+     * Restocks the shop with new random jokers and rebuilds its items, building the shop UI the
+     * first time.
      */
     public void show() {
+        if (shopContainer == null) {
+            shopContainer = new VBox(20);
+        }
+        
         // Reinitialize items to get new random jokers
         initializeItems();
         
         // Clear and rebuild the shop UI
         shopContainer.getChildren().clear();
         setupShopUI();
-        
-        // Update money display
-        moneyLabel.setText("Money: $" + player.getMoney());
-        
-        if (scene == null) {
-            scene = new Scene(shopContainer, 800, 600);
-        }
-        stage.setScene(scene);
-        stage.setTitle("Shop");
-        stage.show();
     }
     
     /**
-     * Hides the shop UI.
+     * Gets the shop's UI, for ShopScreen to display.
+     * @return The root of the shop's scene graph, or null before the shop is first shown.
      */
-    public void hide() {
-        stage.hide();
+    public Parent getView() {
+        return shopContainer;
     }
     
     /**
@@ -199,8 +201,8 @@ public class Shop {
         
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                player.setMoney(player.getMoney() + (joker.getCost() - 1));
-                player.removeJoker(joker);
+                player().setMoney(player().getMoney() + (joker.getCost() - 1));
+                player().removeJoker(joker);
             }
         });
     }
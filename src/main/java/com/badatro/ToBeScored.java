@@ -1,50 +1,84 @@
 package com.badatro;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Represents a collection of cards that are to be scored, including adding, clearing, and retrieving cards.
+ * Cards are kept as packed ints (see PackedCard) in play order.
  */
 public class ToBeScored {
-    private List<Card> cards;
+    private final int[] cards;
+    private int size;
     
     /**
      * Constructs an empty ToBeScored collection.
      */
     public ToBeScored() {
-        this.cards = new ArrayList<>();
+        this.cards = new int[Hand.MAX_HAND_SIZE];
     }
     
     /**
-     * Adds a card to the collection.
-     * @param card The card to add.
+     * Adds a card to the collection if there is space.
+     * @param card The packed card to add.
      */
-    public void addCard(Card card) {
-        cards.add(card);
+    public void addCard(int card) {
+        if (size < cards.length) {
+            cards[size++] = card;
+        }
     }
     
     /**
      * Adds multiple cards to the collection.
-     * @param cards The list of cards to add.
+     * @param cards The packed cards to add.
      */
-    public void addCards(List<Card> cards) {
-        this.cards.addAll(cards);
+    public void addCards(int[] cards) {
+        for (int card : cards) {
+            addCard(card);
+        }
     }
     
     /**
-     * Gets a copy of the list of cards in the collection.
-     * @return A list of cards in the collection.
+     * Gets a copy of the cards in the collection.
+     * @return The packed cards in play order.
      */
-    public List<Card> getCards() {
-        return new ArrayList<>(cards);
+    public int[] getCards() {
+        return Arrays.copyOf(cards, size);
+    }
+    
+    /**
+     * Gets the collection's cards without copying: the first getSize() entries are the cards in
+     * play order. The array changes as the collection does and must not be modified.
+     * @return The backing array.
+     */
+    public int[] viewCards() {
+        return cards;
+    }
+    
+    /**
+     * Gets the card at the specified index.
+     * @param index The index of the card.
+     * @return The packed card at the index.
+     */
+    public int getCard(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return cards[index];
     }
     
     /**
      * Clears all cards from the collection.
      */
     public void clear() {
-        cards.clear();
+        size = 0;
+    }
+    
+    /**
+     * Gets the number of cards in the collection.
+     * @return The number of cards.
+     */
+    public int getSize() {
+        return size;
     }
     
     /**
@@ -52,9 +86,11 @@ public class ToBeScored {
      * @return The total chip value.
      */
     public int getTotalChips() {
-        return cards.stream()
-                   .mapToInt(Card::getBaseChips)
-                   .sum();
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += PackedCard.rank(cards[i]);  // Base chips equal to rank
+        }
+        return total;
     }
     
     /**
@@ -67,11 +103,11 @@ public class ToBeScored {
     
     /**
      * Removes all cards from the collection and returns them.
-     * @return The list of removed cards.
+     * @return The removed packed cards.
      */
-    public List<Card> removeAllCards() {
-        List<Card> removedCards = new ArrayList<>(cards);
-        cards.clear();
+    public int[] removeAllCards() {
+        int[] removedCards = getCards();
+        size = 0;
         return removedCards;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.badatro;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Coalesces UI updates so each one runs at most once per JavaFX pulse. Code that changes the game
+ * state marks the views that need refreshing instead of refreshing them right away, and the
+ * marked updates run together at the start of the next pulse, before any scene is laid out.
+ * However many events a play fires, each view is refreshed once and laid out once.
+ *
+ * Updates are told apart by identity, so an update that's marked from several places should be
+ * kept in a field rather than written as a new lambda each time.
+ */
+public class UiScheduler {
+    private final Set<Runnable> dirty;  // In the order they were first marked
+    private final AnimationTimer timer;
+    private boolean scheduled;
+
+    /**
+     * Creates a scheduler with nothing marked.
+     */
+    public UiScheduler() {
+        this.dirty = new LinkedHashSet<>();
+
+        // Animation timers run at the start of a pulse; this one only runs while something is marked
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                flush();
+            }
+        };
+    }
+
+    /**
+     * Marks an update to run at the next pulse. Marking it again before then does nothing.
+     * @param update The update.
+     */
+    public void invalidate(Runnable update) {
+        if (dirty.add(update) && !scheduled) {
+            scheduled = true;
+            timer.start();
+        }
+    }
+
+    /**
+     * Runs the marked updates now. Updates marked while they run wait for the next pulse.
+     */
+    public void flush() {
+        timer.stop();
+        scheduled = false;
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Activity.UI_UPDATE.mark();
+        Runnable[] updates = dirty.toArray(new Runnable[0]);
+        dirty.clear();
+        for (Runnable update : updates) {
+            update.run();
+        }
+    }
+}
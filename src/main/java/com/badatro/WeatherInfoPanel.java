@@ -1,20 +1,19 @@
 package com.badatro;
 
 import javafx.geometry.Insets;
-import javafx.scene.Scene;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
-import javafx.stage.Stage;
-import javafx.stage.StageStyle;
 
 /**
- * A floating window that displays weather and time information.
+ * A floating panel that displays weather and time information.
  * This panel shows current time, location, weather conditions, and score multipliers.
+ * It floats over the main window and can be popped out into a window of its own.
  */
 public class WeatherInfoPanel {
-    private final Stage stage;
+    private static final double WIDTH = 200;
+    
+    private final OverlayPanel panel;
+    private final javafx.animation.Timeline timeline;
     private final Label timeLabel;
     private final Label locationLabel;
     private final Label weatherLabel;
@@ -22,25 +21,20 @@ public class WeatherInfoPanel {
     private final WeatherManager weatherManager;
 
     /**
-     * Creates a new WeatherInfoPanel with the specified WeatherManager.
-     * Initializes the window and sets up auto-updating of weather information.
+     * Creates a new WeatherInfoPanel with the specified WeatherManager, in the top-right corner
+     * of the main window's overlay layer. Sets up auto-updating of weather information while the
+     * panel is shown.
      *
      * @param weatherManager The WeatherManager instance to use for weather data
+     * @param router The router whose overlay layer holds the panel
      */
-    public WeatherInfoPanel(WeatherManager weatherManager) {
+    public WeatherInfoPanel(WeatherManager weatherManager, ScreenRouter router) {
         this.weatherManager = weatherManager;
-        this.stage = new Stage();
-        stage.initStyle(StageStyle.UNDECORATED);
-        stage.setAlwaysOnTop(true);
 
         VBox root = new VBox(5);
         root.setPadding(new Insets(10));
-        root.setStyle("-fx-background-color: rgba(0, 0, 0, 0.8); -fx-background-radius: 5;");
-
-        // Title
-        Label titleLabel = new Label("Weather & Time Info");
-        titleLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
-        titleLabel.setStyle("-fx-text-fill: white;");
+        root.setPrefWidth(WIDTH);
+        root.setStyle("-fx-background-color: rgba(0, 0, 0, 0.8); -fx-background-radius: 0 0 5 5;");
 
         // Time
         timeLabel = new Label();
@@ -58,46 +52,33 @@ public class WeatherInfoPanel {
         multiplierLabel = new Label();
         multiplierLabel.setStyle("-fx-text-fill: white;");
 
-        root.getChildren().addAll(titleLabel, timeLabel, locationLabel, weatherLabel, multiplierLabel);
-
-        Scene scene = new Scene(root);
-        scene.setFill(null);
-        stage.setScene(scene);
+        root.getChildren().addAll(timeLabel, locationLabel, weatherLabel, multiplierLabel);
 
-        // Make the window draggable
-        root.setOnMousePressed(event -> {
-            root.setOnMouseDragged(e -> {
-                stage.setX(e.getScreenX() - event.getSceneX());
-                stage.setY(e.getScreenY() - event.getSceneY());
-            });
-        });
+        this.panel = new OverlayPanel("Weather & Time Info", root, ScreenRouter.WIDTH - WIDTH - 10, 10);
+        router.addOverlay(panel);
 
-        // Update info every minute
-        javafx.animation.Timeline timeline = new javafx.animation.Timeline(
+        // Update info every minute while shown
+        this.timeline = new javafx.animation.Timeline(
             new javafx.animation.KeyFrame(javafx.util.Duration.minutes(1), e -> updateInfo())
         );
         timeline.setCycleCount(javafx.animation.Timeline.INDEFINITE);
-        timeline.play();
-
-        updateInfo();
     }
 
     /**
-     * Shows the weather info panel window.
-     * Positions the window in the top-right corner of the primary screen.
+     * Shows the weather info panel.
      */
     public void show() {
-        stage.show();
-        // Position in top-right corner
-        stage.setX(javafx.stage.Screen.getPrimary().getVisualBounds().getWidth() - stage.getWidth() - 20);
-        stage.setY(20);
+        updateInfo();
+        timeline.play();
+        panel.show();
     }
 
     /**
-     * Hides the weather info panel window.
+     * Hides the weather info panel.
      */
     public void hide() {
-        stage.hide();
+        timeline.stop();
+        panel.hide();
     }
 
     /**
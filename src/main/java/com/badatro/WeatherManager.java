@@ -59,6 +59,7 @@ public class WeatherManager {
         if (location == null || location.isEmpty()) {
             return;
         }
+        Activity.WEATHER_REFRESH.mark();
 
         try {
             String url = BASE_URL + "/current.json?key=" + API_KEY + "&q=" + location + "&aqi=no";
@@ -0,0 +1,155 @@
+package com.badatro;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for hashing game states into 64 bits.
+ *
+ * Every card has one random key per place it can be (hand, deck, or played/discarded), and a
+ * state's card hash is the XOR of the keys of all its cards. Moving a card XORs out its old key
+ * and XORs in its new one, so the hash follows draws, plays and discards in constant time per card.
+ * Counters (score, hands, discards), the blind and the jokers get their own keys that are XORed
+ * on top. The keys come from a fixed seed, so the same state hashes the same on every machine.
+ */
+public final class Zobrist {
+    private static final long SEED = 0xBADA7B0551A5EEDL;
+
+    private static final long[] HAND = new long[52];
+    private static final long[] DECK = new long[52];
+    private static final long[] USED = new long[52];
+
+    // Salts keep the counter keys apart from each other
+    private static final long SCORE_SALT = 0x243F6A8885A308D3L;
+    private static final long HANDS_SALT = 0x13198A2E03707344L;
+    private static final long DISCARDS_SALT = 0xA4093822299F31D0L;
+    private static final long BLIND_SALT = 0x082EFA98EC4E6C89L;
+    private static final long JOKER_SALT = 0x452821E638D01377L;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < 52; i++) {
+            HAND[i] = random.nextLong();
+            DECK[i] = random.nextLong();
+            USED[i] = random.nextLong();
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the key for a card in hand.
+     * @param card The packed card.
+     * @return The key.
+     */
+    public static long handCard(int card) {
+        return HAND[PackedCard.index(card)];
+    }
+
+    /**
+     * Gets the key for a card in the deck.
+     * @param card The packed card.
+     * @return The key.
+     */
+    public static long deckCard(int card) {
+        return DECK[PackedCard.index(card)];
+    }
+
+    /**
+     * Gets the key for a card that has been played or discarded this blind.
+     * @param card The packed card.
+     * @return The key.
+     */
+    public static long usedCard(int card) {
+        return USED[PackedCard.index(card)];
+    }
+
+    /**
+     * Gets the change in hash when a card is drawn from the deck into the hand.
+     * @param card The packed card.
+     * @return The value to XOR into the hash.
+     */
+    public static long draw(int card) {
+        int index = PackedCard.index(card);
+        return DECK[index] ^ HAND[index];
+    }
+
+    /**
+     * Gets the change in hash when a card leaves the hand by being played or discarded.
+     * @param card The packed card.
+     * @return The value to XOR into the hash.
+     */
+    public static long use(int card) {
+        int index = PackedCard.index(card);
+        return HAND[index] ^ USED[index];
+    }
+
+    /**
+     * Gets the card hash of a set of cards in the deck, as in a fresh blind.
+     * @param deck The packed cards in the deck.
+     * @return The XOR of their deck keys.
+     */
+    public static long deck(int[] deck) {
+        long hash = 0;
+        for (int card : deck) {
+            hash ^= DECK[PackedCard.index(card)];
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the key for a score.
+     * @param score The packed score.
+     * @return The key.
+     */
+    public static long score(long score) {
+        return mix(score + SCORE_SALT);
+    }
+
+    /**
+     * Gets the key for the number of hands left.
+     * @param hands The hands left.
+     * @return The key.
+     */
+    public static long hands(int hands) {
+        return mix(hands + HANDS_SALT);
+    }
+
+    /**
+     * Gets the key for the number of discards left.
+     * @param discards The discards left.
+     * @return The key.
+     */
+    public static long discards(int discards) {
+        return mix(discards + DISCARDS_SALT);
+    }
+
+    /**
+     * Gets the key for a blind, from its target and boss rules.
+     * @param target The target score, as a packed score.
+     * @param bossEffect The rules of the blind.
+     * @return The key.
+     */
+    public static long blind(long target, BossEffect bossEffect) {
+        return mix(mix(target + BLIND_SALT) + bossEffect.hashCode());
+    }
+
+    /**
+     * Gets the key for a joker. Joker keys are added rather than XORed, so two copies of the same
+     * joker don't cancel out; see Player.getJokerHash.
+     * @param joker The joker.
+     * @return The key.
+     */
+    public static long joker(Joker joker) {
+        return mix(joker.getName().hashCode() + JOKER_SALT);
+    }
+
+    /**
+     * Scrambles a value into a well-spread 64-bit key (the SplitMix64 finalizer).
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,102 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BossEffectTest {
+    private static final BossBlind[] SUIT_BOSSES = {
+        BossBlind.THE_HEAD, BossBlind.THE_WINDOW, BossBlind.THE_CLUB, BossBlind.THE_GOAT
+    };
+
+    @Test
+    void suitBossesDebuffTheirWholeSuit() {
+        for (int suit = 0; suit < 4; suit++) {
+            BossEffect effect = SUIT_BOSSES[suit].getEffect();
+            assertEquals(13, Long.bitCount(effect.getDebuffMask()));
+            for (int cardSuit = 0; cardSuit < 4; cardSuit++) {
+                for (int rank = 2; rank <= 14; rank++) {
+                    int card = PackedCard.withSeal(PackedCard.of(rank, cardSuit), PackedCard.SEAL_RED);
+                    assertEquals(cardSuit == suit, effect.isDebuffed(card), SUIT_BOSSES[suit].getDisplayName() + " " + PackedCard.toString(card));
+                }
+            }
+        }
+    }
+
+    @Test
+    void thePlantDebuffsFaceCardsOnly() {
+        BossEffect plant = BossBlind.THE_PLANT.getEffect();
+        assertEquals(12, Long.bitCount(plant.getDebuffMask()));
+        for (int suit = 0; suit < 4; suit++) {
+            for (int rank = 2; rank <= 14; rank++) {
+                boolean face = rank >= 11 && rank <= 13;
+                assertEquals(face, plant.isDebuffed(PackedCard.of(rank, suit)), PackedCard.toString(PackedCard.of(rank, suit)));
+            }
+        }
+        assertEquals(0, BossEffect.NONE.getDebuffMask());
+    }
+
+    @Test
+    void thePsychicOnlyAllowsFiveCards() {
+        BossEffect psychic = BossBlind.THE_PSYCHIC.getEffect();
+        assertEquals(5, psychic.getRequiredPlaySize());
+        for (int cards = 1; cards <= 5; cards++) {
+            assertEquals(cards == 5, psychic.allowsPlay(cards));
+            assertTrue(BossEffect.NONE.allowsPlay(cards));
+        }
+        assertEquals(0, BossEffect.NONE.getRequiredPlaySize());
+    }
+
+    @Test
+    void adjustHooksChangeOnlyTheirRule() {
+        BossEffect flint = BossBlind.THE_FLINT.getEffect();
+        assertEquals(18, flint.adjustBaseChips(35));  // Halved, rounding half up
+        assertEquals(2, flint.adjustBaseMult(4));
+        assertEquals(1, flint.adjustBaseMult(1));     // The mult stays at least 1
+        assertEquals(8, flint.adjustHandSize(8));
+
+        assertEquals(1, BossBlind.THE_NEEDLE.getEffect().adjustHands(3));
+        assertEquals(3, BossBlind.THE_NEEDLE.getEffect().adjustDiscards(3));
+        assertEquals(0, BossBlind.THE_WATER.getEffect().adjustDiscards(3));
+        assertEquals(3, BossBlind.THE_WATER.getEffect().adjustHands(3));
+        assertEquals(7, BossBlind.THE_MANACLE.getEffect().adjustHandSize(8));
+        assertEquals(1, BossEffect.handSize(-10).adjustHandSize(8));
+
+        BossEffect none = BossEffect.NONE;
+        assertEquals(35, none.adjustBaseChips(35));
+        assertEquals(4, none.adjustBaseMult(4));
+        assertEquals(8, none.adjustHandSize(8));
+        assertEquals(3, none.adjustHands(3));
+        assertEquals(3, none.adjustDiscards(3));
+    }
+
+    @Test
+    void combinedEffectsApplyBothRules() {
+        BossEffect combined = BossBlind.THE_HEAD.getEffect().and(BossBlind.THE_PLANT.getEffect())
+            .and(BossBlind.THE_PSYCHIC.getEffect()).and(BossBlind.THE_FLINT.getEffect())
+            .and(BossBlind.THE_MANACLE.getEffect()).and(BossEffect.handSize(-1))
+            .and(BossBlind.THE_WATER.getEffect());
+        assertEquals(13 + 9, Long.bitCount(combined.getDebuffMask()));  // Hearts, and the other faces
+        assertTrue(combined.isDebuffed(PackedCard.of(2, 0)));
+        assertTrue(combined.isDebuffed(PackedCard.of(12, 3)));
+        assertFalse(combined.isDebuffed(PackedCard.of(14, 3)));
+        assertFalse(combined.allowsPlay(4));
+        assertTrue(combined.allowsPlay(5));
+        assertEquals(2, combined.adjustBaseMult(4));
+        assertEquals(6, combined.adjustHandSize(8));  // Both hand size changes add up
+        assertEquals(0, combined.adjustDiscards(3));
+        assertEquals(3, combined.adjustHands(3));
+
+        // Divisors multiply, and the later overrides win
+        assertEquals(1, BossEffect.divideBase(2).and(BossEffect.divideBase(2)).adjustBaseMult(4));
+        assertEquals(2, BossEffect.hands(1).and(BossEffect.hands(2)).adjustHands(3));
+        assertEquals(3, BossEffect.requirePlaySize(5).and(BossEffect.requirePlaySize(3)).getRequiredPlaySize());
+
+        // Combining with NONE changes nothing, and equal rules are equal
+        assertEquals(BossBlind.THE_HEAD.getEffect(), BossBlind.THE_HEAD.getEffect().and(BossEffect.NONE));
+        assertEquals(BossBlind.THE_HEAD.getEffect().hashCode(),
+            BossEffect.NONE.and(BossBlind.THE_HEAD.getEffect()).hashCode());
+    }
+}
@@ -0,0 +1,197 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClearProbabilitySolverTest {
+    private static final int HEARTS = 0;
+    private static final int DIAMONDS = 1;
+    private static final int CLUBS = 2;
+    private static final int SPADES = 3;
+
+    private static GameState state(int[] hand, int[] deck, long target, int hands, int discards,
+                                   BossEffect bossEffect, List<Joker> jokers) {
+        return GameState.of(hand, deck, 0, ScoreMath.of(target), hands, discards, bossEffect, jokers, 1.0);
+    }
+
+    private static GameState state(int[] hand, int[] deck, long target, int hands, int discards) {
+        return state(hand, deck, target, hands, discards, BossEffect.NONE, List.of());
+    }
+
+    @Test
+    void smallEndgameMatchesTheHandComputedChance() {
+        // A pair of kings scores (10 + 20) x 2 = 60, exactly the target, and only K♠ is left to
+        // pair K♥. Playing or discarding the 7 draws it with 1/3; otherwise one discard is left
+        // (or one play after a discard), which finds it among the last two cards with 1/2:
+        // 1/3 + 2/3 x 1/2 = 2/3. Playing the king first leaves no way to score 45 more.
+        int[] hand = {PackedCard.of(13, HEARTS), PackedCard.of(7, CLUBS)};
+        int[] deck = {PackedCard.of(13, SPADES), PackedCard.of(2, DIAMONDS), PackedCard.of(3, DIAMONDS)};
+        assertEquals(2.0 / 3, new ClearProbabilitySolver(1 << 16).solve(state(hand, deck, 60, 2, 1)), 1e-12);
+
+        // Without the discard, the 7 must be played first: 1/3 + 2/3 x 0
+        assertEquals(1.0 / 3, new ClearProbabilitySolver(1 << 16).solve(state(hand, deck, 60, 2, 0)), 1e-12);
+    }
+
+    @Test
+    void settledStatesNeedNoSearch() {
+        ClearProbabilitySolver solver = new ClearProbabilitySolver(1 << 16);
+        int[] pair = {PackedCard.of(13, HEARTS), PackedCard.of(13, SPADES)};
+        int[] deck = {PackedCard.of(2, DIAMONDS)};
+        assertEquals(1.0, solver.solve(state(pair, deck, 60, 1, 0)));
+        assertEquals(0.0, solver.solve(state(pair, deck, 61, 1, 0)));
+        assertEquals(0.0, solver.solve(state(pair, deck, 60, 0, 3)));
+        assertEquals(1.0, solver.solve(state(pair, deck, 0, 0, 0)));
+    }
+
+    @Test
+    void matchesBruteForceOnRandomEndgames() {
+        SplittableRandom random = new SplittableRandom(34);
+        ClearProbabilitySolver solver = new ClearProbabilitySolver(1 << 16);
+        for (int round = 0; round < 12; round++) {
+            // Few ranks, so refills often hold several interchangeable cards
+            List<Integer> pool = new ArrayList<>();
+            for (int suit = 0; suit < 4; suit++) {
+                for (int rank = 10; rank <= 14; rank++) {
+                    pool.add(PackedCard.of(rank, suit));
+                }
+            }
+            int[] cards = new int[8];
+            for (int i = 0; i < cards.length; i++) {
+                int card = pool.remove(random.nextInt(pool.size()));
+                if (random.nextInt(4) == 0) {
+                    card = PackedCard.withEnhancement(card, 1 + random.nextInt(3));
+                }
+                cards[i] = card;
+            }
+            int[] hand = {cards[0], cards[1], cards[2]};
+            int[] deck = {cards[3], cards[4], cards[5], cards[6], cards[7]};
+            BossEffect bossEffect = round % 3 == 0 ? BossEffect.debuff(PackedCard.bit(cards[4])) : BossEffect.NONE;
+            List<Joker> jokers = new ArrayList<>();
+            if (round % 2 == 0) {
+                Joker greedy = Joker.createGreedy(null);
+                greedy.setActive(true);
+                jokers.add(greedy);
+            }
+            long target = 60 + random.nextInt(200);
+            GameState state = state(hand, deck, target, 2, 1, bossEffect, jokers);
+
+            double expected = bruteForce(state, hand, deck, 0, 2, 1);
+            assertEquals(expected, solver.solve(state), 1e-12, "round " + round);
+        }
+    }
+
+    /**
+     * The start of a blind: no pair or draw in hand, the rest of the deck to draw from.
+     */
+    private static GameState opening() {
+        int[] hand = {PackedCard.of(2, HEARTS), PackedCard.of(4, DIAMONDS), PackedCard.of(6, CLUBS),
+            PackedCard.of(8, SPADES), PackedCard.of(10, HEARTS), PackedCard.of(12, DIAMONDS),
+            PackedCard.of(14, CLUBS), PackedCard.of(3, SPADES)};
+        int[] deck = new int[44];
+        int size = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            for (int rank = 2; rank <= 14; rank++) {
+                int card = PackedCard.of(rank, suit);
+                boolean inHand = false;
+                for (int held : hand) {
+                    inHand |= held == card;
+                }
+                if (!inHand) {
+                    deck[size++] = card;
+                }
+            }
+        }
+        return state(hand, deck, 300, 4, 3);
+    }
+
+    @Test
+    void budgetStopsTheSearch() {
+        GameState opening = opening();
+        ClearProbabilitySolver solver = new ClearProbabilitySolver(1 << 16);
+        assertTrue(Double.isNaN(solver.solve(opening, 1000, Long.MAX_VALUE)));
+        assertTrue(solver.getNodes() <= 1000);
+        assertTrue(Double.isNaN(solver.solve(opening, Long.MAX_VALUE, 0)));
+
+        // The solver still works after being stopped
+        int[] small = {PackedCard.of(13, HEARTS), PackedCard.of(7, CLUBS)};
+        int[] rest = {PackedCard.of(13, SPADES), PackedCard.of(2, DIAMONDS), PackedCard.of(3, DIAMONDS)};
+        assertEquals(2.0 / 3, solver.solve(state(small, rest, 60, 2, 1)), 1e-12);
+    }
+
+    @Test
+    void cancelStopsASolveOnAnotherThread() throws InterruptedException {
+        ClearProbabilitySolver solver = new ClearProbabilitySolver(1 << 16);
+        GameState opening = opening();
+        double[] result = {0};
+        Thread thread = new Thread(() -> result[0] = solver.solve(opening));
+        thread.start();
+        Thread.sleep(50);
+        solver.cancel();
+        thread.join(10_000);
+        assertTrue(Double.isNaN(result[0]));
+    }
+
+    /**
+     * Expectimax over every play, discard and card-by-card refill, with no memo, bounds or
+     * classes, to check the solver against.
+     */
+    private static double bruteForce(GameState rules, int[] hand, int[] deck, long score, int hands, int discards) {
+        if (score >= rules.getTarget()) return 1;
+        if (hands <= 0) return 0;
+        double best = 0;
+        for (int mask = 1; mask < (1 << hand.length); mask++) {
+            int count = Integer.bitCount(mask);
+            if (count > GameState.MAX_PLAY_SIZE) {
+                continue;
+            }
+            int[] kept = without(hand, mask);
+            if (rules.getBossEffect().allowsPlay(count)) {
+                long played = ScoreMath.add(score, rules.scoreCards(hand, mask, discards));
+                best = Math.max(best, refill(rules, kept, deck, count, played, hands - 1, discards));
+            }
+            if (discards > 0) {
+                best = Math.max(best, refill(rules, kept, deck, count, score, hands, discards - 1));
+            }
+        }
+        return best;
+    }
+
+    private static double refill(GameState rules, int[] kept, int[] deck, int count, long score, int hands, int discards) {
+        int draws = Math.min(count, deck.length);
+        double sum = 0;
+        int outcomes = 0;
+        for (int drawn = 0; drawn < (1 << deck.length); drawn++) {
+            if (Integer.bitCount(drawn) != draws) {
+                continue;
+            }
+            int[] hand = new int[kept.length + draws];
+            System.arraycopy(kept, 0, hand, 0, kept.length);
+            int size = kept.length;
+            for (int i = 0; i < deck.length; i++) {
+                if ((drawn & (1 << i)) != 0) {
+                    hand[size++] = deck[i];
+                }
+            }
+            sum += bruteForce(rules, hand, without(deck, drawn), score, hands, discards);
+            outcomes++;
+        }
+        return sum / outcomes;
+    }
+
+    private static int[] without(int[] cards, int mask) {
+        int[] rest = new int[cards.length - Integer.bitCount(mask)];
+        int size = 0;
+        for (int i = 0; i < cards.length; i++) {
+            if ((mask & (1 << i)) == 0) {
+                rest[size++] = cards[i];
+            }
+        }
+        return rest;
+    }
+}
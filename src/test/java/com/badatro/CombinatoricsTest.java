@@ -0,0 +1,52 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CombinatoricsTest {
+    @Test
+    void combinationsMatchPascalsTriangle() {
+        long[] row = {1};
+        for (int n = 0; n <= 60; n++) {
+            for (int k = 0; k <= n; k++) {
+                assertEquals(row[k], Combinatorics.combinations(n, k), n + " choose " + k);
+            }
+            long[] next = new long[n + 2];
+            next[0] = 1;
+            next[n + 1] = 1;
+            for (int k = 1; k <= n; k++) {
+                next[k] = row[k - 1] + row[k];
+            }
+            row = next;
+        }
+        assertEquals(2_598_960, Combinatorics.combinations(52, 5));
+    }
+
+    @Test
+    void combinationsOutOfRangeAreZeroAndLargeOnesSaturate() {
+        assertEquals(0, Combinatorics.combinations(4, 5));
+        assertEquals(0, Combinatorics.combinations(4, -1));
+        assertEquals(1, Combinatorics.combinations(0, 0));
+        assertEquals(Long.MAX_VALUE, Combinatorics.combinations(200, 100));
+    }
+
+    @Test
+    void nextCombinationWalksEverySubsetOfASizeInOrder() {
+        for (int n = 1; n <= 12; n++) {
+            for (int k = 1; k <= n; k++) {
+                long limit = 1L << n;
+                long previous = -1;
+                int count = 0;
+                for (long bits = (1L << k) - 1; bits < limit; bits = Combinatorics.nextCombination(bits)) {
+                    assertEquals(k, Long.bitCount(bits));
+                    assertTrue(bits > previous);
+                    previous = bits;
+                    count++;
+                }
+                assertEquals(Combinatorics.combinations(n, k), count, n + " choose " + k);
+            }
+        }
+    }
+}
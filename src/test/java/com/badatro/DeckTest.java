@@ -0,0 +1,120 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeckTest {
+    /**
+     * Checks every counter against a count over the cards left to draw.
+     */
+    private static void assertCountersMatch(Deck deck) {
+        int[] rankCounts = new int[15];
+        int[] suitCounts = new int[4];
+        long mask = 0;
+        for (int card : deck.getCards()) {
+            rankCounts[PackedCard.rank(card)]++;
+            suitCounts[PackedCard.suit(card)]++;
+            mask |= PackedCard.bit(card);
+        }
+        for (int rank = 2; rank <= 14; rank++) {
+            assertEquals(rankCounts[rank], deck.getRankCount(rank), "rank " + rank);
+        }
+        for (int suit = 0; suit < 4; suit++) {
+            assertEquals(suitCounts[suit], deck.getSuitCount(suit), "suit " + suit);
+        }
+        assertEquals(mask, deck.getRemainingMask());
+        assertEquals(Long.bitCount(mask), deck.getRemainingCards());
+    }
+
+    @Test
+    void countersFollowDraws() {
+        Deck deck = new Deck(new Random(38));
+        assertCountersMatch(deck);
+        assertEquals(4, deck.getRankCount(14));
+        assertEquals(13, deck.getSuitCount(3));
+
+        for (int i = 0; i < 52; i++) {
+            int card = deck.drawCard();
+            assertFalse(deck.hasCard(PackedCard.rank(card), PackedCard.suit(card)));
+            assertCountersMatch(deck);
+        }
+        assertEquals(PackedCard.NONE, deck.drawCard());
+        assertEquals(0, deck.getRemainingMask());
+    }
+
+    @Test
+    void countersFollowReturnedCards() {
+        Deck deck = new Deck(new Random(38));
+        int first = deck.drawCard();
+        int second = deck.drawCard();
+        int next = deck.getCard(0);
+
+        deck.returnCard(first);
+        assertTrue(deck.hasCard(PackedCard.rank(first), PackedCard.suit(first)));
+        assertFalse(deck.isCardUsed(first));
+        assertCountersMatch(deck);
+
+        // The returned card is drawn next, then the deck carries on where it was
+        assertEquals(first, deck.drawCard());
+        assertEquals(next, deck.drawCard());
+        assertCountersMatch(deck);
+
+        // Returning a card that wasn't drawn changes nothing
+        deck.returnCard(deck.getCard(0));
+        assertCountersMatch(deck);
+        assertTrue(deck.isCardUsed(second));
+    }
+
+    @Test
+    void resetRestoresEveryCounter() {
+        Deck deck = new Deck(new Random(38));
+        for (int i = 0; i < 20; i++) {
+            deck.drawCard();
+        }
+        deck.reset();
+        assertCountersMatch(deck);
+        assertEquals(52, deck.getRemainingCards());
+        for (int rank = 2; rank <= 14; rank++) {
+            assertEquals(4, deck.getRankCount(rank));
+        }
+        for (int suit = 0; suit < 4; suit++) {
+            assertEquals(13, deck.getSuitCount(suit));
+        }
+    }
+
+    @Test
+    void countersMatchTheCardsThroughMixedDrawsReturnsAndResets() {
+        Random random = new Random(37);
+        Deck deck = new Deck(new Random(37));
+        List<Integer> drawn = new ArrayList<>();
+        for (int step = 0; step < 2000; step++) {
+            int action = random.nextInt(20);
+            if (action == 0) {
+                deck.reset();
+                drawn.clear();
+            } else if (action < 7 && !drawn.isEmpty()) {
+                int card = drawn.remove(random.nextInt(drawn.size()));
+                deck.returnCard(card);
+                assertEquals(card, deck.getCard(0));
+            } else {
+                int card = deck.drawCard();
+                if (card != PackedCard.NONE) {
+                    drawn.add(card);
+                }
+            }
+            assertCountersMatch(deck);
+            assertEquals(52 - drawn.size(), deck.getRemainingCards());
+            for (int card : drawn) {
+                assertTrue(deck.isCardUsed(card));
+                assertFalse(deck.hasCard(PackedCard.rank(card), PackedCard.suit(card)));
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiscardAdvisorTest {
+    private static final int HEARTS = 0;
+    private static final int DIAMONDS = 1;
+    private static final int CLUBS = 2;
+    private static final int SPADES = 3;
+
+    private static GameState state(int[] hand, int[] deck, BossEffect bossEffect) {
+        return GameState.of(hand, deck, 0, ScoreMath.of(1000), 1, 1, bossEffect, List.of(), 1.0);
+    }
+
+    @Test
+    void bestPlayTriesSmallerPlays() {
+        // Played together, the ace is the high card and the glass 9 doesn't score
+        int glassNine = PackedCard.withEnhancement(PackedCard.of(9, HEARTS), PackedCard.ENHANCEMENT_GLASS);
+        int[] hand = {PackedCard.of(14, SPADES), glassNine, PackedCard.of(2, CLUBS),
+            PackedCard.of(3, DIAMONDS), PackedCard.of(5, DIAMONDS)};
+
+        // The 9 alone: (5 + 9) chips x 2 mult
+        assertEquals(ScoreMath.of(28), DiscardAdvisor.bestPlay(state(hand, new int[0], BossEffect.NONE), hand, 0));
+
+        // A boss that forces five cards leaves only the full play: 5 + 11 chips x 1 mult
+        GameState forced = state(hand, new int[0], BossEffect.requirePlaySize(5));
+        assertEquals(ScoreMath.of(16), DiscardAdvisor.bestPlay(forced, hand, 0));
+    }
+
+    @Test
+    void smallDiscardsAreExact() {
+        // Discarding the 2 draws the last king half the time: (30 + 30) x 3 = 180, else a pair
+        // of kings: (10 + 20) x 2 = 60
+        int[] hand = {PackedCard.of(13, HEARTS), PackedCard.of(13, SPADES), PackedCard.of(2, DIAMONDS)};
+        int[] deck = {PackedCard.of(13, CLUBS), PackedCard.of(4, HEARTS)};
+        List<DiscardAdvisor.Suggestion> suggestions =
+            new DiscardAdvisor(1000, 64, 4000, 1).advise(state(hand, deck, BossEffect.NONE), 7);
+
+        assertEquals(7, suggestions.size());
+        DiscardAdvisor.Suggestion best = suggestions.get(0);
+        assertEquals(0b100, best.getMask());
+        assertEquals(120.0, best.getExpectedScore(), 1e-9);
+        assertTrue(best.isExact());
+        assertEquals(2, best.getRefills());
+
+        // Discarding a king keeps a pair only if the other king is drawn: (60 + 15) / 2
+        for (DiscardAdvisor.Suggestion suggestion : suggestions) {
+            if (suggestion.getMask() == 0b001) {
+                assertEquals(37.5, suggestion.getExpectedScore(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void enumerationStopsAtTheBudget() {
+        int[] hand = new int[8];
+        int[] deck = new int[44];
+        for (int i = 0; i < 52; i++) {
+            int card = PackedCard.of(i % 13 + 2, i / 13);
+            if (i < 8) {
+                hand[i] = card;
+            } else {
+                deck[i - 8] = card;
+            }
+        }
+        GameState state = state(hand, deck, BossEffect.NONE);
+
+        // Every discard is within the exact limit, but enumerating them all would take minutes
+        DiscardAdvisor advisor = new DiscardAdvisor(0, Integer.MAX_VALUE, 4000, 1);
+        List<DiscardAdvisor.Suggestion> suggestions =
+            assertTimeoutPreemptively(Duration.ofSeconds(20), () -> advisor.advise(state, 300));
+        for (DiscardAdvisor.Suggestion suggestion : suggestions) {
+            if (Integer.bitCount(suggestion.getMask()) >= 2) {
+                assertFalse(suggestion.isExact());
+                assertTrue(suggestion.getRefills() >= 16);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DrawOddsTest {
+    private static final int HEARTS = 0;
+    private static final int DIAMONDS = 1;
+    private static final int CLUBS = 2;
+    private static final int SPADES = 3;
+
+    private static long mask(int... cards) {
+        long mask = 0;
+        for (int card : cards) {
+            mask |= PackedCard.bit(card);
+        }
+        return mask;
+    }
+
+    @Test
+    void smallDecksMatchTheHandComputedOdds() {
+        // Four hearts kept and two cards drawn from 5♥ 9♥ K♠ 7♣: every draw with a heart makes a
+        // flush, and the one draw without, K♠ 7♣, pairs nothing
+        long kept = mask(PackedCard.of(2, HEARTS), PackedCard.of(3, HEARTS), PackedCard.of(4, HEARTS),
+            PackedCard.of(11, HEARTS));
+        long deck = mask(PackedCard.of(5, HEARTS), PackedCard.of(9, HEARTS), PackedCard.of(13, SPADES),
+            PackedCard.of(7, CLUBS));
+        double[] odds = new DrawOdds().calculate(kept, deck, 2);
+        assertEquals(1.0 / 6, odds[HandEvaluator.HIGH_CARD], 1e-12);
+        assertEquals(5.0 / 6, odds[HandEvaluator.FLUSH], 1e-12);
+        assertEquals(5.0 / 6, DrawOdds.atLeast(odds, HandEvaluator.STRAIGHT), 1e-12);
+    }
+
+    @Test
+    void matchesEveryPlayOfEveryDraw() {
+        SplittableRandom random = new SplittableRandom(39);
+        DrawOdds drawOdds = new DrawOdds();
+        for (int round = 0; round < 40; round++) {
+            int[] cards = new int[14];
+            long used = 0;
+            for (int i = 0; i < cards.length; i++) {
+                int card;
+                do {
+                    // Few ranks, so pairs, trips and straights come up often
+                    card = PackedCard.of(2 + random.nextInt(7), random.nextInt(4));
+                } while ((used & PackedCard.bit(card)) != 0);
+                used |= PackedCard.bit(card);
+                cards[i] = card;
+            }
+            long kept = 0;
+            long deck = 0;
+            for (int i = 0; i < cards.length; i++) {
+                if (i < 4) {
+                    kept |= PackedCard.bit(cards[i]);
+                } else {
+                    deck |= PackedCard.bit(cards[i]);
+                }
+            }
+            deck &= ~kept;
+            int draws = 1 + random.nextInt(4);
+            int playSize = round % 6;  // 0 for any play, else a boss's required size
+            assertArrayEquals(bruteForce(kept, deck, draws, playSize), drawOdds.calculate(kept, deck, draws, playSize),
+                1e-12, "round " + round);
+        }
+    }
+
+    @Test
+    void aRequiredPlaySizeRulesOutBiggerHands() {
+        long fullHouse = mask(PackedCard.of(9, HEARTS), PackedCard.of(9, CLUBS), PackedCard.of(9, SPADES),
+            PackedCard.of(4, DIAMONDS), PackedCard.of(4, CLUBS));
+        assertEquals(HandEvaluator.FULL_HOUSE, DrawOdds.bestHandType(fullHouse, 0));
+        assertEquals(HandEvaluator.FULL_HOUSE, DrawOdds.bestHandType(fullHouse, 5));
+        assertEquals(HandEvaluator.THREE_OF_A_KIND, DrawOdds.bestHandType(fullHouse, 4));
+        assertEquals(HandEvaluator.THREE_OF_A_KIND, DrawOdds.bestHandType(fullHouse, 3));
+        assertEquals(HandEvaluator.PAIR, DrawOdds.bestHandType(fullHouse, 2));
+        assertEquals(HandEvaluator.HIGH_CARD, DrawOdds.bestHandType(fullHouse, 1));
+
+        // Too few cards for the play, so nothing can be played
+        assertEquals(HandEvaluator.HIGH_CARD, DrawOdds.bestHandType(mask(PackedCard.of(9, HEARTS),
+            PackedCard.of(9, CLUBS)), 3));
+
+        // The same cards are memoized apart for each play size
+        DrawOdds drawOdds = new DrawOdds();
+        long kept = mask(PackedCard.of(9, HEARTS), PackedCard.of(9, CLUBS));
+        long deck = mask(PackedCard.of(9, SPADES), PackedCard.of(2, DIAMONDS));
+        assertEquals(0.5, drawOdds.calculate(kept, deck, 1)[HandEvaluator.THREE_OF_A_KIND], 1e-12);
+        assertEquals(1.0, drawOdds.calculate(kept, deck, 1, 2)[HandEvaluator.PAIR], 1e-12);
+    }
+
+    /**
+     * Counts the best hand type of every draw by trying every allowed play with HandEvaluator.
+     */
+    private static double[] bruteForce(long kept, long deck, int draws, int playSize) {
+        int[] deckCards = toCards(deck);
+        double[] counts = new double[HandEvaluator.ROYAL_FLUSH + 1];
+        int total = 0;
+        for (int drawn = 0; drawn < (1 << deckCards.length); drawn++) {
+            if (Integer.bitCount(drawn) != Math.min(draws, deckCards.length)) {
+                continue;
+            }
+            long hand = kept;
+            for (int i = 0; i < deckCards.length; i++) {
+                if ((drawn & (1 << i)) != 0) {
+                    hand |= PackedCard.bit(deckCards[i]);
+                }
+            }
+            int[] handCards = toCards(hand);
+            int best = HandEvaluator.HIGH_CARD;
+            for (int play = 1; play < (1 << handCards.length); play++) {
+                int size = Integer.bitCount(play);
+                if (playSize == 0 ? size <= 5 : size == playSize) {
+                    best = Math.max(best, HandEvaluator.handType(HandEvaluator.evaluate(handCards, play)));
+                }
+            }
+            counts[best]++;
+            total++;
+        }
+        for (int type = 0; type < counts.length; type++) {
+            counts[type] /= total;
+        }
+        return counts;
+    }
+
+    private static int[] toCards(long mask) {
+        int[] cards = new int[Long.bitCount(mask)];
+        for (int i = 0; i < cards.length; i++, mask &= mask - 1) {
+            int index = Long.numberOfTrailingZeros(mask);
+            cards[i] = PackedCard.of(index % 13 + 2, index / 13);
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,144 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEngineTest {
+    private static final int HEARTS = 0;
+    private static final int DIAMONDS = 1;
+    private static final int CLUBS = 2;
+    private static final int SPADES = 3;
+
+    /**
+     * Records the events an engine fires, in order.
+     */
+    private static final class Recorder implements GameListener {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onBlindStarted(GameEngine.BlindType type, long target) {
+            events.add("blind started " + type);
+        }
+
+        @Override
+        public void onHandScored(HandEvaluator.HandResult result, long score, int chips, double mult) {
+            events.add("hand scored " + result.getHandType());
+        }
+
+        @Override
+        public void onBlindCleared(GameEngine.BlindType type, int reward) {
+            events.add("blind cleared " + type);
+        }
+
+        @Override
+        public void onShopOpened() {
+            events.add("shop opened");
+        }
+
+        @Override
+        public void onGameOver(boolean isWin) {
+            events.add("game over " + (isWin ? "won" : "lost"));
+        }
+    }
+
+    /**
+     * Deals a royal flush, which clears any blind of the first ante, on top of the hand.
+     */
+    private static void dealRoyalFlush(GameEngine engine) {
+        for (int rank = 10; rank <= 14; rank++) {
+            engine.getHand().addCard(PackedCard.of(rank, SPADES));
+        }
+    }
+
+    @Test
+    void aWinningPlayIsScoredThenClearsTheBlindThenOpensTheShop() {
+        GameEngine engine = new GameEngine();
+        Recorder recorder = new Recorder();
+        engine.addListener(recorder);
+        assertTrue(engine.startNewBlind(GameEngine.BlindType.SMALL));
+        dealRoyalFlush(engine);
+        assertFalse(engine.isBlindCleared());
+
+        engine.playCards(0b11111);
+        assertTrue(engine.isBlindCleared());
+        assertEquals(List.of("blind started SMALL", "hand scored Royal Flush", "blind cleared SMALL", "shop opened"),
+            recorder.events);
+        assertTrue(engine.isBlindCompleted(GameEngine.BlindType.SMALL));
+    }
+
+    @Test
+    void runningOutOfHandsLosesTheRun() {
+        GameEngine engine = new GameEngine();
+        Recorder recorder = new Recorder();
+        engine.addListener(recorder);
+        engine.startNewBlind(GameEngine.BlindType.SMALL);
+        engine.drawCards(engine.getHandSize());
+        recorder.events.clear();
+
+        int hands = engine.getPlayer().getPlayableHands();
+        for (int i = 0; i < hands; i++) {
+            assertEquals(List.of(), recorder.events.stream().filter(e -> e.startsWith("game over")).toList());
+            engine.playCards(0b1);  // One card never reaches the target
+        }
+        assertEquals(hands + 1, recorder.events.size());
+        assertEquals("game over lost", recorder.events.get(hands));
+        assertTrue(engine.isGameOver());
+        assertFalse(engine.isBlindCleared());
+    }
+
+    @Test
+    void aPlayTheBossDoesNotAllowIsRefused() {
+        GameEngine engine = new GameEngine();
+        while (engine.getCurrentBoss() != BossBlind.THE_PSYCHIC) {
+            engine.reset();
+        }
+        for (GameEngine.BlindType type : new GameEngine.BlindType[] {GameEngine.BlindType.SMALL, GameEngine.BlindType.BIG}) {
+            engine.startNewBlind(type);
+            dealRoyalFlush(engine);
+            engine.playCards(0b11111);
+        }
+        Recorder recorder = new Recorder();
+        engine.addListener(recorder);
+        assertTrue(engine.startNewBlind(GameEngine.BlindType.BOSS));
+        engine.getHand().addCard(PackedCard.of(2, HEARTS));
+        dealRoyalFlush(engine);
+        int[] hand = engine.getCurrentHand();
+        int hands = engine.getPlayer().getPlayableHands();
+        long hash = engine.getStateHash();
+
+        // The Psychic needs five cards
+        engine.playCards(0b11);
+        assertArrayEquals(hand, engine.getCurrentHand());
+        assertEquals(hands, engine.getPlayer().getPlayableHands());
+        assertEquals(0, engine.getCurrentScore());
+        assertEquals(hash, engine.getStateHash());
+        assertEquals(List.of("blind started BOSS"), recorder.events);
+
+        engine.playCards(0b111110);
+        assertEquals("hand scored Royal Flush", recorder.events.get(1));
+    }
+
+    @Test
+    void discardingWithNoDiscardsLeftDoesNothing() {
+        GameEngine engine = new GameEngine();
+        engine.startNewBlind(GameEngine.BlindType.SMALL);
+        engine.getHand().addCard(PackedCard.of(7, CLUBS));
+        engine.getHand().addCard(PackedCard.of(8, DIAMONDS));
+        engine.getPlayer().setDiscardableHands(0);
+        int[] hand = engine.getCurrentHand();
+        int deck = engine.getDeck().getRemainingCards();
+
+        engine.discardCards(0b11);
+        assertArrayEquals(hand, engine.getCurrentHand());
+        assertEquals(deck, engine.getDeck().getRemainingCards());
+        assertEquals(0, engine.getDiscardPile().getSize());
+        assertEquals(0, engine.getPlayer().getDiscardableHands());
+    }
+}
@@ -0,0 +1,118 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameStateTest {
+    private static final int HEARTS = 0;
+    private static final int DIAMONDS = 1;
+    private static final int CLUBS = 2;
+    private static final int SPADES = 3;
+
+    private static final int[] HAND = {
+        PackedCard.of(13, HEARTS), PackedCard.of(13, SPADES), PackedCard.of(2, DIAMONDS), PackedCard.of(7, CLUBS)
+    };
+    private static final int[] DECK = {PackedCard.of(3, DIAMONDS), PackedCard.of(4, CLUBS), PackedCard.of(9, HEARTS)};
+
+    private static GameState state(long target, int hands, int discards, BossEffect bossEffect) {
+        return GameState.of(HAND, DECK, 0, ScoreMath.of(target), hands, discards, bossEffect, List.of(), 1.0);
+    }
+
+    @Test
+    void playScoresAndRefillsFromTheDeck() {
+        GameState start = state(1000, 2, 1, BossEffect.NONE);
+        GameState next = start.play(0b0011);
+
+        // A pair of kings: (10 + 10 + 10) chips x 2 mult
+        assertEquals(ScoreMath.of(60), next.getScore());
+        assertArrayEquals(new int[] {HAND[2], HAND[3], DECK[0], DECK[1]}, next.getHand());
+        assertEquals(1, next.getDeckRemaining());
+        assertEquals(DECK[2], next.getDeckCard(0));
+        assertEquals(1, next.getHands());
+        assertEquals(1, next.getDiscards());
+        assertEquals(PackedCard.bit(HAND[0]) | PackedCard.bit(HAND[1]), next.getUsedMask());
+
+        // The state played from is unchanged
+        assertArrayEquals(HAND, start.getHand());
+        assertEquals(3, start.getDeckRemaining());
+        assertEquals(0, start.getScore());
+    }
+
+    @Test
+    void discardRefillsWithoutScoring() {
+        GameState next = state(1000, 2, 1, BossEffect.NONE).discard(0b1100);
+        assertArrayEquals(new int[] {HAND[0], HAND[1], DECK[0], DECK[1]}, next.getHand());
+        assertEquals(0, next.getScore());
+        assertEquals(2, next.getHands());
+        assertEquals(0, next.getDiscards());
+        assertFalse(next.canDiscard(0b0001));
+        assertThrows(IllegalArgumentException.class, () -> next.discard(0b0001));
+    }
+
+    @Test
+    void refillStopsWhenTheDeckRunsOut() {
+        GameState next = state(1000, 3, 1, BossEffect.NONE).discard(0b1111);
+        assertArrayEquals(DECK, next.getHand());
+        assertEquals(0, next.getDeckRemaining());
+        assertEquals(2, next.play(0b0001).getHandSize());
+    }
+
+    @Test
+    void playsMustBeAllowed() {
+        GameState start = state(1000, 2, 1, BossEffect.NONE);
+        assertFalse(start.canPlay(0));
+        assertFalse(start.canPlay(0b10000));  // Beyond the hand
+        assertTrue(start.canPlay(0b1111));
+
+        GameState forced = state(1000, 2, 1, BossEffect.requirePlaySize(2));
+        assertFalse(forced.canPlay(0b0001));
+        assertTrue(forced.canPlay(0b0011));
+        assertThrows(IllegalArgumentException.class, () -> forced.play(0b0111));
+
+        assertFalse(state(1000, 0, 1, BossEffect.NONE).canPlay(0b0001));
+    }
+
+    @Test
+    void theBlindIsWonOrLostAfterThePlay() {
+        assertTrue(state(60, 2, 1, BossEffect.NONE).play(0b0011).isWon());
+
+        GameState lost = state(100, 1, 1, BossEffect.NONE).play(0b0011);
+        assertFalse(lost.isWon());
+        assertTrue(lost.isLost());
+    }
+
+    @Test
+    void theEngineAndThePreviewScoreLikeTheScorer() {
+        GameEngine engine = new GameEngine();
+        Player player = engine.getPlayer();
+        player.addJoker(Joker.createJolly(engine));
+        player.addJoker(Joker.createBanner(engine));
+        int[] cards = {
+            PackedCard.of(9, HEARTS),
+            PackedCard.withEnhancement(PackedCard.of(9, DIAMONDS), PackedCard.ENHANCEMENT_GLASS),
+            PackedCard.withSeal(PackedCard.of(9, SPADES), PackedCard.SEAL_RED),
+            PackedCard.of(4, HEARTS),
+            PackedCard.withEdition(PackedCard.of(4, CLUBS), PackedCard.EDITION_FOIL)
+        };
+        long expected = HandScorer.score(cards, 0b11111, BossEffect.NONE,
+            player.getActiveJokers().toArray(new Joker[0]), player.getDiscardableHands(), ScoreMath.MULT_SCALE);
+
+        engine.getToBeScored().addCards(cards);
+        assertEquals(expected, engine.evaluateScore());
+
+        for (int card : cards) {
+            engine.getHand().addCard(card);
+        }
+        HandPreview preview = new HandPreview();
+        preview.reset(engine, 0b11111);
+        assertEquals(HandEvaluator.FULL_HOUSE, preview.getHandType());
+        assertEquals(expected, preview.getScore());
+    }
+}
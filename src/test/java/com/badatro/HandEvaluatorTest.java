@@ -0,0 +1,100 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HandEvaluatorTest {
+    private static final int HEARTS = 0;
+    private static final int DIAMONDS = 1;
+    private static final int CLUBS = 2;
+    private static final int SPADES = 3;
+
+    private static int card(int rank, int suit) {
+        return PackedCard.of(rank, suit);
+    }
+
+    private static void assertHand(int type, int scoringMask, int[] cards, int selectMask) {
+        int evaluation = HandEvaluator.evaluate(cards, selectMask);
+        assertEquals(HandEvaluator.getHandName(type), HandEvaluator.getHandName(HandEvaluator.handType(evaluation)));
+        assertEquals(Integer.toBinaryString(scoringMask), Integer.toBinaryString(HandEvaluator.scoringMask(evaluation)));
+    }
+
+    @Test
+    void highCardScoresOnlyTheHighestCard() {
+        int[] cards = {card(2, HEARTS), card(13, CLUBS), card(7, SPADES), card(9, DIAMONDS)};
+        assertHand(HandEvaluator.HIGH_CARD, 0b0010, cards, 0b1111);
+    }
+
+    @Test
+    void pairLeavesKickersOut() {
+        int[] cards = {card(5, HEARTS), card(14, SPADES), card(5, CLUBS), card(9, DIAMONDS), card(3, HEARTS)};
+        assertHand(HandEvaluator.PAIR, 0b00101, cards, 0b11111);
+    }
+
+    @Test
+    void twoPairScoresBothPairs() {
+        int[] cards = {card(8, HEARTS), card(4, SPADES), card(8, CLUBS), card(4, DIAMONDS), card(12, HEARTS)};
+        assertHand(HandEvaluator.TWO_PAIR, 0b01111, cards, 0b11111);
+    }
+
+    @Test
+    void threeOfAKindLeavesKickersOut() {
+        int[] cards = {card(10, HEARTS), card(10, SPADES), card(2, CLUBS), card(10, DIAMONDS)};
+        assertHand(HandEvaluator.THREE_OF_A_KIND, 0b1011, cards, 0b1111);
+    }
+
+    @Test
+    void fourOfAKindLeavesTheKickerOut() {
+        int[] cards = {card(6, HEARTS), card(6, SPADES), card(6, CLUBS), card(13, HEARTS), card(6, DIAMONDS)};
+        assertHand(HandEvaluator.FOUR_OF_A_KIND, 0b10111, cards, 0b11111);
+    }
+
+    @Test
+    void fullHouseScoresEveryCard() {
+        int[] cards = {card(9, HEARTS), card(3, SPADES), card(9, CLUBS), card(3, DIAMONDS), card(9, SPADES)};
+        assertHand(HandEvaluator.FULL_HOUSE, 0b11111, cards, 0b11111);
+    }
+
+    @Test
+    void straightsAndFlushesScoreEveryCard() {
+        int[] straight = {card(6, HEARTS), card(7, SPADES), card(8, CLUBS), card(9, DIAMONDS), card(10, HEARTS)};
+        assertHand(HandEvaluator.STRAIGHT, 0b11111, straight, 0b11111);
+
+        int[] wheel = {card(14, HEARTS), card(2, SPADES), card(3, CLUBS), card(4, DIAMONDS), card(5, HEARTS)};
+        assertHand(HandEvaluator.STRAIGHT, 0b11111, wheel, 0b11111);
+
+        int[] flush = {card(2, CLUBS), card(7, CLUBS), card(9, CLUBS), card(11, CLUBS), card(13, CLUBS)};
+        assertHand(HandEvaluator.FLUSH, 0b11111, flush, 0b11111);
+
+        int[] straightFlush = {card(5, SPADES), card(6, SPADES), card(7, SPADES), card(8, SPADES), card(9, SPADES)};
+        assertHand(HandEvaluator.STRAIGHT_FLUSH, 0b11111, straightFlush, 0b11111);
+
+        int[] royal = {card(10, HEARTS), card(11, HEARTS), card(12, HEARTS), card(13, HEARTS), card(14, HEARTS)};
+        assertHand(HandEvaluator.ROYAL_FLUSH, 0b11111, royal, 0b11111);
+    }
+
+    @Test
+    void shortHandsAreNeverStraightsOrFlushes() {
+        int[] cards = {card(10, HEARTS), card(11, HEARTS), card(12, HEARTS), card(13, HEARTS)};
+        assertHand(HandEvaluator.HIGH_CARD, 0b1000, cards, 0b1111);
+    }
+
+    @Test
+    void maskPositionsReferToTheWholeArray() {
+        // Only the cards at 1, 3, 4 and 6 are played; the pair of queens is at 3 and 6
+        int[] hand = {card(12, CLUBS), card(2, HEARTS), card(9, HEARTS), card(12, SPADES),
+            card(7, DIAMONDS), card(7, CLUBS), card(12, HEARTS), card(4, SPADES)};
+        assertHand(HandEvaluator.PAIR, 0b1001000, hand, 0b1011010);
+    }
+
+    @Test
+    void baseValuesFollowTheHandType() {
+        assertEquals(5, HandEvaluator.getBaseChips(HandEvaluator.HIGH_CARD));
+        assertEquals(1, HandEvaluator.getBaseMult(HandEvaluator.HIGH_CARD));
+        assertEquals(40, HandEvaluator.getBaseChips(HandEvaluator.FULL_HOUSE));
+        assertEquals(4, HandEvaluator.getBaseMult(HandEvaluator.FULL_HOUSE));
+        assertEquals(100, HandEvaluator.getBaseChips(HandEvaluator.ROYAL_FLUSH));
+        assertEquals(8, HandEvaluator.getBaseMult(HandEvaluator.ROYAL_FLUSH));
+    }
+}
@@ -0,0 +1,118 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class HandPreviewTest {
+    private static final int[] ENHANCEMENTS = {
+        PackedCard.ENHANCEMENT_BONUS, PackedCard.ENHANCEMENT_MULT, PackedCard.ENHANCEMENT_GLASS
+    };
+    private static final int[] EDITIONS = {
+        PackedCard.EDITION_FOIL, PackedCard.EDITION_HOLOGRAPHIC, PackedCard.EDITION_POLYCHROME
+    };
+
+    @Test
+    void randomTogglesMatchEvaluatingAndScoringTheSelection() {
+        SplittableRandom random = new SplittableRandom(40);
+        GameEngine engine = new GameEngine();
+        Joker[][] jokerSets = {
+            new Joker[0],
+            {Joker.createJolly(engine), Joker.createGreedy(engine), Joker.createBanner(engine)},
+            {Joker.createSly(engine), Joker.createJoker(engine)}
+        };
+        BossEffect[] bosses = {
+            BossEffect.NONE, BossBlind.THE_PSYCHIC.getEffect(), BossBlind.THE_CLUB.getEffect(),
+            BossBlind.THE_PLANT.getEffect(), BossBlind.THE_FLINT.getEffect()
+        };
+        HandPreview preview = new HandPreview();
+        HandScorer.Result expected = new HandScorer.Result();
+
+        for (int round = 0; round < 300; round++) {
+            int[] hand = randomHand(random, round % 3 == 0);
+            BossEffect boss = bosses[round % bosses.length];
+            Joker[] jokers = jokerSets[random.nextInt(jokerSets.length)];
+            int discardsLeft = random.nextInt(4);
+            long fixedWeather = ScoreMath.MULT_SCALE + 25 * random.nextInt(3);
+            int selectMask = random.nextInt(1 << hand.length);
+            if (Integer.bitCount(selectMask) > GameState.MAX_PLAY_SIZE) {
+                selectMask = 0;
+            }
+            preview.reset(hand, boss, jokers, discardsLeft, fixedWeather, selectMask);
+            assertEquals(selectMask, preview.getSelectMask());
+
+            for (int step = 0; step < 40; step++) {
+                int index = random.nextInt(hand.length);
+                int before = preview.getSelectMask();
+                boolean toggled = preview.toggle(index);
+                if (!toggled) {
+                    // Only a card that would make the selection too big is refused
+                    assertEquals(GameState.MAX_PLAY_SIZE, Integer.bitCount(before));
+                    assertEquals(0, before & (1 << index));
+                    assertEquals(before, preview.getSelectMask());
+                } else {
+                    assertEquals(before ^ (1 << index), preview.getSelectMask());
+                }
+
+                String where = "round " + round + ", step " + step;
+                int mask = preview.getSelectMask();
+                if (mask == 0) {
+                    assertEquals(-1, preview.getHandType(), where);
+                    assertEquals(0, preview.getScore(), where);
+                    continue;
+                }
+                int evaluation = HandEvaluator.evaluate(hand, mask);
+                assertEquals(HandEvaluator.handType(evaluation), preview.getHandType(), where);
+                if (!boss.allowsPlay(Integer.bitCount(mask))) {
+                    assertFalse(preview.isAllowed(), where);
+                    assertEquals(0, preview.getScoringMask(), where);
+                    assertEquals(0, preview.getScore(), where);
+                    continue;
+                }
+                long score = HandScorer.scoreHand(hand, evaluation, boss, jokers, discardsLeft, fixedWeather,
+                    ScoreTrace.NONE, expected);
+                assertEquals(expected.getScoringMask(), preview.getScoringMask(), where);
+                assertEquals(expected.getChips(), preview.getChips(), where);
+                assertEquals(expected.getChipBonus(), preview.getChipBonus(), where);
+                assertEquals(score, preview.getScore(), where);
+            }
+        }
+    }
+
+    /**
+     * Deals a full hand of distinct cards from few ranks, so pairs, flushes and straights come up
+     * often, some of them with modifiers.
+     * @param crowded Deal from three ranks only, so most hands hold trips and quads.
+     */
+    private static int[] randomHand(SplittableRandom random, boolean crowded) {
+        int[] hand = new int[Hand.MAX_HAND_SIZE];
+        long used = 0;
+        for (int i = 0; i < hand.length; i++) {
+            int card;
+            do {
+                if (crowded) {
+                    card = PackedCard.of(12 + random.nextInt(3), random.nextInt(4));
+                } else {
+                    int rank = random.nextInt(3) == 0 ? 10 + random.nextInt(5) : 2 + random.nextInt(6);
+                    int suit = random.nextInt(4) == 0 ? random.nextInt(4) : 3;
+                    card = PackedCard.of(rank == 7 ? 14 : rank, suit);
+                }
+            } while ((used & PackedCard.bit(card)) != 0);
+            used |= PackedCard.bit(card);
+            if (random.nextInt(4) == 0) {
+                card = PackedCard.withEnhancement(card, ENHANCEMENTS[random.nextInt(ENHANCEMENTS.length)]);
+            }
+            if (random.nextInt(4) == 0) {
+                card = PackedCard.withEdition(card, EDITIONS[random.nextInt(EDITIONS.length)]);
+            }
+            if (random.nextInt(6) == 0) {
+                card = PackedCard.withSeal(card, PackedCard.SEAL_RED);
+            }
+            hand[i] = card;
+        }
+        return hand;
+    }
+}
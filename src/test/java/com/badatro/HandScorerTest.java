@@ -0,0 +1,94 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HandScorerTest {
+    private static final int HEARTS = 0;
+    private static final int DIAMONDS = 1;
+    private static final int CLUBS = 2;
+    private static final int SPADES = 3;
+
+    private static final Joker[] NO_JOKERS = new Joker[0];
+
+    private static long score(int[] cards, BossEffect bossEffect, HandScorer.Result result) {
+        return HandScorer.scoreHand(cards, HandEvaluator.evaluate(cards, (1 << cards.length) - 1), bossEffect,
+            NO_JOKERS, 0, ScoreMath.MULT_SCALE, ScoreTrace.NONE, result);
+    }
+
+    @Test
+    void cardMultipliersApplyInPlayOrder() {
+        int glass = PackedCard.withEnhancement(PackedCard.of(9, HEARTS), PackedCard.ENHANCEMENT_GLASS);
+        int holographic = PackedCard.withEdition(PackedCard.of(9, SPADES), PackedCard.EDITION_HOLOGRAPHIC);
+        HandScorer.Result result = new HandScorer.Result();
+
+        // Pair: 10 + 9 + 9 chips; mult 2, x2 for the glass 9, then +10 for the holographic 9
+        assertEquals(ScoreMath.of(28 * 14), score(new int[] {glass, holographic}, BossEffect.NONE, result));
+        assertEquals(HandEvaluator.PAIR, result.getHandType());
+        assertEquals(28, result.getChips());
+        assertEquals(ScoreMath.toFixedMult(14), result.getFixedMult());
+
+        // The other way round, the +10 is doubled too: (2 + 10) x 2
+        assertEquals(ScoreMath.of(28 * 24), score(new int[] {holographic, glass}, BossEffect.NONE, result));
+        assertEquals(ScoreMath.toFixedMult(24), result.getFixedMult());
+    }
+
+    @Test
+    void chipEnhancementsAndPolychromeScore() {
+        // High card: 5 + 11 for the ace + 30 bonus + 50 foil chips; mult 1 x1.5 for polychrome
+        int ace = PackedCard.withEdition(PackedCard.withEnhancement(PackedCard.of(14, CLUBS),
+            PackedCard.ENHANCEMENT_BONUS), PackedCard.EDITION_POLYCHROME);
+        int foilKicker = PackedCard.withEdition(PackedCard.of(3, DIAMONDS), PackedCard.EDITION_FOIL);
+        HandScorer.Result result = new HandScorer.Result();
+        assertEquals(ScoreMath.of(69), score(new int[] {ace, PackedCard.of(7, HEARTS)}, BossEffect.NONE, result));
+        assertEquals(46, result.getChips());
+        assertEquals(ScoreMath.toFixedMult(1.5), result.getFixedMult());
+        assertEquals(0b01, result.getScoringMask());
+
+        // A kicker's modifiers don't count, since it doesn't score
+        assertEquals(ScoreMath.of(69), score(new int[] {ace, foilKicker}, BossEffect.NONE, result));
+    }
+
+    @Test
+    void aRedSealScoresTheCardTwice() {
+        // Pair of kings: 10 + (10 + 10) + 10 chips; mult 2 + 4 + 4 for the retriggered mult card
+        int redMultKing = PackedCard.withSeal(PackedCard.withEnhancement(PackedCard.of(13, HEARTS),
+            PackedCard.ENHANCEMENT_MULT), PackedCard.SEAL_RED);
+        HandScorer.Result result = new HandScorer.Result();
+        assertEquals(ScoreMath.of(400), score(new int[] {redMultKing, PackedCard.of(13, SPADES)}, BossEffect.NONE, result));
+        assertEquals(40, result.getChips());
+        assertEquals(ScoreMath.toFixedMult(10), result.getFixedMult());
+
+        // A red-sealed glass card doubles the mult twice: (2 x 2 x 2) x (10 + 10 + 10 + 10)
+        int redGlassKing = PackedCard.withSeal(PackedCard.withEnhancement(PackedCard.of(13, HEARTS),
+            PackedCard.ENHANCEMENT_GLASS), PackedCard.SEAL_RED);
+        assertEquals(ScoreMath.of(320), score(new int[] {redGlassKing, PackedCard.of(13, SPADES)}, BossEffect.NONE, result));
+    }
+
+    @Test
+    void debuffedCardsScoreNoModifiers() {
+        int glass = PackedCard.withEnhancement(PackedCard.of(9, HEARTS), PackedCard.ENHANCEMENT_GLASS);
+        int[] cards = {glass, PackedCard.of(9, SPADES)};
+        HandScorer.Result result = new HandScorer.Result();
+
+        // The pair still counts, but only the spade scores: (10 + 9) x 2
+        assertEquals(ScoreMath.of(38), score(cards, BossEffect.debuff(PackedCard.bit(glass)), result));
+        assertEquals(HandEvaluator.PAIR, result.getHandType());
+        assertEquals(0b10, result.getScoringMask());
+    }
+
+    @Test
+    void goldSealsPayForScoringCardsOnly() {
+        GameEngine engine = new GameEngine();
+        engine.startNewBlind(GameEngine.BlindType.SMALL);
+        Hand hand = engine.getHand();
+        hand.addCard(PackedCard.withSeal(PackedCard.of(9, HEARTS), PackedCard.SEAL_GOLD));
+        hand.addCard(PackedCard.withSeal(PackedCard.of(9, CLUBS), PackedCard.SEAL_GOLD));
+        hand.addCard(PackedCard.withSeal(PackedCard.of(2, DIAMONDS), PackedCard.SEAL_GOLD));  // A kicker
+        int money = engine.getPlayer().getMoney();
+
+        engine.playCards(0b111);
+        assertEquals(money + 2 * PackedCard.GOLD_SEAL_MONEY, engine.getPlayer().getMoney());
+    }
+}
@@ -0,0 +1,76 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HandTest {
+    private static Hand handOf(int size) {
+        Hand hand = new Hand();
+        for (int i = 0; i < size; i++) {
+            hand.addCard(PackedCard.of(2 + i, i % 4));
+        }
+        return hand;
+    }
+
+    @Test
+    void removeCardsKeepsTheRestInOrder() {
+        SplittableRandom random = new SplittableRandom(37);
+        for (int round = 0; round < 500; round++) {
+            int size = random.nextInt(Hand.MAX_HAND_SIZE + 1);
+            Hand hand = handOf(size);
+            int[] before = hand.getCards();
+            int mask = random.nextInt(1 << 10);  // Bits past the hand are ignored
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if ((mask & (1 << i)) == 0) {
+                    expected.add(before[i]);
+                }
+            }
+            hand.removeCards(mask);
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), hand.getCards());
+            assertEquals(expected.size(), hand.getSize());
+            assertEquals(PackedCard.NONE, hand.getCard(hand.getSize()));
+        }
+    }
+
+    @Test
+    void toMaskIgnoresIndicesOutsideTheHand() {
+        Hand hand = handOf(5);
+        assertEquals(0b10101, hand.toMask(List.of(0, 2, 4)));
+        assertEquals(0b00010, hand.toMask(List.of(1, 1, -1, 5, 7, 31)));
+        assertEquals(0, hand.toMask(List.of()));
+
+        // The list form removes the same cards as the mask form
+        Hand byMask = handOf(5);
+        hand.removeCards(List.of(4, 0, 9));
+        byMask.removeCards(0b10001);
+        assertArrayEquals(byMask.getCards(), hand.getCards());
+    }
+
+    @Test
+    void removeCardAndAddCardRespectTheBounds() {
+        Hand hand = handOf(Hand.MAX_HAND_SIZE);
+        assertTrue(hand.isFull());
+        hand.addCard(PackedCard.of(14, 3));
+        assertEquals(Hand.MAX_HAND_SIZE, hand.getSize());
+        assertEquals(-1, hand.indexOf(PackedCard.of(14, 3)));
+
+        int[] before = hand.getCards();
+        hand.removeCard(-1);
+        hand.removeCard(Hand.MAX_HAND_SIZE);
+        assertArrayEquals(before, hand.getCards());
+
+        hand.removeCard(3);
+        assertEquals(Hand.MAX_HAND_SIZE - 1, hand.getSize());
+        assertEquals(before[4], hand.getCard(3));
+        assertEquals(3, hand.indexOf(PackedCard.withSeal(before[4], PackedCard.SEAL_RED)));  // Modifiers are ignored
+    }
+}
@@ -0,0 +1,70 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoreMathTest {
+    private static final long EXACT_LIMIT = 1L << 62;
+
+    @Test
+    void smallScoresAreExact() {
+        assertEquals(0, ScoreMath.of(-5));
+        assertEquals(12345, ScoreMath.of(12345));
+        assertTrue(ScoreMath.isExact(EXACT_LIMIT - 1));
+        assertEquals("12345", ScoreMath.format(12345));
+    }
+
+    @Test
+    void largeScoresSwitchToThePackedForm() {
+        long packed = ScoreMath.of(Long.MAX_VALUE);
+        assertFalse(ScoreMath.isExact(packed));
+        assertEquals((double) Long.MAX_VALUE, ScoreMath.toDouble(packed));
+        assertEquals(1e30, ScoreMath.toDouble(ScoreMath.fromDouble(1e30)), 1e15);
+        assertEquals("1.000e+30", ScoreMath.format(ScoreMath.fromDouble(1e30)));
+    }
+
+    @Test
+    void packingKeepsOrdering() {
+        double[] values = {0, 1, 299, 300, 1e9, EXACT_LIMIT - 1.0, EXACT_LIMIT, 2.0 * EXACT_LIMIT,
+            1e20, 1e40, 1e100, 1e300, Double.MAX_VALUE};
+        for (int i = 1; i < values.length; i++) {
+            long lower = ScoreMath.fromDouble(values[i - 1]);
+            long higher = ScoreMath.fromDouble(values[i]);
+            assertTrue(lower <= higher, values[i - 1] + " should not pack above " + values[i]);
+        }
+        assertTrue(ScoreMath.of(EXACT_LIMIT - 1) < ScoreMath.of(EXACT_LIMIT));
+    }
+
+    @Test
+    void additionSaturatesInsteadOfOverflowing() {
+        long nearLimit = EXACT_LIMIT - 1;
+        long sum = ScoreMath.add(nearLimit, nearLimit);
+        assertFalse(ScoreMath.isExact(sum));
+        assertTrue(sum > nearLimit);
+        assertEquals(2.0 * nearLimit, ScoreMath.toDouble(sum), 1e4);
+        assertEquals(Long.MAX_VALUE, ScoreMath.add(Long.MAX_VALUE, Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, ScoreMath.fromDouble(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void multsRoundHalfUp() {
+        assertEquals(150, ScoreMath.toFixedMult(1.5));
+        assertEquals(150, ScoreMath.applyMult(100, 150));
+        assertEquals(2, ScoreMath.applyMult(1, 150));   // 1.5 rounds up
+        assertEquals(1, ScoreMath.applyMult(1, 149));   // 1.49 rounds down
+        assertEquals(0, ScoreMath.applyMult(1000, 0));
+        assertEquals(225, ScoreMath.multiplyMults(150, 150));
+        assertEquals(Long.MAX_VALUE, ScoreMath.multiplyMults(Long.MAX_VALUE, 200));
+        assertEquals(1.5, ScoreMath.multToDouble(150));
+    }
+
+    @Test
+    void applyMultOverflowsIntoThePackedForm() {
+        long score = ScoreMath.applyMult(EXACT_LIMIT - 1, 400);
+        assertFalse(ScoreMath.isExact(score));
+        assertEquals(4.0 * EXACT_LIMIT, ScoreMath.toDouble(score), 1e5);
+    }
+}
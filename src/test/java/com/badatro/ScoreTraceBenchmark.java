@@ -0,0 +1,81 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+
+/**
+ * Times scoring a hand with score tracing off and on. Skipped unless asked for, since timings
+ * depend on the machine:
+ *
+ *   mvn test -Dtest=ScoreTraceBenchmark -Dbenchmark=true
+ *
+ * Each mode is warmed up for a fixed time before it's measured, so the JIT has compiled the
+ * scoring loop, and the median of several rounds is reported so one slow round (a GC, another
+ * process) doesn't move the result. It still runs in one JVM, so compare the two modes with each
+ * other rather than with numbers from another run.
+ */
+class ScoreTraceBenchmark {
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+    private static final int HANDS_PER_ROUND = 1_000_000;
+    private static final int ROUNDS = 15;
+
+    private static long sink;  // Keeps the JIT from dropping the scoring
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void scoreWithTracingOffAndOn() {
+        GameEngine engine = new GameEngine();
+        Player player = engine.getPlayer();
+        player.addJoker(Joker.createJoker(engine));
+        player.addJoker(Joker.createJolly(engine));
+        player.addJoker(Joker.createGreedy(engine));
+
+        // A full house with a mult card and a glass card, so every kind of entry is recorded
+        ToBeScored played = engine.getToBeScored();
+        played.addCard(PackedCard.of(9, 0));
+        played.addCard(PackedCard.withEnhancement(PackedCard.of(9, 1), PackedCard.ENHANCEMENT_MULT));
+        played.addCard(PackedCard.of(9, 3));
+        played.addCard(PackedCard.of(4, 0));
+        played.addCard(PackedCard.withEnhancement(PackedCard.of(4, 2), PackedCard.ENHANCEMENT_GLASS));
+
+        warmUp(engine, false);
+        double off = median(engine, false);
+        warmUp(engine, true);
+        double on = median(engine, true);
+        System.out.printf("tracing off: %.1f ns/hand (median of %d rounds)%n", off, ROUNDS);
+        System.out.printf("tracing on:  %.1f ns/hand (median of %d rounds)%n", on, ROUNDS);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static void warmUp(GameEngine engine, boolean tracing) {
+        engine.setScoreTracing(tracing);
+        long end = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < end) {
+            round(engine);
+        }
+    }
+
+    /**
+     * Scores the hand for several rounds.
+     * @return The median round's time per hand, in nanoseconds.
+     */
+    private static double median(GameEngine engine, boolean tracing) {
+        engine.setScoreTracing(tracing);
+        long[] times = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            times[i] = round(engine);
+        }
+        Arrays.sort(times);
+        return (double) times[ROUNDS / 2] / HANDS_PER_ROUND;
+    }
+
+    private static long round(GameEngine engine) {
+        long start = System.nanoTime();
+        for (int i = 0; i < HANDS_PER_ROUND; i++) {
+            sink += engine.evaluateScore();
+        }
+        return System.nanoTime() - start;
+    }
+}
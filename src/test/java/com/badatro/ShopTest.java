@@ -0,0 +1,22 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ShopTest {
+    @Test
+    void everyJokerImageIsListedOnceAndExists() {
+        List<String> paths = Shop.getJokerImagePaths();
+        assertEquals(10, paths.size());
+        assertEquals(paths.size(), new HashSet<>(paths).size());
+        assertEquals(Joker.createJoker(null).getImagePath(), paths.get(0));
+        for (String path : paths) {
+            assertNotNull(ShopTest.class.getResource(path), path);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.badatro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ZobristTest {
+    /**
+     * Hashes a state from scratch, from where every card is, to check the incremental hash against.
+     */
+    private static long fullHash(GameState state) {
+        long hash = 0;
+        for (int card : state.getHand()) {
+            hash ^= Zobrist.handCard(card);
+        }
+        for (int i = 0; i < state.getDeckRemaining(); i++) {
+            hash ^= Zobrist.deckCard(state.getDeckCard(i));
+        }
+        for (long used = state.getUsedMask(); used != 0; used &= used - 1) {
+            int index = Long.numberOfTrailingZeros(used);
+            hash ^= Zobrist.usedCard(PackedCard.of(index % 13 + 2, index / 13));
+        }
+        long jokerHash = 0;
+        for (Joker joker : state.getJokers()) {
+            jokerHash += Zobrist.joker(joker);
+        }
+        return hash ^ Zobrist.score(state.getScore()) ^ Zobrist.hands(state.getHands())
+            ^ Zobrist.discards(state.getDiscards()) ^ Zobrist.blind(state.getTarget(), state.getBossEffect())
+            ^ jokerHash;
+    }
+
+    private static int[] fullDeck() {
+        int[] cards = new int[52];
+        for (int i = 0; i < 52; i++) {
+            cards[i] = PackedCard.of(i % 13 + 2, i / 13);
+        }
+        return cards;
+    }
+
+    @Test
+    void movesSwapOneKeyForAnother() {
+        for (int card : fullDeck()) {
+            assertEquals(PackedCard.bit(card), 1L << (PackedCard.index(card)));
+            assertEquals(Zobrist.handCard(card) ^ Zobrist.usedCard(card), Zobrist.use(card));
+            assertEquals(Zobrist.deckCard(card) ^ Zobrist.handCard(card), Zobrist.draw(card));
+        }
+    }
+
+    @Test
+    void stateTransitionsMatchAFullRehash() {
+        SplittableRandom random = new SplittableRandom(35);
+        for (int round = 0; round < 20; round++) {
+            int[] cards = fullDeck();
+            for (int i = cards.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = cards[i];
+                cards[i] = cards[j];
+                cards[j] = swap;
+            }
+            int[] hand = new int[8];
+            int[] deck = new int[44];
+            System.arraycopy(cards, 0, hand, 0, 8);
+            System.arraycopy(cards, 8, deck, 0, 44);
+            GameState state = GameState.of(hand, deck, 0, ScoreMath.of(1_000_000), 4, 3,
+                BossEffect.NONE, List.of(), 1.0);
+            assertEquals(fullHash(state), state.getHash());
+
+            while (!state.isLost() && state.getHandSize() > 0) {
+                int mask = 1 + random.nextInt((1 << Math.min(state.getHandSize(), 5)) - 1);
+                GameState next = state.canDiscard(mask) && random.nextBoolean()
+                    ? state.discard(mask) : state.play(mask);
+                assertEquals(fullHash(next), next.getHash(), "round " + round);
+                assertNotEquals(state.getHash(), next.getHash());
+                state = next;
+            }
+        }
+    }
+
+    @Test
+    void theSameCardsReachedInAnotherOrderHashEqually() {
+        int[] hand = {PackedCard.of(2, 0), PackedCard.of(3, 1), PackedCard.of(4, 2), PackedCard.of(5, 3)};
+        int[] deck = {PackedCard.of(6, 0), PackedCard.of(7, 1), PackedCard.of(8, 2)};
+        GameState start = GameState.of(hand, deck, 0, ScoreMath.of(1000), 2, 2, BossEffect.NONE, List.of(), 1.0);
+
+        // Discarding the 2 then the 3 leaves the same cards in the same places as the other way round
+        GameState first = start.discard(0b0001).discard(0b0001);
+        GameState second = start.discard(0b0010).discard(0b0001);
+        assertEquals(first.getHash(), second.getHash());
+
+        // Score and counters are part of the hash
+        assertNotEquals(start.getHash(), GameState.of(hand, deck, 0, ScoreMath.of(1000), 2, 1,
+            BossEffect.NONE, List.of(), 1.0).getHash());
+        assertNotEquals(start.getHash(), GameState.of(hand, deck, ScoreMath.of(1), ScoreMath.of(1000), 2, 2,
+            BossEffect.NONE, List.of(), 1.0).getHash());
+    }
+
+    @Test
+    void theEngineHashFollowsPlaysDiscardsAndJokers() {
+        GameEngine engine = new GameEngine();
+        engine.startNewBlind(GameEngine.BlindType.SMALL);
+        engine.drawCards(engine.getHandSize());
+        assertEquals(fullHash(engine.snapshot()), engine.getStateHash());
+
+        engine.discardCards(0b111);
+        engine.playCards(0b1);
+        engine.discardCards(0b10010);
+
+        Joker jolly = Joker.createJolly(engine);
+        engine.getPlayer().addJoker(jolly);
+        assertEquals(fullHash(engine.snapshot()), engine.getStateHash());
+        assertEquals(engine.snapshot().getHash(), engine.getStateHash());
+        long withJoker = engine.getStateHash();
+
+        // Removing the joker takes its key back out
+        engine.getPlayer().removeJoker(jolly);
+        assertEquals(fullHash(engine.snapshot()), engine.getStateHash());
+        assertNotEquals(withJoker, engine.getStateHash());
+
+        // A new blind starts over from a full deck
+        engine.startNewBlind(GameEngine.BlindType.SMALL);
+        assertEquals(fullHash(engine.snapshot()), engine.getStateHash());
+    }
+}